@@ -49,8 +49,16 @@ CREATE TABLE flights (
                          available_seats INT NOT NULL,
                          status VARCHAR(20) NOT NULL,
                          aircraft_type VARCHAR(50),
+                         -- Incremented by every write; updates compare it to detect concurrent changes
+                         version INT NOT NULL DEFAULT 0,
                          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                         updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                         updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                         -- Flight search indexes (route search, date-only search, airline search)
+                         INDEX idx_flights_status_route_departure (status, origin, destination, departure_time),
+                         INDEX idx_flights_status_departure (status, departure_time),
+                         INDEX idx_flights_airline_departure (airline, departure_time),
+                         -- Keyset paging by departure time (InnoDB appends flight_id as the tie-breaker)
+                         INDEX idx_flights_departure (departure_time)
 );
 
 -- Bookings Table
@@ -62,6 +70,11 @@ CREATE TABLE bookings (
                           status VARCHAR(20) NOT NULL,
                           total_amount DECIMAL(10, 2) NOT NULL,
                           num_passengers INT NOT NULL,
+                          version INT NOT NULL DEFAULT 0,
+                          -- Keyset paging by booking date (InnoDB appends booking_id as the tie-breaker)
+                          INDEX idx_bookings_booking_date (booking_date),
+                          -- Covers the statistics aggregates (counts and revenue by status, joins to flights)
+                          INDEX idx_bookings_status_flight (status, flight_id, total_amount),
                           FOREIGN KEY (customer_id) REFERENCES users(user_id),
                           FOREIGN KEY (flight_id) REFERENCES flights(flight_id)
 );
@@ -88,6 +101,13 @@ CREATE TABLE payments (
                           FOREIGN KEY (booking_id) REFERENCES bookings(booking_id)
 );
 
+-- Live Counters Checkpoint Table (running totals maintained by the application)
+CREATE TABLE live_counters (
+                               counter_key VARCHAR(100) PRIMARY KEY,
+                               counter_value BIGINT NOT NULL,
+                               updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
 -- Insert Default Admin User
 INSERT INTO users (email, password, first_name, last_name, phone, role)
 VALUES ('admin@flight.com', 'admin123', 'System', 'Admin', '1234567890', 'ADMIN');
@@ -1,5 +1,14 @@
+import adapter.DataAdapterFactory;
+import adapter.cache.FlightSnapshot;
 import adapter.database.DatabaseConnection;
+import adapter.database.ResourceLeakTracker;
+import adapter.database.SlowQueryLog;
+import adapter.memory.MemoryStore;
+import adapter.metrics.AdapterMetrics;
+import service.LiveCounters;
+import service.NotificationManager;
 import javax.swing.UIManager;
+import java.io.UncheckedIOException;
 
 /**
  * Main entry point for the Flight Reservation System application.
@@ -15,15 +24,29 @@ public class Main {
 
         // Initialize database connection
         System.out.println("Initializing Flight Reservation System...");
-        DatabaseConnection dbConnection = DatabaseConnection.getInstance();
+        DatabaseConnection dbConnection = DataAdapterFactory.isInMemory() ? null : DatabaseConnection.getInstance();
 
-        if (dbConnection.getConnection() == null) {
+        if (dbConnection == null) {
+            try {
+                MemoryStore store = MemoryStore.getInstance();
+                System.out.println("✓ Using the in-memory storage engine (storage.backend=memory); "
+                        + (store.isDurable() ? "changes are logged to " + store.getDataDirectory() + "."
+                        : "data is not persisted."));
+            } catch (UncheckedIOException e) {
+                System.err.println("\n✗ " + e.getMessage() + ": " + e.getCause().getMessage());
+                System.exit(1);
+            }
+        } else if (!dbConnection.isAvailable()) {
             System.err.println("\n✗ Failed to connect to database!");
             System.err.println("Please ensure MySQL is running and the database 'flight_reservation_db' exists.");
             System.err.println("Run the schema.sql file to create the database and tables.");
+            System.err.println("To run without MySQL, set storage.backend=memory in config/config.properties.");
             System.exit(1);
         }
 
+        // Rebuild running totals from the base tables before taking bookings
+        LiveCounters.getInstance().start();
+
         // Start the application
         System.out.println("System initialized successfully!\n");
         System.out.println("Launching GUI...");
@@ -42,7 +65,19 @@ public class Main {
         });
 
         // Cleanup on exit
-        dbConnection.closeConnection();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            NotificationManager.getInstance().shutdown();
+            LiveCounters.getInstance().shutdown();
+            AdapterMetrics.getInstance().shutdown();
+            SlowQueryLog.getInstance().shutdown();
+            FlightSnapshot.getInstance().shutdown();
+            if (dbConnection != null) {
+                ResourceLeakTracker.getInstance().shutdown();
+                dbConnection.closeConnection();
+            } else {
+                MemoryStore.getInstance().shutdown();
+            }
+        }));
     }
 
     /**
@@ -0,0 +1,101 @@
+package adapter;
+
+import adapter.cache.CachingFlightDataAdapter;
+import adapter.cache.FlightCache;
+import adapter.cache.FlightSnapshot;
+import adapter.cache.SnapshotFlightDataAdapter;
+import adapter.database.BookingDatabaseAdapter;
+import adapter.database.CounterDatabaseAdapter;
+import adapter.database.FlightDatabaseAdapter;
+import adapter.database.PaymentDatabaseAdapter;
+import adapter.database.StatisticsDatabaseAdapter;
+import adapter.database.UserDatabaseAdapter;
+import adapter.interfaces.BookingDataAdapter;
+import adapter.interfaces.CounterDataAdapter;
+import adapter.interfaces.FlightDataAdapter;
+import adapter.interfaces.PaymentDataAdapter;
+import adapter.interfaces.StatisticsDataAdapter;
+import adapter.interfaces.UserDataAdapter;
+import adapter.memory.BookingMemoryAdapter;
+import adapter.memory.CounterMemoryAdapter;
+import adapter.memory.FlightMemoryAdapter;
+import adapter.memory.PaymentMemoryAdapter;
+import adapter.memory.StatisticsMemoryAdapter;
+import adapter.memory.UserMemoryAdapter;
+import adapter.metrics.AdapterMetrics;
+import adapter.metrics.InstrumentedBookingDataAdapter;
+import adapter.metrics.InstrumentedFlightDataAdapter;
+import adapter.metrics.InstrumentedPaymentDataAdapter;
+import adapter.metrics.InstrumentedUserDataAdapter;
+import util.AppConfig;
+
+/**
+ * Factory creating the data adapters used by the controllers.
+ * Centralizes which implementation backs each adapter interface and which
+ * decorators (such as the flight cache) wrap it.
+ * When metrics are enabled, each storage adapter is wrapped in its
+ * instrumented decorator before any caching.
+ *
+ * storage.backend selects MySQL ("mysql", the default) or the in-memory
+ * engine ("memory"), which needs no database and keeps its data only when
+ * storage.memory.durable is set.
+ */
+public class DataAdapterFactory {
+    private static final boolean IN_MEMORY = "memory".equalsIgnoreCase(
+            AppConfig.get("storage.backend", "mysql").trim());
+
+    /**
+     * Whether the adapters are backed by the in-memory engine instead of MySQL.
+     */
+    public static boolean isInMemory() {
+        return IN_MEMORY;
+    }
+
+    public static FlightDataAdapter createFlightDataAdapter() {
+        FlightDataAdapter adapter = IN_MEMORY ? new FlightMemoryAdapter() : new FlightDatabaseAdapter();
+        if (AdapterMetrics.getInstance().isEnabled()) {
+            adapter = new InstrumentedFlightDataAdapter(adapter);
+        }
+        // In memory, a cache would only add a second copy of every row
+        if (!IN_MEMORY && FlightCache.getInstance().isEnabled()) {
+            adapter = new CachingFlightDataAdapter(adapter);
+        }
+        // The snapshot only bridges the first database queries after a restart
+        if (!IN_MEMORY && FlightSnapshot.getInstance().isEnabled()) {
+            adapter = new SnapshotFlightDataAdapter(adapter);
+        }
+        return adapter;
+    }
+
+    public static BookingDataAdapter createBookingDataAdapter() {
+        BookingDataAdapter adapter = IN_MEMORY ? new BookingMemoryAdapter() : new BookingDatabaseAdapter();
+        if (AdapterMetrics.getInstance().isEnabled()) {
+            adapter = new InstrumentedBookingDataAdapter(adapter);
+        }
+        return adapter;
+    }
+
+    public static UserDataAdapter createUserDataAdapter() {
+        UserDataAdapter adapter = IN_MEMORY ? new UserMemoryAdapter() : new UserDatabaseAdapter();
+        if (AdapterMetrics.getInstance().isEnabled()) {
+            adapter = new InstrumentedUserDataAdapter(adapter);
+        }
+        return adapter;
+    }
+
+    public static PaymentDataAdapter createPaymentDataAdapter() {
+        PaymentDataAdapter adapter = IN_MEMORY ? new PaymentMemoryAdapter() : new PaymentDatabaseAdapter();
+        if (AdapterMetrics.getInstance().isEnabled()) {
+            adapter = new InstrumentedPaymentDataAdapter(adapter);
+        }
+        return adapter;
+    }
+
+    public static StatisticsDataAdapter createStatisticsDataAdapter() {
+        return IN_MEMORY ? new StatisticsMemoryAdapter() : new StatisticsDatabaseAdapter();
+    }
+
+    public static CounterDataAdapter createCounterDataAdapter() {
+        return IN_MEMORY ? new CounterMemoryAdapter() : new CounterDatabaseAdapter();
+    }
+}
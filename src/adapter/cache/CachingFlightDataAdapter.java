@@ -0,0 +1,161 @@
+package adapter.cache;
+
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.entity.FlightUpdate;
+import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-through caching decorator for any FlightDataAdapter.
+ * Single-flight lookups are served from the shared FlightCache; every write
+ * goes to the wrapped adapter first and then invalidates the affected flight.
+ * List queries (findAll, pages, search) are never cached.
+ */
+public class CachingFlightDataAdapter implements FlightDataAdapter {
+    private final FlightDataAdapter delegate;
+    private final FlightCache cache;
+
+    public CachingFlightDataAdapter(FlightDataAdapter delegate) {
+        this.delegate = delegate;
+        this.cache = FlightCache.getInstance();
+    }
+
+    @Override
+    public Flight create(Flight flight) throws SQLException {
+        return delegate.create(flight);
+    }
+
+    @Override
+    public Flight findById(int flightId) throws SQLException {
+        Flight cached = cache.get(flightId);
+        if (cached != null) {
+            return cached;
+        }
+        return findByIdAuthoritative(flightId);
+    }
+
+    @Override
+    public Flight findByIdAuthoritative(int flightId) throws SQLException {
+        long generation = cache.generation(flightId);
+        Flight flight = delegate.findById(flightId);
+        cache.put(flight, generation);
+        return flight;
+    }
+
+    @Override
+    public Flight findByFlightNumber(String flightNumber) throws SQLException {
+        return delegate.findByFlightNumber(flightNumber);
+    }
+
+    @Override
+    public List<Flight> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException {
+        return delegate.findAllAfter(lastFlightId, limit);
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        return delegate.findPageBoundaries(pageSize);
+    }
+
+    @Override
+    public List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit)
+            throws SQLException {
+        return delegate.findAllAfter(lastDepartureTime, lastFlightId, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Flight> action) throws SQLException {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return delegate.count();
+    }
+
+    @Override
+    public List<Flight> search(String origin, String destination, LocalDate date, String airline)
+            throws SQLException {
+        return delegate.search(origin, destination, date, airline);
+    }
+
+    @Override
+    public UpdateResult update(Flight flight) throws SQLException {
+        try {
+            return delegate.update(flight);
+        } finally {
+            cache.invalidate(flight.getFlightId());
+        }
+    }
+
+    @Override
+    public UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException {
+        try {
+            return delegate.updateFields(flightId, expectedVersion, changes);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    @Override
+    public boolean delete(int flightId) throws SQLException {
+        try {
+            return delegate.delete(flightId);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    @Override
+    public boolean updateAvailableSeats(int flightId, int seats) throws SQLException {
+        try {
+            return delegate.updateAvailableSeats(flightId, seats);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int flightId, FlightStatus status) throws SQLException {
+        try {
+            return delegate.updateStatus(flightId, status);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    @Override
+    public SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException {
+        try {
+            return delegate.reserveSeats(flightId, numSeats);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(int flightId, int numSeats) throws SQLException {
+        try {
+            return delegate.releaseSeats(flightId, numSeats);
+        } finally {
+            cache.invalidate(flightId);
+        }
+    }
+
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+}
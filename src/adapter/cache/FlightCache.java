@@ -0,0 +1,162 @@
+package adapter.cache;
+
+import model.entity.Flight;
+import util.AppConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, time-limited LRU cache of flights shared by every caching adapter.
+ * Implements Singleton pattern so invalidations from one controller are seen
+ * by all others. Flights are copied in and out so callers can never mutate a
+ * cached instance.
+ */
+public class FlightCache {
+    private static final int GENERATION_STRIPES = 64;
+    private static volatile FlightCache instance;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<Integer, Entry> entries;
+
+    // Bumped on every invalidation; a load that raced with a write is not cached
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private FlightCache() {
+        this.enabled = AppConfig.getBoolean("flight.cache.enabled", true);
+        this.maxSize = Math.max(1, AppConfig.getInt("flight.cache.maxSize", 1000));
+        this.ttlMillis = AppConfig.getLong("flight.cache.ttlMillis", 30000);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the singleton instance of FlightCache.
+     */
+    public static FlightCache getInstance() {
+        if (instance == null) {
+            synchronized (FlightCache.class) {
+                if (instance == null) {
+                    instance = new FlightCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a copy of the cached flight, or null on a miss or expired entry.
+     */
+    public synchronized Flight get(int flightId) {
+        Entry entry = entries.get(flightId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+            entries.remove(flightId);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copyOf(entry.flight);
+    }
+
+    /**
+     * Captures the invalidation generation before loading a flight from the
+     * backing store. Pass it to {@link #put(Flight, long)} afterwards.
+     */
+    public long generation(int flightId) {
+        return generations.get(stripe(flightId));
+    }
+
+    /**
+     * Caches a loaded flight unless it was invalidated while it was loading.
+     */
+    public synchronized void put(Flight flight, long generation) {
+        if (flight == null || generations.get(stripe(flight.getFlightId())) != generation) {
+            return;
+        }
+        entries.put(flight.getFlightId(), new Entry(copyOf(flight), System.currentTimeMillis()));
+    }
+
+    public synchronized void invalidate(int flightId) {
+        generations.incrementAndGet(stripe(flightId));
+        if (entries.remove(flightId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Returns a point-in-time snapshot of cache statistics.
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(entries.size(), maxSize, hits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), invalidations.sum());
+    }
+
+    private static int stripe(int flightId) {
+        return flightId & (GENERATION_STRIPES - 1);
+    }
+
+    private static Flight copyOf(Flight source) {
+        Flight copy = new Flight();
+        copy.setFlightId(source.getFlightId());
+        copy.setFlightNumber(source.getFlightNumber());
+        copy.setAirline(source.getAirline());
+        copy.setOrigin(source.getOrigin());
+        copy.setDestination(source.getDestination());
+        copy.setDepartureTime(source.getDepartureTime());
+        copy.setArrivalTime(source.getArrivalTime());
+        copy.setPrice(source.getPrice());
+        copy.setTotalSeats(source.getTotalSeats());
+        copy.setAvailableSeats(source.getAvailableSeats());
+        copy.setStatus(source.getStatus());
+        copy.setAircraftType(source.getAircraftType());
+        copy.setVersion(source.getVersion());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    private static class Entry {
+        private final Flight flight;
+        private final long loadedAt;
+
+        private Entry(Flight flight, long loadedAt) {
+            this.flight = flight;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package adapter.cache;
+
+/**
+ * Invalidation hook for code that writes the flights table without going
+ * through the flight adapter decorators, such as the booking adapter taking
+ * seats inside its own transaction. Drops the flight from every cached copy
+ * of the flights table.
+ */
+public final class FlightCaches {
+    private FlightCaches() {
+    }
+
+    public static void invalidate(int flightId) {
+        FlightCache.getInstance().invalidate(flightId);
+        FlightSnapshot.getInstance().invalidate();
+    }
+}
@@ -0,0 +1,150 @@
+package adapter.cache;
+
+import adapter.interfaces.FlightDataAdapter;
+import util.AppConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flight inventory kept in a memory-mapped snapshot file for fast cold starts.
+ * Implements Singleton pattern so every snapshot adapter serves the same file.
+ *
+ * At startup the last snapshot is mapped and serves flight searches and
+ * table views immediately, while a background refresh streams the flights
+ * table into a new snapshot. Once that refresh has reconciled the snapshot
+ * with the database, or as soon as any flight is written, reads go back to
+ * the database. The refresh then repeats periodically so the next start has
+ * a recent file.
+ */
+public class FlightSnapshot {
+    private static final DateTimeFormatter WRITTEN_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static volatile FlightSnapshot instance;
+
+    private final boolean enabled;
+    private final Path path;
+    private final long refreshIntervalMillis;
+
+    private volatile FlightSnapshotFile file;
+    private volatile boolean serving;
+    private FlightDataAdapter source;
+    private ScheduledExecutorService refresher;
+
+    private FlightSnapshot() {
+        this.enabled = AppConfig.getBoolean("flight.snapshot.enabled", true);
+        this.path = Path.of(AppConfig.get("flight.snapshot.path", "data/flights.snapshot").trim());
+        this.refreshIntervalMillis = AppConfig.getLong("flight.snapshot.refreshIntervalMillis", 600000);
+    }
+
+    /**
+     * Get the singleton instance of FlightSnapshot.
+     */
+    public static FlightSnapshot getInstance() {
+        if (instance == null) {
+            synchronized (FlightSnapshot.class) {
+                if (instance == null) {
+                    instance = new FlightSnapshot();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Maps the last snapshot, if there is one, and starts the background
+     * refresh that reads flights from the given source. Only the first call
+     * has an effect.
+     */
+    public synchronized void start(FlightDataAdapter source) {
+        if (!enabled || this.source != null) {
+            return;
+        }
+        this.source = source;
+
+        if (Files.exists(path)) {
+            try {
+                file = FlightSnapshotFile.open(path);
+                serving = true;
+                System.out.println("✓ Serving " + file.size() + " flights from the snapshot written "
+                        + WRITTEN_AT.format(Instant.ofEpochMilli(file.getWrittenAt()).atZone(ZoneId.systemDefault()))
+                        + " until it is reconciled with the database");
+            } catch (IOException e) {
+                System.err.println("✗ Ignoring unreadable flight snapshot " + path + ": " + e.getMessage());
+            }
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "flight-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.execute(this::refresh);
+        if (refreshIntervalMillis > 0) {
+            refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMillis, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The snapshot to answer reads from, or null once the database should
+     * answer them.
+     */
+    FlightSnapshotFile servingFile() {
+        return serving ? file : null;
+    }
+
+    /**
+     * Stops serving reads from the snapshot because a flight was written.
+     */
+    void invalidate() {
+        serving = false;
+    }
+
+    /**
+     * Streams the flights table into a new snapshot and reports how it differs
+     * from the previous one. The first successful refresh ends serving from
+     * the snapshot.
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        try {
+            FlightSnapshotFile previous = file;
+            FlightSnapshotFile.WriteResult result = FlightSnapshotFile.write(path, source, previous);
+            file = FlightSnapshotFile.open(path);
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (serving) {
+                serving = false;
+                System.out.println("✓ Flight snapshot reconciled with the database in " + millis + " ms: "
+                        + result.flights + " flights (" + result.added + " added, " + result.changed
+                        + " changed, " + result.removed + " removed since the snapshot)");
+            } else if (previous == null) {
+                System.out.println("✓ Flight snapshot written in " + millis + " ms: " + result.flights + " flights");
+            }
+        } catch (IOException | SQLException e) {
+            System.err.println("✗ Flight snapshot refresh failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the periodic refresh.
+     */
+    public synchronized void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+}
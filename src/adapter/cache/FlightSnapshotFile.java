@@ -0,0 +1,542 @@
+package adapter.cache;
+
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.enums.FlightStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Read-only view of a flight snapshot file, mapped into memory, plus the
+ * writer that produces one.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header       32 bytes: magic, version, record size, record count,
+ *              dictionary size, written-at millis, dictionary offset
+ * records      one 64-byte record per flight, in flight ID order
+ * departures   record numbers in (departure_time, flight_id) order, 4 bytes each
+ * dictionary   offset of each string, then the strings as length + UTF-8
+ * </pre>
+ * A record holds the flight ID, dictionary numbers for every text column,
+ * departure and arrival in epoch seconds (UTC), the price in cents, both seat
+ * counts, the status ordinal and the row version. Repeated airlines and cities are stored once,
+ * and fixed-width records let any flight be read without parsing the ones
+ * before it.
+ */
+final class FlightSnapshotFile {
+    private static final int MAGIC = 0x46524653; // "FRFS"
+    private static final short VERSION = 2; // 2: records carry the row version
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 64;
+    private static final int NO_STRING = -1;
+
+    // Record field offsets
+    private static final int FLIGHT_ID = 0;
+    private static final int FLIGHT_NUMBER = 4;
+    private static final int AIRLINE = 8;
+    private static final int ORIGIN = 12;
+    private static final int DESTINATION = 16;
+    private static final int AIRCRAFT_TYPE = 20;
+    private static final int DEPARTURE = 24;
+    private static final int ARRIVAL = 32;
+    private static final int PRICE_CENTS = 40;
+    private static final int TOTAL_SEATS = 48;
+    private static final int AVAILABLE_SEATS = 52;
+    private static final int STATUS = 56;
+    private static final int ROW_VERSION = 60;
+
+    private static final FlightStatus[] STATUSES = FlightStatus.values();
+    private static final byte[] PADDING = new byte[ROW_VERSION - STATUS - 1];
+
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int dictionarySize;
+    private final long writtenAt;
+    private final int departuresOffset;
+    private final int dictionaryOffset;
+    private final int stringsOffset;
+
+    // Decoded on first use; racing decodes produce equal strings
+    private final String[] strings;
+
+    private FlightSnapshotFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(6) != RECORD_BYTES) {
+            throw new IOException("Not a flight snapshot file");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException("Flight snapshot file version " + buffer.getShort(4) + " is no longer supported");
+        }
+        this.recordCount = buffer.getInt(8);
+        this.dictionarySize = buffer.getInt(12);
+        this.writtenAt = buffer.getLong(16);
+        this.dictionaryOffset = (int) buffer.getLong(24);
+        this.departuresOffset = HEADER_BYTES + recordCount * RECORD_BYTES;
+        this.stringsOffset = dictionaryOffset + dictionarySize * 4;
+        if (departuresOffset + recordCount * 4L > dictionaryOffset || stringsOffset > buffer.capacity()) {
+            throw new IOException("Flight snapshot file is truncated");
+        }
+        this.strings = new String[dictionarySize];
+    }
+
+    /**
+     * Maps a snapshot file read-only.
+     */
+    static FlightSnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Flight snapshot file is too large to map");
+            }
+            // The mapping stays valid after the channel is closed
+            return new FlightSnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    int size() {
+        return recordCount;
+    }
+
+    /**
+     * When the snapshot was written, in epoch milliseconds.
+     */
+    long getWrittenAt() {
+        return writtenAt;
+    }
+
+    // ===== Queries =====
+
+    /**
+     * All flights in departure order, like FlightDataAdapter.findAll().
+     */
+    List<Flight> findAll() {
+        List<Flight> flights = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            flights.add(flightAt(departureRecord(i)));
+        }
+        return flights;
+    }
+
+    /**
+     * Keyset page in flight ID order, starting after the given ID.
+     */
+    List<Flight> findAllAfter(int lastFlightId, int limit) {
+        List<Flight> flights = new ArrayList<>(Math.min(limit, recordCount));
+        for (int i = firstRecordAfter(lastFlightId); i < recordCount && flights.size() < limit; i++) {
+            flights.add(flightAt(i));
+        }
+        return flights;
+    }
+
+    List<Integer> findPageBoundaries(int pageSize) {
+        List<Integer> boundaries = new ArrayList<>();
+        for (int i = pageSize - 1; i < recordCount; i += pageSize) {
+            boundaries.add(flightIdAt(i));
+        }
+        return boundaries;
+    }
+
+    /**
+     * Keyset page in (departure_time, flight_id) order, starting after the
+     * given key, or at the start for a null departure time.
+     */
+    List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit) {
+        int position = lastDepartureTime == null ? 0
+                : firstDepartureAfter(toEpochSecond(lastDepartureTime), lastFlightId);
+        List<Flight> flights = new ArrayList<>(Math.min(limit, recordCount));
+        for (; position < recordCount && flights.size() < limit; position++) {
+            flights.add(flightAt(departureRecord(position)));
+        }
+        return flights;
+    }
+
+    /**
+     * Scheduled flights matching the same prefix filters as the database
+     * search, in departure order. A date limits the scan to that day.
+     */
+    List<Flight> search(String origin, String destination, LocalDate date, String airline) {
+        String originKey = normalizeSearchKey(origin);
+        String destinationKey = normalizeSearchKey(destination);
+        String airlineKey = normalizeSearchKey(airline);
+
+        int position = 0;
+        long end = Long.MAX_VALUE;
+        if (date != null) {
+            position = firstDepartureAfter(toEpochSecond(date.atStartOfDay()) - 1, Integer.MAX_VALUE);
+            end = toEpochSecond(date.plusDays(1).atStartOfDay());
+        }
+
+        List<Flight> flights = new ArrayList<>();
+        for (; position < recordCount; position++) {
+            int record = departureRecord(position);
+            int base = recordBase(record);
+            if (buffer.getLong(base + DEPARTURE) >= end) {
+                break;
+            }
+            if (buffer.get(base + STATUS) == FlightStatus.SCHEDULED.ordinal()
+                    && startsWith(base + ORIGIN, originKey)
+                    && startsWith(base + DESTINATION, destinationKey)
+                    && startsWith(base + AIRLINE, airlineKey)) {
+                flights.add(flightAt(record));
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * Trims and collapses whitespace, as the database adapter does.
+     */
+    private static String normalizeSearchKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
+
+    private boolean startsWith(int fieldOffset, String key) {
+        if (key == null) {
+            return true;
+        }
+        String value = string(buffer.getInt(fieldOffset));
+        return value != null && value.regionMatches(true, 0, key, 0, key.length());
+    }
+
+    // ===== Records =====
+
+    private int recordBase(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+
+    private int flightIdAt(int record) {
+        return buffer.getInt(recordBase(record) + FLIGHT_ID);
+    }
+
+    private int departureRecord(int position) {
+        return buffer.getInt(departuresOffset + position * 4);
+    }
+
+    Flight flightAt(int record) {
+        int base = recordBase(record);
+        Flight flight = new Flight();
+        flight.setFlightId(buffer.getInt(base + FLIGHT_ID));
+        flight.setFlightNumber(string(buffer.getInt(base + FLIGHT_NUMBER)));
+        flight.setAirline(string(buffer.getInt(base + AIRLINE)));
+        flight.setOrigin(string(buffer.getInt(base + ORIGIN)));
+        flight.setDestination(string(buffer.getInt(base + DESTINATION)));
+        flight.setAircraftType(string(buffer.getInt(base + AIRCRAFT_TYPE)));
+        flight.setDepartureTime(fromEpochSecond(buffer.getLong(base + DEPARTURE)));
+        flight.setArrivalTime(fromEpochSecond(buffer.getLong(base + ARRIVAL)));
+        flight.setPrice(buffer.getLong(base + PRICE_CENTS) / 100.0);
+        flight.setTotalSeats(buffer.getInt(base + TOTAL_SEATS));
+        flight.setAvailableSeats(buffer.getInt(base + AVAILABLE_SEATS));
+        flight.setStatus(STATUSES[buffer.get(base + STATUS)]);
+        flight.setVersion(buffer.getInt(base + ROW_VERSION));
+        return flight;
+    }
+
+    /**
+     * Record number of a flight, or -1 if the snapshot does not have it.
+     */
+    int indexOf(int flightId) {
+        int record = firstRecordAfter(flightId - 1);
+        return record < recordCount && flightIdAt(record) == flightId ? record : -1;
+    }
+
+    /**
+     * First record whose flight ID is greater than the given one.
+     */
+    private int firstRecordAfter(int flightId) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (flightIdAt(mid) <= flightId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First departure-order position whose (departure, flight ID) key is
+     * greater than the given one.
+     */
+    private int firstDepartureAfter(long departure, int flightId) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int base = recordBase(departureRecord(mid));
+            long midDeparture = buffer.getLong(base + DEPARTURE);
+            if (midDeparture < departure
+                    || (midDeparture == departure && buffer.getInt(base + FLIGHT_ID) <= flightId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Whether a record holds the same column values as the flight, at the
+     * precision the snapshot keeps.
+     */
+    boolean matches(int record, Flight flight) {
+        int base = recordBase(record);
+        return buffer.getInt(base + ROW_VERSION) == flight.getVersion()
+                && buffer.getLong(base + DEPARTURE) == toEpochSecond(flight.getDepartureTime())
+                && buffer.getLong(base + ARRIVAL) == toEpochSecond(flight.getArrivalTime())
+                && buffer.getLong(base + PRICE_CENTS) == Math.round(flight.getPrice() * 100)
+                && buffer.getInt(base + TOTAL_SEATS) == flight.getTotalSeats()
+                && buffer.getInt(base + AVAILABLE_SEATS) == flight.getAvailableSeats()
+                && buffer.get(base + STATUS) == statusOrdinal(flight.getStatus())
+                && equal(string(buffer.getInt(base + FLIGHT_NUMBER)), flight.getFlightNumber())
+                && equal(string(buffer.getInt(base + AIRLINE)), flight.getAirline())
+                && equal(string(buffer.getInt(base + ORIGIN)), flight.getOrigin())
+                && equal(string(buffer.getInt(base + DESTINATION)), flight.getDestination())
+                && equal(string(buffer.getInt(base + AIRCRAFT_TYPE)), flight.getAircraftType());
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private String string(int number) {
+        if (number == NO_STRING) {
+            return null;
+        }
+        String value = strings[number];
+        if (value == null) {
+            int offset = stringsOffset + buffer.getInt(dictionaryOffset + number * 4);
+            byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+            buffer.get(offset + 2, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[number] = value;
+        }
+        return value;
+    }
+
+    // ===== Writing =====
+
+    /**
+     * Counts from writing a snapshot, compared with the previous one.
+     */
+    static final class WriteResult {
+        final int flights;
+        final int added;
+        final int changed;
+        final int removed;
+
+        private WriteResult(int flights, int added, int changed, int removed) {
+            this.flights = flights;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+        }
+    }
+
+    /**
+     * Streams every flight from the source into a new snapshot file, replacing
+     * the one at path only once the new file is complete and on disk.
+     *
+     * @param previous Snapshot to compare the flights with, or null
+     */
+    static WriteResult write(Path path, FlightDataAdapter source, FlightSnapshotFile previous)
+            throws IOException, SQLException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordWriter records = new RecordWriter(channel, previous);
+            try {
+                source.forEach(records);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            records.finish();
+            channel.force(true);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return records.result();
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes records as the flights stream in, collecting what the departure
+     * order and dictionary sections need, and compares each flight with the
+     * previous snapshot.
+     */
+    private static final class RecordWriter implements Consumer<Flight> {
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final FlightSnapshotFile previous;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryStrings = new ArrayList<>();
+        private long[] departures = new long[1024];
+        private int[] flightIds = new int[1024];
+        private int count;
+        private int added;
+        private int changed;
+        private int kept;
+
+        private RecordWriter(FileChannel channel, FlightSnapshotFile previous) throws IOException {
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            this.previous = previous;
+            out.write(new byte[HEADER_BYTES]); // Filled in by finish()
+        }
+
+        @Override
+        public void accept(Flight flight) {
+            if (count == departures.length) {
+                departures = Arrays.copyOf(departures, count * 2);
+                flightIds = Arrays.copyOf(flightIds, count * 2);
+            }
+            departures[count] = toEpochSecond(flight.getDepartureTime());
+            flightIds[count] = flight.getFlightId();
+            count++;
+
+            if (previous != null) {
+                int old = previous.indexOf(flight.getFlightId());
+                if (old < 0) {
+                    added++;
+                } else {
+                    kept++;
+                    if (!previous.matches(old, flight)) {
+                        changed++;
+                    }
+                }
+            }
+            try {
+                writeRecord(flight);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeRecord(Flight flight) throws IOException {
+            out.writeInt(flight.getFlightId());
+            out.writeInt(stringNumber(flight.getFlightNumber()));
+            out.writeInt(stringNumber(flight.getAirline()));
+            out.writeInt(stringNumber(flight.getOrigin()));
+            out.writeInt(stringNumber(flight.getDestination()));
+            out.writeInt(stringNumber(flight.getAircraftType()));
+            out.writeLong(toEpochSecond(flight.getDepartureTime()));
+            out.writeLong(toEpochSecond(flight.getArrivalTime()));
+            out.writeLong(Math.round(flight.getPrice() * 100));
+            out.writeInt(flight.getTotalSeats());
+            out.writeInt(flight.getAvailableSeats());
+            out.writeByte(statusOrdinal(flight.getStatus()));
+            out.write(PADDING);
+            out.writeInt(flight.getVersion());
+        }
+
+        private int stringNumber(String value) throws IOException {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer number = dictionary.get(value);
+            if (number == null) {
+                if (value.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+                    throw new IOException("Flight text value too long for the snapshot");
+                }
+                number = dictionaryStrings.size();
+                dictionary.put(value, number);
+                dictionaryStrings.add(value);
+            }
+            return number;
+        }
+
+        /**
+         * Writes the departure order and dictionary sections, then the header.
+         */
+        private void finish() throws IOException {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> departures[a] != departures[b]
+                    ? Long.compare(departures[a], departures[b]) : Integer.compare(flightIds[a], flightIds[b]));
+            for (int record : order) {
+                out.writeInt(record);
+            }
+
+            long dictionaryOffset = HEADER_BYTES + (long) count * RECORD_BYTES + count * 4L;
+            List<byte[]> encoded = new ArrayList<>(dictionaryStrings.size());
+            long stringOffset = 0;
+            for (String value : dictionaryStrings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                stringOffset += 2 + bytes.length;
+            }
+            if (dictionaryOffset + encoded.size() * 4L + stringOffset > Integer.MAX_VALUE) {
+                throw new IOException("Flight snapshot would exceed 2 GB");
+            }
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += 2 + bytes.length;
+            }
+            for (byte[] bytes : encoded) {
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_BYTES).putInt(count)
+                    .putInt(dictionaryStrings.size()).putLong(System.currentTimeMillis()).putLong(dictionaryOffset);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+
+        private WriteResult result() {
+            return new WriteResult(count, added, changed, previous != null ? previous.size() - kept : 0);
+        }
+    }
+
+    private static int statusOrdinal(FlightStatus status) {
+        return status != null ? status.ordinal() : FlightStatus.SCHEDULED.ordinal();
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+    }
+
+    private static LocalDateTime fromEpochSecond(long seconds) {
+        return seconds != Long.MIN_VALUE ? LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,164 @@
+package adapter.cache;
+
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.entity.FlightUpdate;
+import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorator answering flight searches and table views from the memory-mapped
+ * FlightSnapshot until it has been reconciled with the database.
+ * Single-flight lookups always go to the wrapped adapter, since booking and
+ * seat decisions need current rows; every write goes to the wrapped adapter
+ * and ends serving from the snapshot.
+ */
+public class SnapshotFlightDataAdapter implements FlightDataAdapter {
+    private final FlightDataAdapter delegate;
+    private final FlightSnapshot snapshot;
+
+    public SnapshotFlightDataAdapter(FlightDataAdapter delegate) {
+        this.delegate = delegate;
+        this.snapshot = FlightSnapshot.getInstance();
+        snapshot.start(delegate);
+    }
+
+    @Override
+    public Flight create(Flight flight) throws SQLException {
+        try {
+            return delegate.create(flight);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public Flight findById(int flightId) throws SQLException {
+        return delegate.findById(flightId);
+    }
+
+    @Override
+    public Flight findByIdAuthoritative(int flightId) throws SQLException {
+        return delegate.findByIdAuthoritative(flightId);
+    }
+
+    @Override
+    public Flight findByFlightNumber(String flightNumber) throws SQLException {
+        return delegate.findByFlightNumber(flightNumber);
+    }
+
+    @Override
+    public List<Flight> findAll() throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.findAll() : delegate.findAll();
+    }
+
+    @Override
+    public List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.findAllAfter(lastFlightId, limit) : delegate.findAllAfter(lastFlightId, limit);
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.findPageBoundaries(pageSize) : delegate.findPageBoundaries(pageSize);
+    }
+
+    @Override
+    public List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit)
+            throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.findAllAfter(lastDepartureTime, lastFlightId, limit)
+                : delegate.findAllAfter(lastDepartureTime, lastFlightId, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Flight> action) throws SQLException {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public int count() throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.size() : delegate.count();
+    }
+
+    @Override
+    public List<Flight> search(String origin, String destination, LocalDate date, String airline)
+            throws SQLException {
+        FlightSnapshotFile file = snapshot.servingFile();
+        return file != null ? file.search(origin, destination, date, airline)
+                : delegate.search(origin, destination, date, airline);
+    }
+
+    @Override
+    public UpdateResult update(Flight flight) throws SQLException {
+        try {
+            return delegate.update(flight);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException {
+        try {
+            return delegate.updateFields(flightId, expectedVersion, changes);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public boolean delete(int flightId) throws SQLException {
+        try {
+            return delegate.delete(flightId);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public boolean updateAvailableSeats(int flightId, int seats) throws SQLException {
+        try {
+            return delegate.updateAvailableSeats(flightId, seats);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int flightId, FlightStatus status) throws SQLException {
+        try {
+            return delegate.updateStatus(flightId, status);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException {
+        try {
+            return delegate.reserveSeats(flightId, numSeats);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(int flightId, int numSeats) throws SQLException {
+        try {
+            return delegate.releaseSeats(flightId, numSeats);
+        } finally {
+            snapshot.invalidate();
+        }
+    }
+}
@@ -2,24 +2,83 @@
 package adapter.database;
 
 import adapter.database.DatabaseConnection;
+import adapter.cache.FlightCaches;
 import adapter.interfaces.BookingDataAdapter;
 import model.entity.Booking;
+import model.entity.Flight;
 import model.entity.Passenger;
 import model.enums.BookingStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class BookingDatabaseAdapter implements BookingDataAdapter {
-    private Connection connection;
+    private static final String ALL_PASSENGERS_SQL =
+            "SELECT * FROM passengers ORDER BY booking_id, passenger_id";
+    private static final String CUSTOMER_PASSENGERS_SQL =
+            "SELECT p.* FROM passengers p JOIN bookings b ON b.booking_id = p.booking_id " +
+                    "WHERE b.customer_id = ? ORDER BY p.booking_id, p.passenger_id";
+    private static final String FLIGHT_PASSENGERS_SQL =
+            "SELECT p.* FROM passengers p JOIN bookings b ON b.booking_id = p.booking_id " +
+                    "WHERE b.flight_id = ? ORDER BY p.booking_id, p.passenger_id";
+    private static final String ALL_FLIGHTS_SQL =
+            "SELECT * FROM flights WHERE flight_id IN (SELECT flight_id FROM bookings)";
+    private static final String CUSTOMER_FLIGHTS_SQL =
+            "SELECT * FROM flights WHERE flight_id IN (SELECT flight_id FROM bookings WHERE customer_id = ?)";
+
+    private final DatabaseConnection database;
 
     public BookingDatabaseAdapter() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     @Override
     public Booking create(Booking booking) throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            return insertBooking(connection, booking);
+        }
+    }
+
+    @Override
+    public SeatReservationResult createWithPassengers(Booking booking, List<Passenger> passengers)
+            throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // Reserve first so the flight row is locked before anything is inserted
+                SeatReservationResult result = FlightDatabaseAdapter.reserveSeats(connection,
+                        booking.getFlightId(), booking.getNumPassengers());
+                if (result != SeatReservationResult.RESERVED) {
+                    connection.rollback();
+                    return result;
+                }
+
+                insertBooking(connection, booking);
+                insertPassengers(connection, booking.getBookingId(), passengers);
+                connection.commit();
+
+                booking.setPassengers(passengers);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                // Seats were written directly on the flights table
+                FlightCaches.invalidate(booking.getFlightId());
+            }
+        }
+    }
+
+    private Booking insertBooking(Connection connection, Booking booking) throws SQLException {
         String sql = "INSERT INTO bookings (customer_id, flight_id, status, total_amount, num_passengers) " +
                 "VALUES (?, ?, ?, ?, ?)";
 
@@ -32,9 +91,10 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
 
             stmt.executeUpdate();
 
-            ResultSet rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                booking.setBookingId(rs.getInt(1));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    booking.setBookingId(rs.getInt(1));
+                }
             }
         }
         return booking;
@@ -44,14 +104,15 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
     public Booking findById(int bookingId) throws SQLException {
         String sql = "SELECT * FROM bookings WHERE booking_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, bookingId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                Booking booking = extractBookingFromResultSet(rs);
-                booking.setPassengers(getPassengersByBookingId(bookingId));
-                return booking;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Booking booking = extractBookingFromResultSet(rs);
+                    booking.setPassengers(getPassengersByBookingId(connection, bookingId));
+                    return booking;
+                }
             }
         }
         return null;
@@ -62,15 +123,16 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
         List<Booking> bookings = new ArrayList<>();
         String sql = "SELECT * FROM bookings WHERE customer_id = ? ORDER BY booking_date DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, customerId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Booking booking = extractBookingFromResultSet(rs);
-                booking.setPassengers(getPassengersByBookingId(booking.getBookingId()));
-                bookings.add(booking);
+        try (Connection connection = database.getConnection()) {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, customerId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookings.add(extractBookingFromResultSet(rs));
+                    }
+                }
             }
+            attachPassengers(connection, bookings, CUSTOMER_PASSENGERS_SQL, customerId);
         }
         return bookings;
     }
@@ -80,21 +142,120 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
         List<Booking> bookings = new ArrayList<>();
         String sql = "SELECT * FROM bookings WHERE flight_id = ? ORDER BY booking_date DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, flightId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Booking booking = extractBookingFromResultSet(rs);
-                booking.setPassengers(getPassengersByBookingId(booking.getBookingId()));
-                bookings.add(booking);
+        try (Connection connection = database.getConnection()) {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, flightId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookings.add(extractBookingFromResultSet(rs));
+                    }
+                }
             }
+            attachPassengers(connection, bookings, FLIGHT_PASSENGERS_SQL, flightId);
         }
         return bookings;
     }
 
     @Override
     public List<Booking> findAll() throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            List<Booking> bookings = queryAll(connection);
+            attachPassengers(connection, bookings, ALL_PASSENGERS_SQL, null);
+            return bookings;
+        }
+    }
+
+    @Override
+    public List<Booking> findAllAfter(int lastBookingId, int limit) throws SQLException {
+        return queryPage("SELECT * FROM bookings WHERE booking_id > ? ORDER BY booking_id LIMIT ?",
+                lastBookingId, limit);
+    }
+
+    @Override
+    public List<Booking> findAllAfter(LocalDateTime lastBookingDate, int lastBookingId, int limit)
+            throws SQLException {
+        if (lastBookingDate == null) {
+            return queryPage("SELECT * FROM bookings ORDER BY booking_date, booking_id LIMIT ?", limit);
+        }
+
+        // Expanded row comparison so MySQL can range-scan idx_bookings_booking_date
+        String sql = "SELECT * FROM bookings WHERE booking_date > ? OR (booking_date = ? AND booking_id > ?) " +
+                "ORDER BY booking_date, booking_id LIMIT ?";
+        Timestamp last = Timestamp.valueOf(lastBookingDate);
+        return queryPage(sql, last, last, lastBookingId, limit);
+    }
+
+    private List<Booking> queryPage(String sql, Object... params) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+
+        try (Connection connection = database.getConnection()) {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookings.add(extractBookingFromResultSet(rs));
+                    }
+                }
+            }
+            attachFlightsById(connection, bookings);
+        }
+        return bookings;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Booking> action) throws SQLException {
+        StreamingQuery.forEach(database, "SELECT * FROM bookings ORDER BY booking_id",
+                this::extractBookingFromResultSet, action);
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        return PageBoundaries.find(database, "bookings", "booking_id", pageSize);
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return PageBoundaries.count(database, "bookings");
+    }
+
+    @Override
+    public List<Booking> findAllWithDetails(boolean includePassengers) throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            List<Booking> bookings = queryAll(connection);
+            attachFlights(connection, bookings, ALL_FLIGHTS_SQL, null);
+            if (includePassengers) {
+                attachPassengers(connection, bookings, ALL_PASSENGERS_SQL, null);
+            }
+            return bookings;
+        }
+    }
+
+    @Override
+    public List<Booking> findByCustomerIdWithDetails(int customerId, boolean includePassengers)
+            throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        String sql = "SELECT * FROM bookings WHERE customer_id = ? ORDER BY booking_date DESC";
+
+        try (Connection connection = database.getConnection()) {
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, customerId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        bookings.add(extractBookingFromResultSet(rs));
+                    }
+                }
+            }
+            attachFlights(connection, bookings, CUSTOMER_FLIGHTS_SQL, customerId);
+            if (includePassengers) {
+                attachPassengers(connection, bookings, CUSTOMER_PASSENGERS_SQL, customerId);
+            }
+        }
+        return bookings;
+    }
+
+    private List<Booking> queryAll(Connection connection) throws SQLException {
         List<Booking> bookings = new ArrayList<>();
         String sql = "SELECT * FROM bookings ORDER BY booking_date DESC";
 
@@ -102,35 +263,153 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
-                Booking booking = extractBookingFromResultSet(rs);
-                booking.setPassengers(getPassengersByBookingId(booking.getBookingId()));
-                bookings.add(booking);
+                bookings.add(extractBookingFromResultSet(rs));
             }
         }
         return bookings;
     }
 
-    @Override
-    public boolean update(Booking booking) throws SQLException {
-        String sql = "UPDATE bookings SET status = ?, total_amount = ?, num_passengers = ? WHERE booking_id = ?";
+    /**
+     * Loads the passengers of all given bookings with one query and assigns
+     * them by booking ID, replacing one lookup per booking.
+     */
+    private void attachPassengers(Connection connection, List<Booking> bookings, String sql, Integer param)
+            throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Booking> byId = new HashMap<>();
+        for (Booking booking : bookings) {
+            booking.setPassengers(new ArrayList<>());
+            byId.put(booking.getBookingId(), booking);
+        }
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, booking.getStatus().name());
-            stmt.setDouble(2, booking.getTotalAmount());
-            stmt.setInt(3, booking.getNumPassengers());
-            stmt.setInt(4, booking.getBookingId());
+            if (param != null) {
+                stmt.setInt(1, param);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Booking booking = byId.get(rs.getInt("booking_id"));
+                    if (booking != null) {
+                        booking.addPassenger(extractPassengerFromResultSet(rs));
+                    }
+                }
+            }
+        }
+    }
 
-            return stmt.executeUpdate() > 0;
+    /**
+     * Loads the distinct flights referenced by the given bookings with one
+     * query and attaches them, replacing one flight lookup per booking.
+     */
+    private void attachFlights(Connection connection, List<Booking> bookings, String sql, Integer param)
+            throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Flight> flights = new HashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            if (param != null) {
+                stmt.setInt(1, param);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Flight flight = FlightDatabaseAdapter.extractFlightFromResultSet(rs);
+                    flights.put(flight.getFlightId(), flight);
+                }
+            }
+        }
+
+        for (Booking booking : bookings) {
+            booking.setFlight(flights.get(booking.getFlightId()));
         }
     }
 
-    @Override
-    public boolean cancel(int bookingId) throws SQLException {
-        String sql = "UPDATE bookings SET status = 'CANCELLED' WHERE booking_id = ?";
+    /**
+     * Attaches flights to one page of bookings by looking up only the distinct
+     * flight IDs on that page.
+     */
+    private void attachFlightsById(Connection connection, List<Booking> bookings) throws SQLException {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        List<Integer> flightIds = bookings.stream().map(Booking::getFlightId).distinct().toList();
+        String sql = "SELECT * FROM flights WHERE flight_id IN ("
+                + String.join(", ", Collections.nCopies(flightIds.size(), "?")) + ")";
 
+        Map<Integer, Flight> flights = new HashMap<>();
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, bookingId);
-            return stmt.executeUpdate() > 0;
+            for (int i = 0; i < flightIds.size(); i++) {
+                stmt.setInt(i + 1, flightIds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Flight flight = FlightDatabaseAdapter.extractFlightFromResultSet(rs);
+                    flights.put(flight.getFlightId(), flight);
+                }
+            }
+        }
+
+        for (Booking booking : bookings) {
+            booking.setFlight(flights.get(booking.getFlightId()));
+        }
+    }
+
+    @Override
+    public UpdateResult update(Booking booking) throws SQLException {
+        String sql = "UPDATE bookings SET flight_id = ?, status = ?, total_amount = ?, num_passengers = ?, " +
+                "version = version + 1 WHERE booking_id = ? AND version = ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, booking.getFlightId());
+            stmt.setString(2, booking.getStatus().name());
+            stmt.setDouble(3, booking.getTotalAmount());
+            stmt.setInt(4, booking.getNumPassengers());
+            stmt.setInt(5, booking.getBookingId());
+            stmt.setInt(6, booking.getVersion());
+
+            if (stmt.executeUpdate() > 0) {
+                booking.setVersion(booking.getVersion() + 1);
+                return UpdateResult.UPDATED;
+            }
+            return explainMissedUpdate(connection, booking.getBookingId());
+        }
+    }
+
+    @Override
+    public UpdateResult cancel(Booking booking) throws SQLException {
+        String sql = "UPDATE bookings SET status = 'CANCELLED', version = version + 1 " +
+                "WHERE booking_id = ? AND version = ? AND status <> 'CANCELLED'";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, booking.getBookingId());
+            stmt.setInt(2, booking.getVersion());
+
+            if (stmt.executeUpdate() > 0) {
+                booking.setStatus(BookingStatus.CANCELLED);
+                booking.setVersion(booking.getVersion() + 1);
+                return UpdateResult.UPDATED;
+            }
+            return explainMissedUpdate(connection, booking.getBookingId());
+        }
+    }
+
+    /**
+     * Tells a booking that is gone from one whose version moved on, after a
+     * version-checked write matched no row.
+     */
+    private UpdateResult explainMissedUpdate(Connection connection, int bookingId) throws SQLException {
+        try (PreparedStatement check = connection.prepareStatement("SELECT 1 FROM bookings WHERE booking_id = ?")) {
+            check.setInt(1, bookingId);
+            try (ResultSet rs = check.executeQuery()) {
+                return rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+            }
         }
     }
 
@@ -139,7 +418,8 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
         String sql = "INSERT INTO passengers (booking_id, first_name, last_name, passport_number) " +
                 "VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, passenger.getBookingId());
             stmt.setString(2, passenger.getFirstName());
             stmt.setString(3, passenger.getLastName());
@@ -147,20 +427,50 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
 
             stmt.executeUpdate();
 
-            ResultSet rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                passenger.setPassengerId(rs.getInt(1));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    passenger.setPassengerId(rs.getInt(1));
+                }
             }
             return true;
         }
     }
 
+    /**
+     * Inserts all passengers of a booking with one JDBC batch.
+     */
+    private void insertPassengers(Connection connection, int bookingId, List<Passenger> passengers)
+            throws SQLException {
+        String sql = "INSERT INTO passengers (booking_id, first_name, last_name, passport_number) " +
+                "VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Passenger passenger : passengers) {
+                passenger.setBookingId(bookingId);
+                stmt.setInt(1, bookingId);
+                stmt.setString(2, passenger.getFirstName());
+                stmt.setString(3, passenger.getLastName());
+                stmt.setString(4, passenger.getPassportNumber());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (int i = 0; i < passengers.size() && rs.next(); i++) {
+                    passengers.get(i).setPassengerId(rs.getInt(1));
+                }
+            }
+        }
+    }
+
     @Override
     public boolean updatePassenger(Passenger passenger) throws SQLException {
         String sql = "UPDATE passengers SET first_name = ?, last_name = ?, passport_number = ? " +
                 "WHERE passenger_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, passenger.getFirstName());
             stmt.setString(2, passenger.getLastName());
             stmt.setString(3, passenger.getPassportNumber());
@@ -172,15 +482,25 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
 
     @Override
     public List<Passenger> getPassengersByBookingId(int bookingId) throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            return getPassengersByBookingId(connection, bookingId);
+        }
+    }
+
+    /**
+     * Loads passengers on a connection the caller already holds, so nested
+     * lookups never borrow a second pooled connection.
+     */
+    private List<Passenger> getPassengersByBookingId(Connection connection, int bookingId) throws SQLException {
         List<Passenger> passengers = new ArrayList<>();
         String sql = "SELECT * FROM passengers WHERE booking_id = ?";
 
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, bookingId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                passengers.add(extractPassengerFromResultSet(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    passengers.add(extractPassengerFromResultSet(rs));
+                }
             }
         }
         return passengers;
@@ -189,7 +509,8 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
     @Override
     public boolean removePassenger(int passengerId) throws SQLException {
         String sql = "DELETE FROM passengers WHERE passenger_id = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, passengerId);
             return stmt.executeUpdate() > 0;
         }
@@ -204,6 +525,7 @@ public class BookingDatabaseAdapter implements BookingDataAdapter {
         booking.setStatus(BookingStatus.valueOf(rs.getString("status")));
         booking.setTotalAmount(rs.getDouble("total_amount"));
         booking.setNumPassengers(rs.getInt("num_passengers"));
+        booking.setVersion(rs.getInt("version"));
         return booking;
     }
 
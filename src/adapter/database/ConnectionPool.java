@@ -0,0 +1,386 @@
+package adapter.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool with borrow/return semantics.
+ * Connections handed out are proxies whose close() returns the physical
+ * connection to the pool. Idle connections are validated on borrow and
+ * evicted in the background once they exceed the idle timeout, after which
+ * the evictor opens new ones to keep at least minIdle ready. Statements
+ * still open when a connection comes back are closed, so a forgotten
+ * statement cannot keep its server-side cursor for the life of the
+ * physical connection.
+ */
+public class ConnectionPool {
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final int validationTimeoutSeconds;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder waitNanosTotal = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private final ResourceLeakTracker leakTracker = ResourceLeakTracker.getInstance();
+    private volatile boolean shutdown;
+
+    public ConnectionPool(String url, String username, String password, int maxSize, int minIdle,
+                          long maxWaitMillis, long idleTimeoutMillis, long validationIntervalMillis,
+                          int validationTimeoutSeconds, long evictionIntervalMillis) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Math.max(1, maxSize);
+        this.minIdle = Math.max(0, Math.min(minIdle, this.maxSize));
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(this.maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(this::evictIdleConnections,
+                evictionIntervalMillis, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens connections until the minimum idle count is reached.
+     *
+     * @throws SQLException if a physical connection cannot be opened
+     */
+    public void warmUp() throws SQLException {
+        while (addIdleConnection()) {
+            // Each call opens one connection until minIdle is reached
+        }
+    }
+
+    /**
+     * Opens one idle connection if fewer than minIdle are idle. A permit is
+     * held while connecting, so a borrower that finds no idle connection at
+     * the same time cannot push the pool past its maximum size, and the
+     * method is synchronized so warmUp and the evictor never fill the same gap.
+     *
+     * @return true if a connection was added
+     * @throws SQLException if the physical connection cannot be opened
+     */
+    private synchronized boolean addIdleConnection() throws SQLException {
+        if (shutdown || idle.size() >= minIdle || total.get() >= maxSize || !permits.tryAcquire()) {
+            return false;
+        }
+        try {
+            PooledEntry entry = openEntry();
+            if (shutdown) {
+                discard(entry);
+                return false;
+            }
+            idle.offerLast(entry);
+            return true;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured max wait time.
+     * The caller must close the returned connection to give it back.
+     *
+     * @return Pooled connection proxy
+     * @throws SQLException if the pool is shut down, the wait times out, or a
+     *                      new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down.");
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out after " + maxWaitMillis
+                        + " ms waiting for a database connection (active=" + active.get() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        try {
+            PooledEntry entry = takeValidIdleEntry();
+            if (entry == null) {
+                entry = openEntry();
+            }
+            active.incrementAndGet();
+            borrowCount.increment();
+            return entry.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeValidIdleEntry() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            long idleMillis = System.currentTimeMillis() - entry.lastReturnedAt;
+            if (idleMillis > idleTimeoutMillis) {
+                discard(entry);
+                continue;
+            }
+            if (idleMillis > validationIntervalMillis && !entry.isValid()) {
+                if (leakTracker.isEnabled()) {
+                    System.err.println("⚠ Replacing a pooled connection that failed validation after "
+                            + idleMillis + " ms idle");
+                }
+                discard(entry);
+                continue;
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, username, password);
+        physical.setAutoCommit(true);
+        total.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    private void giveBack(PooledEntry entry) {
+        active.decrementAndGet();
+        try {
+            if (shutdown || entry.physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) {
+                // An unfinished unit of work must never leak into the next borrower
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.lastReturnedAt = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        total.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {
+            // Connection is being dropped anyway
+        }
+    }
+
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledEntry> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && idle.size() > minIdle) {
+            PooledEntry entry = iterator.next();
+            if (now - entry.lastReturnedAt > idleTimeoutMillis && idle.removeFirstOccurrence(entry)) {
+                evictionCount.increment();
+                discard(entry);
+            }
+        }
+        refillIdle();
+    }
+
+    /**
+     * Tops the idle connections back up to minIdle after eviction, or after
+     * borrowers discarded stale or invalid ones.
+     */
+    private void refillIdle() {
+        try {
+            while (addIdleConnection()) {
+                // Each call opens one connection until minIdle is reached
+            }
+        } catch (SQLException e) {
+            // The next pass tries again; borrowers still open connections on demand
+            System.err.println("⚠ Could not refill the connection pool to " + minIdle
+                    + " idle connections: " + e.getMessage());
+        }
+    }
+
+    private void recordWait(long nanos) {
+        waitNanosTotal.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Returns a point-in-time snapshot of pool metrics.
+     */
+    public PoolStats getStats() {
+        long borrows = borrowCount.sum();
+        long waitNanos = waitNanosTotal.sum();
+        return new PoolStats(active.get(), idle.size(), total.get(), maxSize, borrows, timeoutCount.sum(),
+                evictionCount.sum(), borrows == 0 ? 0 : waitNanos / borrows / 1_000_000.0,
+                maxWaitNanos.get() / 1_000_000.0, permits.getQueueLength());
+    }
+
+    /**
+     * Closes all idle connections and refuses further borrows.
+     * Connections still in use are closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        evictor.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    private class PooledEntry {
+        private final Connection physical;
+        private volatile long lastReturnedAt;
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastReturnedAt = System.currentTimeMillis();
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Proxy handler for a single lease of a pooled connection.
+     * close() returns the connection instead of closing it, and any call made
+     * after the lease has ended fails fast. Statements it creates are wrapped
+     * by StatementInterceptor and closed on return if the caller has not.
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private final ResourceLeakTracker.Resource resource;
+        private final List<Statement> statements = new ArrayList<>(4);
+        private int pruneAt = 64;
+        private boolean returned;
+
+        private LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+            this.resource = leakTracker.opened(ResourceLeakTracker.Kind.CONNECTION, null);
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        closeStatements();
+                        leakTracker.closed(resource);
+                        giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + (returned ? ", returned]" : "]");
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(entry.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String
+                                ? (String) args[0] : null;
+                        Statement statement = StatementInterceptor.wrap((Statement) result, (Connection) proxy, sql);
+                        if (statements.size() == pruneAt) {
+                            forgetClosedStatements();
+                        }
+                        statements.add(statement);
+                        return statement;
+                    }
+                    return result;
+            }
+        }
+
+        // Keeps a long transaction that prepares many statements from holding all of them
+        private void forgetClosedStatements() {
+            statements.removeIf(statement -> {
+                try {
+                    return statement.isClosed();
+                } catch (SQLException e) {
+                    return true;
+                }
+            });
+            pruneAt = Math.max(64, statements.size() * 2);
+        }
+
+        private void closeStatements() {
+            for (Statement statement : statements) {
+                try {
+                    if (!statement.isClosed()) {
+                        ((StatementInterceptor) Proxy.getInvocationHandler(statement))
+                                .closeUnclosed("the pool when its connection was returned");
+                    }
+                } catch (SQLException e) {
+                    // The physical connection is validated before its next lease
+                }
+            }
+            statements.clear();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package adapter.database;
+
+import adapter.interfaces.CounterDataAdapter;
+import model.enums.BookingStatus;
+import model.enums.PaymentStatus;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stores live counter checkpoints in the live_counters table and recomputes
+ * the counters from the bookings and payments tables with aggregates.
+ */
+public class CounterDatabaseAdapter implements CounterDataAdapter {
+    private static final String UPSERT_SQL =
+            "INSERT INTO live_counters (counter_key, counter_value) VALUES (?, ?) " +
+                    "ON DUPLICATE KEY UPDATE counter_value = VALUES(counter_value)";
+    private static final String BOOKINGS_BY_STATUS_SQL =
+            "SELECT status, COUNT(*), COALESCE(SUM(total_amount), 0) FROM bookings GROUP BY status";
+    private static final String SEATS_BY_FLIGHT_SQL =
+            "SELECT flight_id, SUM(num_passengers) FROM bookings WHERE status <> 'CANCELLED' GROUP BY flight_id";
+    private static final String PAYMENTS_BY_STATUS_SQL =
+            "SELECT status, COUNT(*) FROM payments GROUP BY status";
+
+    private final DatabaseConnection database;
+
+    public CounterDatabaseAdapter() {
+        this.database = DatabaseConnection.getInstance();
+    }
+
+    @Override
+    public Map<String, Long> loadCheckpoint() throws SQLException {
+        Map<String, Long> counters = new HashMap<>();
+        String sql = "SELECT counter_key, counter_value FROM live_counters";
+
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                counters.put(rs.getString("counter_key"), rs.getLong("counter_value"));
+            }
+        }
+        return counters;
+    }
+
+    @Override
+    public void saveCheckpoint(Map<String, Long> counters) throws SQLException {
+        if (counters.isEmpty()) {
+            return;
+        }
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(UPSERT_SQL)) {
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                stmt.setString(1, entry.getKey());
+                stmt.setLong(2, entry.getValue());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @Override
+    public Map<String, Long> computeFromBaseTables() throws SQLException {
+        Map<String, Long> counters = new HashMap<>();
+
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(BOOKINGS_BY_STATUS_SQL)) {
+                while (rs.next()) {
+                    BookingStatus status = BookingStatus.valueOf(rs.getString(1));
+                    counters.put(CounterDataAdapter.bookingsKey(status), rs.getLong(2));
+                    if (status == BookingStatus.CONFIRMED) {
+                        counters.put(REVENUE_KEY, rs.getBigDecimal(3).movePointRight(2).longValue());
+                    }
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery(SEATS_BY_FLIGHT_SQL)) {
+                while (rs.next()) {
+                    counters.put(CounterDataAdapter.seatsKey(rs.getInt(1)), rs.getLong(2));
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery(PAYMENTS_BY_STATUS_SQL)) {
+                while (rs.next()) {
+                    counters.put(CounterDataAdapter.paymentsKey(PaymentStatus.valueOf(rs.getString(1))),
+                            rs.getLong(2));
+                }
+            }
+        }
+        return counters;
+    }
+}
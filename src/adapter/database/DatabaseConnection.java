@@ -1,19 +1,20 @@
 package adapter.database;
 
-import java.io.FileInputStream;
-import java.io.IOException;
+import util.AppConfig;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
 
 /**
  * Singleton class managing database connections for the application.
- * Loads configuration from file or uses defaults, ensures thread-safe access.
+ * Loads configuration from file or uses defaults, and hands out connections
+ * from a bounded pool. Callers borrow a connection per call or transaction
+ * and return it by closing it (try-with-resources).
  */
 public class DatabaseConnection {
-    private static DatabaseConnection instance;
-    private Connection connection;
+    private static volatile DatabaseConnection instance;
+    private ConnectionPool pool;
+    private boolean available;
     private String url;
     private String username;
     private String password;
@@ -21,9 +22,20 @@ public class DatabaseConnection {
     private DatabaseConnection() {
         try {
             loadConfiguration();
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            this.connection = DriverManager.getConnection(url, username, password);
-            this.connection.setAutoCommit(true); // Ensure changes are immediately committed
+            if (url.startsWith("jdbc:mysql:")) {
+                Class.forName("com.mysql.cj.jdbc.Driver");
+            }
+            // Other drivers, such as the H2 stand-in used by the benchmarks, register themselves
+            this.pool = new ConnectionPool(url, username, password,
+                    AppConfig.getInt("db.pool.maxSize", 10),
+                    AppConfig.getInt("db.pool.minIdle", 2),
+                    AppConfig.getLong("db.pool.maxWaitMillis", 5000),
+                    AppConfig.getLong("db.pool.idleTimeoutMillis", 300000),
+                    AppConfig.getLong("db.pool.validationIntervalMillis", 500),
+                    AppConfig.getInt("db.pool.validationTimeoutSeconds", 2),
+                    AppConfig.getLong("db.pool.evictionIntervalMillis", 30000));
+            this.pool.warmUp();
+            this.available = true;
             System.out.println("✓ Database connection established successfully!");
         } catch (ClassNotFoundException e) {
             System.err.println("✗ MySQL JDBC Driver not found!");
@@ -35,20 +47,13 @@ public class DatabaseConnection {
     }
 
     private void loadConfiguration() {
-        Properties props = new Properties();
-        try {
-            // Try to load from config file
-            FileInputStream fis = new FileInputStream("config/config.properties");
-            props.load(fis);
-            fis.close();
-
-            this.url = props.getProperty("db.url");
-            this.username = props.getProperty("db.username");
-            this.password = props.getProperty("db.password");
-        } catch (IOException e) {
+        if (AppConfig.isLoaded()) {
+            this.url = AppConfig.get("db.url", null);
+            this.username = AppConfig.get("db.username", null);
+            this.password = AppConfig.get("db.password", null);
+        } else {
             // Use default configuration if file not found
-            System.out.println("Config file not found, using default configuration...");
-            this.url = "jdbc:mysql://localhost:3306/flight_reservation_db";
+            this.url = "jdbc:mysql://localhost:3306/flight_reservation_db?rewriteBatchedStatements=true";
             this.username = "root";
             this.password = "password";
         }
@@ -65,26 +70,41 @@ public class DatabaseConnection {
         return instance;
     }
 
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(url, username, password);
-                connection.setAutoCommit(true); // Ensure changes are immediately committed
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    /**
+     * Borrows a connection from the pool. Closing it returns it to the pool.
+     *
+     * @return Pooled connection
+     * @throws SQLException if no connection becomes available in time
+     */
+    public Connection getConnection() throws SQLException {
+        if (pool == null) {
+            throw new SQLException("Database connection pool is not initialized.");
         }
-        return connection;
+        return pool.borrow();
+    }
+
+    /**
+     * Checks whether the initial connection to the database succeeded.
+     *
+     * @return true if the pool was created and warmed up
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Returns current pool metrics (active, idle, wait times).
+     *
+     * @return Pool metrics snapshot, or null if the pool was never created
+     */
+    public PoolStats getPoolStats() {
+        return pool != null ? pool.getStats() : null;
     }
 
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Database connection closed.");
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+        if (pool != null) {
+            pool.shutdown();
+            System.out.println("Database connection pool closed.");
         }
     }
 }
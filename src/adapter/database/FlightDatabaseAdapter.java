@@ -4,18 +4,27 @@ package adapter.database;
 import adapter.database.DatabaseConnection;
 import adapter.interfaces.FlightDataAdapter;
 import model.entity.Flight;
+import model.entity.FlightUpdate;
 import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+import util.jfr.ReservationEvent;
+import util.jfr.SeatReservationEvent;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class FlightDatabaseAdapter implements FlightDataAdapter {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public FlightDatabaseAdapter() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     @Override
@@ -24,7 +33,8 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
                 "arrival_time, price, total_seats, available_seats, status, aircraft_type) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, flight.getFlightNumber());
             stmt.setString(2, flight.getAirline());
             stmt.setString(3, flight.getOrigin());
@@ -39,9 +49,10 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
 
             stmt.executeUpdate();
 
-            ResultSet rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                flight.setFlightId(rs.getInt(1));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    flight.setFlightId(rs.getInt(1));
+                }
             }
         }
         return flight;
@@ -51,12 +62,13 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
     public Flight findById(int flightId) throws SQLException {
         String sql = "SELECT * FROM flights WHERE flight_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, flightId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractFlightFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractFlightFromResultSet(rs);
+                }
             }
         }
         return null;
@@ -66,12 +78,13 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
     public Flight findByFlightNumber(String flightNumber) throws SQLException {
         String sql = "SELECT * FROM flights WHERE flight_number = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, flightNumber);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractFlightFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractFlightFromResultSet(rs);
+                }
             }
         }
         return null;
@@ -82,7 +95,8 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
         List<Flight> flights = new ArrayList<>();
         String sql = "SELECT * FROM flights ORDER BY departure_time";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -92,56 +106,183 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
         return flights;
     }
 
+    @Override
+    public List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException {
+        return queryPage("SELECT * FROM flights WHERE flight_id > ? ORDER BY flight_id LIMIT ?", lastFlightId, limit);
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        return PageBoundaries.find(database, "flights", "flight_id", pageSize);
+    }
+
+    @Override
+    public List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit)
+            throws SQLException {
+        if (lastDepartureTime == null) {
+            return queryPage("SELECT * FROM flights ORDER BY departure_time, flight_id LIMIT ?", limit);
+        }
+
+        // Expanded row comparison so MySQL can range-scan idx_flights_departure
+        String sql = "SELECT * FROM flights WHERE departure_time > ? OR (departure_time = ? AND flight_id > ?) " +
+                "ORDER BY departure_time, flight_id LIMIT ?";
+        Timestamp last = Timestamp.valueOf(lastDepartureTime);
+        return queryPage(sql, last, last, lastFlightId, limit);
+    }
+
+    private List<Flight> queryPage(String sql, Object... params) throws SQLException {
+        List<Flight> flights = new ArrayList<>();
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(extractFlightFromResultSet(rs));
+                }
+            }
+        }
+        return flights;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Flight> action) throws SQLException {
+        StreamingQuery.forEach(database, "SELECT * FROM flights ORDER BY flight_id",
+                FlightDatabaseAdapter::extractFlightFromResultSet, action);
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return PageBoundaries.count(database, "flights");
+    }
+
     @Override
     public List<Flight> search(String origin, String destination, LocalDate date, String airline) throws SQLException {
         List<Flight> flights = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT * FROM flights WHERE 1=1");
+        SearchQuery query = buildSearchQuery(origin, destination, date, airline);
 
-        if (origin != null && !origin.isEmpty()) {
-            sql.append(" AND origin LIKE ?");
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(query.sql.toString())) {
+            query.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(extractFlightFromResultSet(rs));
+                }
+            }
         }
-        if (destination != null && !destination.isEmpty()) {
-            sql.append(" AND destination LIKE ?");
+        return flights;
+    }
+
+    /**
+     * Runs EXPLAIN for the exact statement search() would execute and returns
+     * one column-to-value map per plan row. Used to verify that searches are
+     * served by the flight search indexes rather than a full table scan.
+     */
+    public List<Map<String, String>> explainSearch(String origin, String destination, LocalDate date,
+                                                   String airline) throws SQLException {
+        List<Map<String, String>> plan = new ArrayList<>();
+        SearchQuery query = buildSearchQuery(origin, destination, date, airline);
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("EXPLAIN " + query.sql)) {
+            query.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    Map<String, String> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        row.put(meta.getColumnLabel(i), rs.getString(i));
+                    }
+                    plan.add(row);
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Builds a sargable search statement. The date becomes a half-open range on
+     * departure_time and text filters become prefix matches on normalized keys,
+     * so (status, origin, destination, departure_time) and
+     * (airline, departure_time) can be used instead of scanning the table.
+     */
+    private SearchQuery buildSearchQuery(String origin, String destination, LocalDate date, String airline) {
+        SearchQuery query = new SearchQuery("SELECT * FROM flights WHERE status = ?");
+        query.params.add(FlightStatus.SCHEDULED.name());
+
+        String originKey = normalizeSearchKey(origin);
+        String destinationKey = normalizeSearchKey(destination);
+        String airlineKey = normalizeSearchKey(airline);
+
+        if (originKey != null) {
+            query.append(" AND origin LIKE ?", escapeLike(originKey) + "%");
+        }
+        if (destinationKey != null) {
+            query.append(" AND destination LIKE ?", escapeLike(destinationKey) + "%");
         }
         if (date != null) {
-            sql.append(" AND DATE(departure_time) = ?");
+            query.append(" AND departure_time >= ?", Timestamp.valueOf(date.atStartOfDay()));
+            query.append(" AND departure_time < ?", Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+        }
+        if (airlineKey != null) {
+            query.append(" AND airline LIKE ?", escapeLike(airlineKey) + "%");
         }
-        if (airline != null && !airline.isEmpty()) {
-            sql.append(" AND airline LIKE ?");
+        query.sql.append(" ORDER BY departure_time");
+        return query;
+    }
+
+    /**
+     * Trims and collapses whitespace; column collation handles letter case.
+     *
+     * @return Normalized key, or null if nothing is left to match on
+     */
+    private static String normalizeSearchKey(String value) {
+        if (value == null) {
+            return null;
         }
-        sql.append(" AND status = 'SCHEDULED' ORDER BY departure_time");
+        String key = value.trim().replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
-            int paramIndex = 1;
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
-            if (origin != null && !origin.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + origin + "%");
-            }
-            if (destination != null && !destination.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + destination + "%");
-            }
-            if (date != null) {
-                stmt.setDate(paramIndex++, Date.valueOf(date));
-            }
-            if (airline != null && !airline.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + airline + "%");
-            }
+    /**
+     * SQL text plus its bind values, shared by search() and explainSearch().
+     */
+    private static class SearchQuery {
+        private final StringBuilder sql;
+        private final List<Object> params = new ArrayList<>();
 
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                flights.add(extractFlightFromResultSet(rs));
+        private SearchQuery(String base) {
+            this.sql = new StringBuilder(base);
+        }
+
+        private void append(String clause, Object param) {
+            sql.append(clause);
+            params.add(param);
+        }
+
+        private void bind(PreparedStatement stmt) throws SQLException {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
             }
         }
-        return flights;
     }
 
     @Override
-    public boolean update(Flight flight) throws SQLException {
+    public UpdateResult update(Flight flight) throws SQLException {
         String sql = "UPDATE flights SET flight_number = ?, airline = ?, origin = ?, destination = ?, " +
                 "departure_time = ?, arrival_time = ?, price = ?, total_seats = ?, available_seats = ?, " +
-                "status = ?, aircraft_type = ? WHERE flight_id = ?";
+                "status = ?, aircraft_type = ?, version = version + 1 WHERE flight_id = ? AND version = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, flight.getFlightNumber());
             stmt.setString(2, flight.getAirline());
             stmt.setString(3, flight.getOrigin());
@@ -154,8 +295,89 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
             stmt.setString(10, flight.getStatus().name());
             stmt.setString(11, flight.getAircraftType());
             stmt.setInt(12, flight.getFlightId());
+            stmt.setInt(13, flight.getVersion());
 
-            return stmt.executeUpdate() > 0;
+            if (stmt.executeUpdate() > 0) {
+                flight.setVersion(flight.getVersion() + 1);
+                return UpdateResult.UPDATED;
+            }
+            return explainMissedUpdate(connection, flight.getFlightId());
+        }
+    }
+
+    /**
+     * Builds the SET list from the fields that were changed. MySQL assigns
+     * left to right, so available_seats is moved before total_seats takes its
+     * new value.
+     */
+    @Override
+    public UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException {
+        StringBuilder sql = new StringBuilder("UPDATE flights SET ");
+        List<Object> params = new ArrayList<>();
+        if (changes.getFlightNumber() != null) {
+            sql.append("flight_number = ?, ");
+            params.add(changes.getFlightNumber());
+        }
+        if (changes.getAirline() != null) {
+            sql.append("airline = ?, ");
+            params.add(changes.getAirline());
+        }
+        if (changes.getOrigin() != null) {
+            sql.append("origin = ?, ");
+            params.add(changes.getOrigin());
+        }
+        if (changes.getDestination() != null) {
+            sql.append("destination = ?, ");
+            params.add(changes.getDestination());
+        }
+        if (changes.getDepartureTime() != null) {
+            sql.append("departure_time = ?, ");
+            params.add(Timestamp.valueOf(changes.getDepartureTime()));
+        }
+        if (changes.getArrivalTime() != null) {
+            sql.append("arrival_time = ?, ");
+            params.add(Timestamp.valueOf(changes.getArrivalTime()));
+        }
+        if (changes.getPrice() != null) {
+            sql.append("price = ?, ");
+            params.add(changes.getPrice());
+        }
+        if (changes.getTotalSeats() != null) {
+            sql.append("available_seats = GREATEST(0, available_seats + ? - total_seats), total_seats = ?, ");
+            params.add(changes.getTotalSeats());
+            params.add(changes.getTotalSeats());
+        }
+        if (changes.getStatus() != null) {
+            sql.append("status = ?, ");
+            params.add(changes.getStatus().name());
+        }
+        if (changes.getAircraftType() != null) {
+            sql.append("aircraft_type = ?, ");
+            params.add(changes.getAircraftType());
+        }
+        sql.append("version = version + 1 WHERE flight_id = ? AND version = ?");
+        params.add(flightId);
+        params.add(expectedVersion);
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            if (stmt.executeUpdate() > 0) {
+                return UpdateResult.UPDATED;
+            }
+            return explainMissedUpdate(connection, flightId);
+        }
+    }
+
+    // A version-checked UPDATE matched no row: either the flight is gone or its version moved on
+    private static UpdateResult explainMissedUpdate(Connection connection, int flightId) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT 1 FROM flights WHERE flight_id = ?")) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+            }
         }
     }
 
@@ -163,7 +385,8 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
     public boolean delete(int flightId) throws SQLException {
         String sql = "DELETE FROM flights WHERE flight_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, flightId);
             return stmt.executeUpdate() > 0;
         }
@@ -171,9 +394,10 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
 
     @Override
     public boolean updateAvailableSeats(int flightId, int seats) throws SQLException {
-        String sql = "UPDATE flights SET available_seats = ? WHERE flight_id = ?";
+        String sql = "UPDATE flights SET available_seats = ?, version = version + 1 WHERE flight_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, seats);
             stmt.setInt(2, flightId);
             return stmt.executeUpdate() > 0;
@@ -182,16 +406,98 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
 
     @Override
     public boolean updateStatus(int flightId, FlightStatus status) throws SQLException {
-        String sql = "UPDATE flights SET status = ? WHERE flight_id = ?";
+        String sql = "UPDATE flights SET status = ?, version = version + 1 WHERE flight_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, status.name());
             stmt.setInt(2, flightId);
             return stmt.executeUpdate() > 0;
         }
     }
 
-    private Flight extractFlightFromResultSet(ResultSet rs) throws SQLException {
+    @Override
+    public SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            return reserveSeats(connection, flightId, numSeats);
+        }
+    }
+
+    /**
+     * Decrements available seats with a single conditional UPDATE on the caller's
+     * connection, so it can also run inside a larger transaction.
+     * The status CASE is evaluated before available_seats is assigned, marking
+     * the flight COMPLETED when the last seats are taken.
+     */
+    static SeatReservationResult reserveSeats(Connection connection, int flightId, int numSeats)
+            throws SQLException {
+        SeatReservationEvent event = new SeatReservationEvent(flightId, numSeats);
+        event.begin();
+        event.setOutcome(ReservationEvent.ERROR);
+        try {
+            SeatReservationResult result = tryReserveSeats(connection, flightId, numSeats);
+            event.setOutcome(result.name());
+            return result;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static SeatReservationResult tryReserveSeats(Connection connection, int flightId, int numSeats)
+            throws SQLException {
+        String sql = "UPDATE flights SET status = CASE WHEN available_seats = ? THEN 'COMPLETED' ELSE status END, " +
+                "available_seats = available_seats - ?, version = version + 1 " +
+                "WHERE flight_id = ? AND status = 'SCHEDULED' AND available_seats >= ?";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, numSeats);
+            stmt.setInt(2, numSeats);
+            stmt.setInt(3, flightId);
+            stmt.setInt(4, numSeats);
+
+            if (stmt.executeUpdate() > 0) {
+                return SeatReservationResult.RESERVED;
+            }
+        }
+
+        // Nothing was updated, find out why
+        String checkSql = "SELECT status FROM flights WHERE flight_id = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(checkSql)) {
+            stmt.setInt(1, flightId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return SeatReservationResult.FLIGHT_NOT_FOUND;
+                }
+                if (FlightStatus.valueOf(rs.getString("status")) != FlightStatus.SCHEDULED) {
+                    return SeatReservationResult.FLIGHT_CLOSED;
+                }
+                return SeatReservationResult.INSUFFICIENT_SEATS;
+            }
+        }
+    }
+
+    /**
+     * Returns seats, reopening a flight that was COMPLETED by selling its last
+     * seats. As in tryReserveSeats the status CASE reads available_seats
+     * before it is assigned.
+     */
+    @Override
+    public boolean releaseSeats(int flightId, int numSeats) throws SQLException {
+        String sql = "UPDATE flights SET status = CASE WHEN status = 'COMPLETED' " +
+                "AND LEAST(total_seats, available_seats + ?) > 0 THEN 'SCHEDULED' ELSE status END, " +
+                "available_seats = LEAST(total_seats, available_seats + ?), " +
+                "version = version + 1 WHERE flight_id = ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, numSeats);
+            stmt.setInt(2, numSeats);
+            stmt.setInt(3, flightId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    static Flight extractFlightFromResultSet(ResultSet rs) throws SQLException {
         Flight flight = new Flight();
         flight.setFlightId(rs.getInt("flight_id"));
         flight.setFlightNumber(rs.getString("flight_number"));
@@ -205,6 +511,7 @@ public class FlightDatabaseAdapter implements FlightDataAdapter {
         flight.setAvailableSeats(rs.getInt("available_seats"));
         flight.setStatus(FlightStatus.valueOf(rs.getString("status")));
         flight.setAircraftType(rs.getString("aircraft_type"));
+        flight.setVersion(rs.getInt("version"));
         return flight;
     }
 }
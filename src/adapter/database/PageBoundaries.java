@@ -0,0 +1,52 @@
+package adapter.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared keyset paging queries for tables with an integer primary key.
+ * Table and column names are fixed by the calling adapter, never user input.
+ */
+final class PageBoundaries {
+
+    private PageBoundaries() {
+    }
+
+    /**
+     * Returns the key that ends every full page of pageSize rows in key order.
+     * ROW_NUMBER() has to number every row, so each call scans the whole
+     * table: O(n) in its row count, once per grid refresh. The scan reads
+     * only the key column, which InnoDB can serve from the smallest index
+     * rather than the full rows, but it never stops early.
+     */
+    static List<Integer> find(DatabaseConnection database, String table, String keyColumn, int pageSize)
+            throws SQLException {
+        List<Integer> boundaries = new ArrayList<>();
+        String sql = "SELECT " + keyColumn + " FROM (SELECT " + keyColumn + ", ROW_NUMBER() OVER (ORDER BY "
+                + keyColumn + ") AS rn FROM " + table + ") numbered WHERE rn % ? = 0 ORDER BY " + keyColumn;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, pageSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    boundaries.add(rs.getInt(1));
+                }
+            }
+        }
+        return boundaries;
+    }
+
+    static int count(DatabaseConnection database, String table) throws SQLException {
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -9,12 +9,13 @@ import model.enums.PaymentStatus;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class PaymentDatabaseAdapter implements PaymentDataAdapter {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public PaymentDatabaseAdapter() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     @Override
@@ -22,7 +23,8 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
         String sql = "INSERT INTO payments (booking_id, amount, payment_method, status, transaction_id) " +
                 "VALUES (?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, payment.getBookingId());
             stmt.setDouble(2, payment.getAmount());
             stmt.setString(3, payment.getPaymentMethod());
@@ -31,9 +33,10 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
 
             stmt.executeUpdate();
 
-            ResultSet rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                payment.setPaymentId(rs.getInt(1));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    payment.setPaymentId(rs.getInt(1));
+                }
             }
         }
         return payment;
@@ -43,12 +46,13 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
     public Payment findById(int paymentId) throws SQLException {
         String sql = "SELECT * FROM payments WHERE payment_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, paymentId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractPaymentFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractPaymentFromResultSet(rs);
+                }
             }
         }
         return null;
@@ -58,12 +62,13 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
     public Payment findByBookingId(int bookingId) throws SQLException {
         String sql = "SELECT * FROM payments WHERE booking_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, bookingId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractPaymentFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractPaymentFromResultSet(rs);
+                }
             }
         }
         return null;
@@ -74,7 +79,8 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
         List<Payment> payments = new ArrayList<>();
         String sql = "SELECT * FROM payments ORDER BY payment_date DESC";
 
-        try (Statement stmt = connection.createStatement();
+        try (Connection connection = database.getConnection();
+             Statement stmt = connection.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
             while (rs.next()) {
@@ -84,13 +90,52 @@ public class PaymentDatabaseAdapter implements PaymentDataAdapter {
         return payments;
     }
 
+    @Override
+    public List<Payment> findAllAfter(int lastPaymentId, int limit) throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        String sql = "SELECT * FROM payments WHERE payment_id > ? ORDER BY payment_id LIMIT ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, lastPaymentId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payments.add(extractPaymentFromResultSet(rs));
+                }
+            }
+        }
+        return payments;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Payment> action) throws SQLException {
+        StreamingQuery.forEach(database, "SELECT * FROM payments ORDER BY payment_id",
+                this::extractPaymentFromResultSet, action);
+    }
+
     @Override
     public boolean updateStatus(int paymentId, PaymentStatus status) throws SQLException {
         String sql = "UPDATE payments SET status = ? WHERE payment_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, status.name());
+            stmt.setInt(2, paymentId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public boolean transitionStatus(int paymentId, PaymentStatus expected, PaymentStatus status)
+            throws SQLException {
+        String sql = "UPDATE payments SET status = ? WHERE payment_id = ? AND status = ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, status.name());
             stmt.setInt(2, paymentId);
+            stmt.setString(3, expected.name());
             return stmt.executeUpdate() > 0;
         }
     }
@@ -0,0 +1,79 @@
+package adapter.database;
+
+/**
+ * Immutable snapshot of connection pool metrics.
+ */
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long evictionCount;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+    private final int waitingThreads;
+
+    public PoolStats(int active, int idle, int total, int maxSize, long borrowCount, long timeoutCount,
+                     long evictionCount, double averageWaitMillis, double maxWaitMillis, int waitingThreads) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.evictionCount = evictionCount;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.waitingThreads = waitingThreads;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool{active=%d, idle=%d, total=%d/%d, borrows=%d, timeouts=%d, evictions=%d, " +
+                        "avgWait=%.2fms, maxWait=%.2fms, waiting=%d}",
+                active, idle, total, maxSize, borrowCount, timeoutCount, evictionCount,
+                averageWaitMillis, maxWaitMillis, waitingThreads);
+    }
+}
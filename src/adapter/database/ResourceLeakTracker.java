@@ -0,0 +1,340 @@
+package adapter.database;
+
+import util.AppConfig;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Leak detection for pooled JDBC resources (db.leakDetection.enabled=true).
+ * Implements Singleton pattern so every connection reports to one tracker.
+ *
+ * Each connection lease, statement and result set is registered together
+ * with the stack trace of the code that opened it. A background check logs
+ * every resource still open after the threshold, once, with that stack, and
+ * shutdown logs whatever was never closed. Open result sets are counted as
+ * open cursors, the figure that creeps towards the server's cursor limit
+ * when a query's ResultSet is left for the garbage collector.
+ *
+ * With detection off nothing is registered: no stacks are captured and
+ * result sets are handed out unwrapped.
+ */
+public class ResourceLeakTracker {
+    private static volatile ResourceLeakTracker instance;
+
+    /**
+     * Kinds of tracked resource.
+     */
+    public enum Kind {
+        CONNECTION("connection"),
+        STATEMENT("statement"),
+        RESULT_SET("result set");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    private final boolean enabled;
+    private final long thresholdMillis;
+    private final int stackDepth;
+
+    private final Set<Resource> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger[] openCounts = new AtomicInteger[Kind.values().length];
+    private final LongAdder leakCount = new LongAdder();
+    private ScheduledExecutorService checker;
+
+    /**
+     * One open resource and where it was opened.
+     */
+    static final class Resource {
+        private final Kind kind;
+        private final String sql;
+        private final String thread;
+        private final long openedAt;
+        private final Throwable allocation;
+        private volatile boolean reported;
+
+        private Resource(Kind kind, String sql) {
+            this.kind = kind;
+            this.sql = sql;
+            this.thread = Thread.currentThread().getName();
+            this.openedAt = System.currentTimeMillis();
+            this.allocation = new Throwable();
+        }
+    }
+
+    private ResourceLeakTracker() {
+        this.enabled = AppConfig.getBoolean("db.leakDetection.enabled", false);
+        this.thresholdMillis = AppConfig.getLong("db.leakDetection.thresholdMillis", 60000);
+        this.stackDepth = AppConfig.getInt("db.leakDetection.stackDepth", 12);
+        for (int i = 0; i < openCounts.length; i++) {
+            openCounts[i] = new AtomicInteger();
+        }
+
+        long interval = AppConfig.getLong("db.leakDetection.checkIntervalMillis", 10000);
+        if (enabled && interval > 0) {
+            checker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "jdbc-leak-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checker.scheduleWithFixedDelay(this::checkForLeaks, interval, interval, TimeUnit.MILLISECONDS);
+            System.out.println("⚠ JDBC leak detection is on: resources open longer than " + thresholdMillis
+                    + " ms are logged with the stack that opened them");
+        }
+    }
+
+    /**
+     * Get the singleton instance of ResourceLeakTracker.
+     */
+    public static ResourceLeakTracker getInstance() {
+        if (instance == null) {
+            synchronized (ResourceLeakTracker.class) {
+                if (instance == null) {
+                    instance = new ResourceLeakTracker();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ===== Registration =====
+
+    /**
+     * Registers a resource as open, capturing the caller's stack.
+     *
+     * @param sql Statement text, if any, to show next to the stack
+     * @return Handle to pass to close, or null when detection is off
+     */
+    Resource opened(Kind kind, String sql) {
+        if (!enabled) {
+            return null;
+        }
+        Resource resource = new Resource(kind, sql);
+        open.add(resource);
+        openCounts[kind.ordinal()].incrementAndGet();
+        return resource;
+    }
+
+    /**
+     * Registers a resource as closed. Closing it twice, or a null handle, does
+     * nothing.
+     */
+    void closed(Resource resource) {
+        if (resource == null || !open.remove(resource)) {
+            return;
+        }
+        openCounts[resource.kind.ordinal()].decrementAndGet();
+        if (resource.reported) {
+            System.out.println("✓ " + capitalize(resource.kind.label) + " reported as a possible leak was closed after "
+                    + (System.currentTimeMillis() - resource.openedAt) + " ms");
+        }
+    }
+
+    /**
+     * Logs a resource that its owner had to close because the code that
+     * opened it never did, and registers it as closed.
+     */
+    void closedByOwner(Resource resource, String owner) {
+        if (resource == null || !open.contains(resource)) {
+            return;
+        }
+        if (!resource.reported) {
+            leakCount.increment();
+        }
+        resource.reported = false; // Logged here rather than as a late close
+        System.err.println("⚠ Unclosed " + resource.kind.label + " closed by " + owner + describe(resource));
+        closed(resource);
+    }
+
+    /**
+     * Wraps a result set so that closing it is registered. Returns the result
+     * set itself when detection is off.
+     *
+     * @param statement Statement proxy the result set belongs to
+     */
+    ResultSet track(ResultSet resultSet, Statement statement, String sql, List<Resource> owned) {
+        if (!enabled || resultSet == null) {
+            return resultSet;
+        }
+        Resource resource = opened(Kind.RESULT_SET, sql);
+        owned.add(resource);
+        return (ResultSet) Proxy.newProxyInstance(ResourceLeakTracker.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, new TrackedResultSet(resultSet, statement, resource));
+    }
+
+    // ===== Reporting =====
+
+    public int getOpenConnections() {
+        return openCounts[Kind.CONNECTION.ordinal()].get();
+    }
+
+    public int getOpenStatements() {
+        return openCounts[Kind.STATEMENT.ordinal()].get();
+    }
+
+    /**
+     * Result sets not yet closed, each holding a cursor on the server until it is.
+     */
+    public int getOpenCursors() {
+        return openCounts[Kind.RESULT_SET.ordinal()].get();
+    }
+
+    /**
+     * Resources reported as leaked since startup.
+     */
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    /**
+     * Logs every resource that has been open longer than the threshold and
+     * has not been reported yet.
+     */
+    public void checkForLeaks() {
+        long cutoff = System.currentTimeMillis() - thresholdMillis;
+        for (Resource resource : oldestFirst()) {
+            if (resource.openedAt > cutoff) {
+                break;
+            }
+            if (!resource.reported) {
+                resource.reported = true;
+                leakCount.increment();
+                System.err.println("⚠ Possible " + resource.kind.label + " leak, open for "
+                        + (System.currentTimeMillis() - resource.openedAt) + " ms" + describe(resource)
+                        + "\n   " + openSummary());
+            }
+        }
+    }
+
+    private List<Resource> oldestFirst() {
+        List<Resource> resources = new ArrayList<>(open);
+        resources.sort(Comparator.comparingLong(resource -> resource.openedAt));
+        return resources;
+    }
+
+    private String openSummary() {
+        return "Open now: " + getOpenConnections() + " connections, " + getOpenStatements() + " statements, "
+                + getOpenCursors() + " cursors";
+    }
+
+    private String describe(Resource resource) {
+        StringBuilder text = new StringBuilder(" (opened on ").append(resource.thread).append(')');
+        if (resource.sql != null) {
+            text.append("\n   SQL: ").append(resource.sql.strip().replaceAll("\\s+", " "));
+        }
+        int shown = 0;
+        for (StackTraceElement frame : resource.allocation.getStackTrace()) {
+            if (isPlumbing(frame)) {
+                continue;
+            }
+            if (shown++ == stackDepth) {
+                text.append("\n      ...");
+                break;
+            }
+            text.append("\n      at ").append(frame);
+        }
+        return text.toString();
+    }
+
+    // Pool, proxy and reflection frames are the same for every resource
+    private static boolean isPlumbing(StackTraceElement frame) {
+        String type = frame.getClassName();
+        return type.startsWith(ResourceLeakTracker.class.getName())
+                || type.startsWith(ConnectionPool.class.getName())
+                || type.startsWith(StatementInterceptor.class.getName())
+                || type.equals(DatabaseConnection.class.getName())
+                || type.startsWith("jdk.proxy")
+                || type.startsWith("com.sun.proxy")
+                || type.startsWith("java.lang.reflect.")
+                || type.startsWith("jdk.internal.reflect.");
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * Stops the periodic check and logs every resource that is still open.
+     */
+    public synchronized void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+        if (!enabled) {
+            return;
+        }
+        List<Resource> remaining = oldestFirst();
+        if (remaining.isEmpty()) {
+            System.out.println("✓ No JDBC resources left open (" + getLeakCount() + " leaks reported since startup)");
+            return;
+        }
+        System.err.println("✗ " + remaining.size() + " JDBC resources were never closed. " + openSummary());
+        for (Resource resource : remaining) {
+            System.err.println("   Unclosed " + resource.kind.label + ", open for "
+                    + (System.currentTimeMillis() - resource.openedAt) + " ms" + describe(resource));
+        }
+    }
+
+    /**
+     * Proxy handler for a tracked result set; registers close() and hands back
+     * the statement proxy rather than the driver's statement.
+     */
+    private final class TrackedResultSet implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statement;
+        private final Resource resource;
+
+        private TrackedResultSet(ResultSet target, Statement statement, Resource resource) {
+            this.target = target;
+            this.statement = statement;
+            this.resource = resource;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    closed(resource);
+                    break;
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TrackedResultSet[" + target + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package adapter.database;
+
+import util.AppConfig;
+import util.LatencyHistogram;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every statement executed on a pooled connection, aggregated by
+ * normalized SQL text, and logs the ones slower than the configured
+ * threshold together with their bind values. Values bound to masked columns
+ * (passwords by default) are never logged.
+ * Implements Singleton pattern so all connections report to one log.
+ *
+ * For slow SELECTs the log can also capture the EXPLAIN plan. The plan is
+ * taken on a background thread with its own connection, at most once per
+ * statement shape per interval, so a burst of slow queries never piles
+ * extra load on the database.
+ */
+public class SlowQueryLog {
+    private static final int MAX_CACHED_STATEMENTS = 10_000;
+    private static final int MAX_LOGGED_VALUE_LENGTH = 100;
+    private static volatile SlowQueryLog instance;
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final boolean explain;
+    private final long explainIntervalMillis;
+    private final Set<String> maskedColumns = new HashSet<>();
+
+    // Per distinct SQL string: its shape and masked parameters, computed once
+    private final Map<String, StatementInfo> infoBySql = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> statsByShape = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+    private ScheduledExecutorService reporter;
+
+    private static class StatementInfo {
+        private final StatementStats stats;
+        private final BitSet masked;
+        private final boolean select;
+
+        private StatementInfo(StatementStats stats, BitSet masked, boolean select) {
+            this.stats = stats;
+            this.masked = masked;
+            this.select = select;
+        }
+    }
+
+    /**
+     * Execution statistics of one statement shape.
+     */
+    public static class StatementStats {
+        private final String normalizedSql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong lastExplainAt = new AtomicLong();
+
+        private StatementStats(String normalizedSql) {
+            this.normalizedSql = normalizedSql;
+        }
+
+        public String getNormalizedSql() {
+            return normalizedSql;
+        }
+
+        public long getExecutions() {
+            return latency.getCount();
+        }
+
+        public long getSlowExecutions() {
+            return slow.sum();
+        }
+
+        public double getMeanMillis() {
+            return latency.getMean() / 1_000_000.0;
+        }
+
+        public double getP99Millis() {
+            return latency.getPercentile(99) / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return latency.getMax() / 1_000_000.0;
+        }
+
+        public double getTotalMillis() {
+            return getMeanMillis() * getExecutions();
+        }
+    }
+
+    private SlowQueryLog() {
+        this.enabled = AppConfig.getBoolean("db.slowQuery.enabled", true);
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(AppConfig.getLong("db.slowQuery.thresholdMillis", 200));
+        this.explain = AppConfig.getBoolean("db.slowQuery.explain", true);
+        this.explainIntervalMillis = AppConfig.getLong("db.slowQuery.explainIntervalMillis", 60000);
+        for (String column : AppConfig.get("db.slowQuery.maskedColumns", "password").split(",")) {
+            if (!column.isBlank()) {
+                maskedColumns.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        // One daemon thread; plans that cannot be queued are skipped
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+            Thread thread = new Thread(r, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+        long interval = AppConfig.getLong("db.slowQuery.reportIntervalMillis", 300000);
+        if (enabled && interval > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "slow-query-report");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleWithFixedDelay(this::logReport, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the singleton instance of SlowQueryLog.
+     */
+    public static SlowQueryLog getInstance() {
+        if (instance == null) {
+            synchronized (SlowQueryLog.class) {
+                if (instance == null) {
+                    instance = new SlowQueryLog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one execution. Bind values are only read when the execution was
+     * slow, before this method returns.
+     *
+     * @param binds     Bind values by parameter index (0-based), or null for a plain statement
+     * @param bindCount Number of parameters set
+     * @param batchSize Statements in the executed batch, 0 if not a batch
+     */
+    void record(String sql, String operation, long elapsedNanos, Object[] binds, int bindCount, int batchSize) {
+        StatementInfo info = infoFor(sql);
+        info.stats.latency.record(elapsedNanos);
+        if (thresholdNanos < 0 || elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        info.stats.slow.increment();
+        StringBuilder line = new StringBuilder();
+        line.append(String.format("⚠ Slow query (%.1f ms, %s", elapsedNanos / 1_000_000.0, operation));
+        if (batchSize > 0) {
+            line.append(", batch of ").append(batchSize);
+        }
+        line.append("): ").append(sql.strip().replaceAll("\\s+", " "));
+        if (bindCount > 0) {
+            line.append("  binds=").append(formatBinds(binds, bindCount, info.masked));
+        }
+        System.err.println(line);
+
+        if (explain && info.select) {
+            long now = System.currentTimeMillis();
+            long last = info.stats.lastExplainAt.get();
+            if (now - last >= explainIntervalMillis && info.stats.lastExplainAt.compareAndSet(last, now)) {
+                Object[] values = binds != null ? Arrays.copyOf(binds, bindCount) : new Object[0];
+                explainer.execute(() -> logExplain(sql, values));
+            }
+        }
+    }
+
+    private StatementInfo infoFor(String sql) {
+        StatementInfo info = infoBySql.get(sql);
+        if (info != null) {
+            return info;
+        }
+        String shape = SqlText.normalize(sql);
+        info = new StatementInfo(statsByShape.computeIfAbsent(shape, StatementStats::new),
+                SqlText.maskedParameters(sql, maskedColumns), SqlText.isSelect(sql));
+        if (infoBySql.size() < MAX_CACHED_STATEMENTS) {
+            infoBySql.put(sql, info);
+        }
+        return info;
+    }
+
+    private static String formatBinds(Object[] binds, int count, BitSet masked) {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            Object value = binds[i];
+            if (masked.get(i)) {
+                out.append("****");
+            } else if (value == null) {
+                out.append("NULL");
+            } else if (value instanceof CharSequence || value instanceof java.util.Date) {
+                String text = value.toString();
+                if (text.length() > MAX_LOGGED_VALUE_LENGTH) {
+                    text = text.substring(0, MAX_LOGGED_VALUE_LENGTH) + "...";
+                }
+                out.append('\'').append(text).append('\'');
+            } else if (value instanceof Number || value instanceof Boolean) {
+                out.append(value);
+            } else {
+                out.append('<').append(value.getClass().getSimpleName()).append('>');
+            }
+        }
+        return out.append(']').toString();
+    }
+
+    private void logExplain(String sql, Object[] binds) {
+        StringBuilder plan = new StringBuilder("   EXPLAIN ").append(SqlText.normalize(sql));
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < binds.length; i++) {
+                if (binds[i] == null) {
+                    stmt.setNull(i + 1, Types.NULL);
+                } else {
+                    stmt.setObject(i + 1, binds[i]);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    plan.append("\n     ");
+                    for (int c = 1; c <= meta.getColumnCount(); c++) {
+                        Object value = rs.getObject(c);
+                        if (value != null) {
+                            plan.append(meta.getColumnLabel(c)).append('=').append(value).append(' ');
+                        }
+                    }
+                }
+            }
+            System.err.println(plan);
+        } catch (SQLException e) {
+            System.err.println("✗ Could not EXPLAIN slow query: " + e.getMessage());
+        }
+    }
+
+    // ===== Aggregates =====
+
+    /**
+     * Statement shapes with the most total execution time first.
+     */
+    public List<StatementStats> getTopStatements(int limit) {
+        List<StatementStats> all = new ArrayList<>(statsByShape.values());
+        all.sort(Comparator.comparingDouble(StatementStats::getTotalMillis).reversed());
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    public String getReport(int limit) {
+        StringBuilder report = new StringBuilder("🐢 Top statements by total time\n");
+        report.append(String.format("   %10s %7s %9s %9s %9s  %s%n", "executions", "slow", "mean ms", "p99 ms",
+                "max ms", "statement"));
+        for (StatementStats stats : getTopStatements(limit)) {
+            String sql = stats.getNormalizedSql();
+            report.append(String.format("   %,10d %7d %9.2f %9.2f %9.2f  %s%n", stats.getExecutions(),
+                    stats.getSlowExecutions(), stats.getMeanMillis(), stats.getP99Millis(), stats.getMaxMillis(),
+                    sql.length() > 120 ? sql.substring(0, 120) + "..." : sql));
+        }
+        return report.toString();
+    }
+
+    public void logReport() {
+        if (!statsByShape.isEmpty()) {
+            System.out.print(getReport(10));
+        }
+    }
+
+    /**
+     * Stops the periodic report and the EXPLAIN thread, logging a final report.
+     */
+    public synchronized void shutdown() {
+        explainer.shutdownNow();
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+            logReport();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package adapter.database;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SQL text helpers for the slow-query log: normalization for aggregation and
+ * detection of bind parameters that must be masked when logged.
+ */
+final class SqlText {
+    private static final Pattern IN_LIST = Pattern.compile("\\bIN \\(\\?(?:, \\?)+\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern VALUES_ROWS = Pattern.compile("(\\(\\?(?:, \\?)*\\))(?:, \\1)+");
+    private static final Pattern INSERT_COLUMNS = Pattern.compile(
+            "^\\s*INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    private SqlText() {
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become ?, whitespace is
+     * collapsed and IN lists or multi-row VALUES of any length look the same.
+     */
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i);
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierChar(out)) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0 && i < n) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        String shape = out.toString().replaceAll("\\s*,\\s*", ", ").replaceAll("\\(\\s+", "(")
+                .replaceAll("\\s+\\)", ")");
+        shape = VALUES_ROWS.matcher(shape).replaceAll("$1, ...");
+        return IN_LIST.matcher(shape).replaceAll("IN (?, ...)");
+    }
+
+    /**
+     * Returns the (0-based) bind parameters that set one of the masked
+     * columns, either as "column = ?" or by position in an INSERT column list.
+     */
+    static BitSet maskedParameters(String sql, Set<String> maskedColumns) {
+        BitSet masked = new BitSet();
+        if (maskedColumns.isEmpty()) {
+            return masked;
+        }
+
+        List<Integer> placeholders = placeholderPositions(sql);
+        for (int p = 0; p < placeholders.size(); p++) {
+            String column = comparedColumn(sql, placeholders.get(p));
+            if (column != null && maskedColumns.contains(column)) {
+                masked.set(p);
+            }
+        }
+
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            // insert.end() is just past "VALUES (", where the first row's first placeholder can sit
+            String[] columns = insert.group(1).split(",");
+            int value = 0;
+            for (int p = 0; p < placeholders.size(); p++) {
+                if (placeholders.get(p) >= insert.end()
+                        && maskedColumns.contains(unquote(columns[value++ % columns.length]))) {
+                    masked.set(p);
+                }
+            }
+        }
+        return masked;
+    }
+
+    static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    private static List<Integer> placeholderPositions(String sql) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i) - 1;
+            } else if (c == '?') {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    // The column in "column = ?" (or <>, !=, LIKE) immediately before a placeholder
+    private static String comparedColumn(String sql, int placeholder) {
+        int i = skipSpaceBackwards(sql, placeholder - 1);
+        if (i >= 3 && sql.regionMatches(true, i - 3, "LIKE", 0, 4)) {
+            i -= 4;
+        } else {
+            while (i >= 0 && "=<>!".indexOf(sql.charAt(i)) >= 0) {
+                i--;
+            }
+            if (i == skipSpaceBackwards(sql, placeholder - 1)) {
+                return null; // Not a comparison
+            }
+        }
+        int end = skipSpaceBackwards(sql, i) + 1;
+        int start = end;
+        while (start > 0 && (Character.isLetterOrDigit(sql.charAt(start - 1)) || sql.charAt(start - 1) == '_'
+                || sql.charAt(start - 1) == '`')) {
+            start--;
+        }
+        return start < end ? unquote(sql.substring(start, end)) : null;
+    }
+
+    private static int skipSpaceBackwards(String sql, int i) {
+        while (i >= 0 && Character.isWhitespace(sql.charAt(i))) {
+            i--;
+        }
+        return i;
+    }
+
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2; // Doubled quote
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierChar(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_';
+    }
+
+    private static String unquote(String column) {
+        return column.trim().replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
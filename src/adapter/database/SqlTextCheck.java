@@ -0,0 +1,45 @@
+package adapter.database;
+
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Verifies which bind parameters the slow-query log masks, for the statement
+ * forms the adapters use. Exits with status 1 if a masked column's value
+ * would be logged or an unmasked one hidden.
+ *
+ * Usage: SqlTextCheck
+ */
+final class SqlTextCheck {
+    private static final Set<String> MASKED = Set.of("password");
+
+    private SqlTextCheck() {
+    }
+
+    public static void main(String[] args) {
+        boolean passed = true;
+
+        passed &= check("INSERT INTO users (password, email) VALUES (?, ?)", 0);
+        passed &= check("INSERT INTO users (password, email) VALUES (?,?)", 0);
+        passed &= check("INSERT INTO users (email, password, role) VALUES (?, ?, ?)", 1);
+        passed &= check("INSERT INTO users (`password`, email) VALUES (?, ?), (?, ?)", 0, 2);
+        passed &= check("UPDATE users SET password = ? WHERE user_id = ?", 0);
+        passed &= check("SELECT * FROM users WHERE email = ? AND password = ?", 1);
+        passed &= check("SELECT * FROM users WHERE email = 'password = ?' AND user_id = ?");
+
+        System.out.println(passed ? "\n✓ Masked columns are never logged."
+                : "\n✗ At least one statement masks the wrong bind parameters.");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean check(String sql, int... expected) {
+        BitSet want = new BitSet();
+        for (int parameter : expected) {
+            want.set(parameter);
+        }
+        BitSet masked = SqlText.maskedParameters(sql, MASKED);
+        boolean ok = masked.equals(want);
+        System.out.printf("%s %-75s masked=%s%n", ok ? "✓" : "✗", sql, masked);
+        return ok;
+    }
+}
@@ -0,0 +1,217 @@
+package adapter.database;
+
+import util.jfr.ReservationEvent;
+import util.jfr.SqlExecutionEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Proxy handler wrapping every statement created on a pooled connection.
+ * Each execute call is timed as a SqlExecutionEvent and reported to the
+ * SlowQueryLog, which is why the values passed to set* methods are kept
+ * until the next clearParameters(). With leak detection on, the statement
+ * and the result sets it returns are registered with ResourceLeakTracker.
+ * All other calls go straight to the driver's statement.
+ */
+final class StatementInterceptor implements InvocationHandler {
+    private static final SlowQueryLog SLOW_QUERY_LOG = SlowQueryLog.getInstance();
+    private static final ResourceLeakTracker LEAK_TRACKER = ResourceLeakTracker.getInstance();
+
+    private final Statement target;
+    private final Connection connection;
+    private final String preparedSql;
+    private Object[] binds;
+    private int bindCount;
+    private int batchSize;
+    private final ResourceLeakTracker.Resource resource;
+    private final List<ResourceLeakTracker.Resource> resultSets;
+
+    private StatementInterceptor(Statement target, Connection connection, String preparedSql) {
+        this.target = target;
+        this.connection = connection;
+        this.preparedSql = preparedSql;
+        this.resource = LEAK_TRACKER.opened(ResourceLeakTracker.Kind.STATEMENT, preparedSql);
+        this.resultSets = resource != null ? new ArrayList<>(1) : null;
+    }
+
+    /**
+     * Wraps a statement in a proxy of the same JDBC interface.
+     *
+     * @param connection  Pooled connection proxy, returned by getConnection()
+     * @param preparedSql SQL the statement was prepared with, or null for a plain Statement
+     */
+    static Statement wrap(Statement statement, Connection connection, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(StatementInterceptor.class.getClassLoader(),
+                new Class<?>[] { type }, new StatementInterceptor(statement, connection, preparedSql));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            releaseResultSets(); // Executing again closes the statement's open result sets
+            return trackResultSet(proxy, execute(method, args), args);
+        }
+        if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                && args[0] instanceof Integer) {
+            Object result = invokeTarget(method, args);
+            captureBind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            return result;
+        }
+        switch (name) {
+            case "clearParameters":
+                bindCount = 0;
+                return invokeTarget(method, args);
+            case "addBatch":
+                batchSize++;
+                return invokeTarget(method, args);
+            case "clearBatch":
+                batchSize = 0;
+                return invokeTarget(method, args);
+            case "getResultSet":
+            case "getGeneratedKeys":
+                return trackResultSet(proxy, invokeTarget(method, args), args);
+            case "close":
+                releaseResultSets();
+                LEAK_TRACKER.closed(resource);
+                return invokeTarget(method, args);
+            case "getConnection":
+                return connection;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "InterceptedStatement[" + target + "]";
+            default:
+                return invokeTarget(method, args);
+        }
+    }
+
+    /**
+     * Closes the statement for code that never did, logging it as a leak
+     * along with any result sets still open on it.
+     *
+     * @param owner Who is closing it, for the log
+     */
+    void closeUnclosed(String owner) throws SQLException {
+        if (resultSets != null) {
+            for (ResourceLeakTracker.Resource resultSet : resultSets) {
+                LEAK_TRACKER.closedByOwner(resultSet, owner);
+            }
+            resultSets.clear();
+        }
+        LEAK_TRACKER.closedByOwner(resource, owner);
+        target.close();
+    }
+
+    private Object trackResultSet(Object proxy, Object result, Object[] args) {
+        if (resultSets == null || !(result instanceof ResultSet)) {
+            return result;
+        }
+        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+        return LEAK_TRACKER.track((ResultSet) result, (Statement) proxy, sql, resultSets);
+    }
+
+    private void releaseResultSets() {
+        if (resultSets != null && !resultSets.isEmpty()) {
+            for (ResourceLeakTracker.Resource resultSet : resultSets) {
+                LEAK_TRACKER.closed(resultSet);
+            }
+            resultSets.clear();
+        }
+    }
+
+    // Streams and LOBs are recorded by type only; they cannot be read twice
+    private void captureBind(int parameterIndex, Object value) {
+        int index = parameterIndex - 1;
+        if (index < 0) {
+            return;
+        }
+        if (binds == null || index >= binds.length) {
+            binds = Arrays.copyOf(binds == null ? new Object[0] : binds, Math.max(index + 1, 8));
+        }
+        for (int i = bindCount; i < index; i++) {
+            binds[i] = null; // Stale values from before clearParameters()
+        }
+        binds[index] = value;
+        bindCount = Math.max(bindCount, index + 1);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        SqlExecutionEvent event = new SqlExecutionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Object result = null;
+        String outcome = ReservationEvent.ERROR;
+        try {
+            result = invokeTarget(method, args);
+            outcome = ReservationEvent.SUCCESS;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            event.end();
+            boolean prepared = args == null || args.length == 0 || !(args[0] instanceof String);
+            String sql = prepared ? preparedSql : (String) args[0];
+            if (event.shouldCommit()) {
+                event.setSql(sql);
+                event.setOperation(method.getName());
+                event.setRows(rowsAffected(result));
+                event.setOutcome(outcome);
+                event.commit();
+            }
+            if (SLOW_QUERY_LOG.isEnabled() && sql != null) {
+                // A batch is logged with the bind values of its last statement
+                boolean batch = method.getName().endsWith("Batch");
+                SLOW_QUERY_LOG.record(sql, method.getName(), elapsed, prepared ? binds : null,
+                        prepared ? bindCount : 0, batch ? batchSize : 0);
+                if (batch) {
+                    batchSize = 0;
+                }
+            }
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long rowsAffected(Object result) {
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        long total = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return -1; // Query or execute() returning a result set
+    }
+}
@@ -0,0 +1,83 @@
+package adapter.database;
+
+import adapter.interfaces.StatisticsDataAdapter;
+import model.entity.SystemStatistics;
+import model.enums.BookingStatus;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes system statistics with GROUP BY aggregates on one pooled
+ * connection. Booking aggregates are covered by idx_bookings_status_flight,
+ * so they read the index instead of the bookings rows.
+ */
+public class StatisticsDatabaseAdapter implements StatisticsDataAdapter {
+    private static final String FLIGHT_COUNT_SQL = "SELECT COUNT(*) FROM flights";
+    private static final String BOOKINGS_BY_STATUS_SQL =
+            "SELECT status, COUNT(*), COALESCE(SUM(total_amount), 0) FROM bookings GROUP BY status";
+    private static final String REVENUE_BY_ROUTE_SQL =
+            "SELECT f.origin, f.destination, SUM(b.total_amount) AS revenue FROM bookings b " +
+                    "JOIN flights f ON f.flight_id = b.flight_id WHERE b.status = 'CONFIRMED' " +
+                    "GROUP BY f.origin, f.destination ORDER BY revenue DESC LIMIT ?";
+    private static final String REVENUE_BY_AIRLINE_SQL =
+            "SELECT f.airline, SUM(b.total_amount) AS revenue FROM bookings b " +
+                    "JOIN flights f ON f.flight_id = b.flight_id WHERE b.status = 'CONFIRMED' " +
+                    "GROUP BY f.airline ORDER BY revenue DESC LIMIT ?";
+
+    private final DatabaseConnection database;
+
+    public StatisticsDatabaseAdapter() {
+        this.database = DatabaseConnection.getInstance();
+    }
+
+    @Override
+    public SystemStatistics loadStatistics(int topN) throws SQLException {
+        try (Connection connection = database.getConnection()) {
+            int totalFlights;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(FLIGHT_COUNT_SQL)) {
+                totalFlights = rs.next() ? rs.getInt(1) : 0;
+            }
+
+            Map<BookingStatus, Integer> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+            double confirmedRevenue = 0;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(BOOKINGS_BY_STATUS_SQL)) {
+                while (rs.next()) {
+                    BookingStatus status = BookingStatus.valueOf(rs.getString(1));
+                    bookingsByStatus.put(status, rs.getInt(2));
+                    if (status == BookingStatus.CONFIRMED) {
+                        confirmedRevenue = rs.getDouble(3);
+                    }
+                }
+            }
+
+            Map<String, Double> revenueByRoute = new LinkedHashMap<>();
+            try (PreparedStatement stmt = connection.prepareStatement(REVENUE_BY_ROUTE_SQL)) {
+                stmt.setInt(1, topN);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        revenueByRoute.put(rs.getString(1) + " → " + rs.getString(2), rs.getDouble(3));
+                    }
+                }
+            }
+
+            Map<String, Double> revenueByAirline = new LinkedHashMap<>();
+            try (PreparedStatement stmt = connection.prepareStatement(REVENUE_BY_AIRLINE_SQL)) {
+                stmt.setInt(1, topN);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        revenueByAirline.put(rs.getString(1), rs.getDouble(2));
+                    }
+                }
+            }
+
+            return new SystemStatistics(totalFlights, bookingsByStatus, confirmedRevenue, revenueByRoute,
+                    revenueByAirline, LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package adapter.database;
+
+import util.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Runs a query on a forward-only, read-only result set and hands each row to
+ * a consumer as it arrives, so exports and batch jobs run in constant memory.
+ *
+ * By default Connector/J streams row by row (fetch size Integer.MIN_VALUE).
+ * A positive db.stream.fetchSize fetches in chunks through a server-side
+ * cursor instead, which requires useCursorFetch=true on the JDBC URL. Either
+ * way the borrowed connection cannot run other statements until the stream
+ * is closed, so consumers must not query through the same adapter call.
+ */
+final class StreamingQuery {
+
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private StreamingQuery() {
+    }
+
+    static <T> void forEach(DatabaseConnection database, String sql, RowMapper<T> mapper, Consumer<? super T> action)
+            throws SQLException {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(AppConfig.getInt("db.stream.fetchSize", Integer.MIN_VALUE));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapper.map(rs));
+                }
+            }
+        }
+    }
+}
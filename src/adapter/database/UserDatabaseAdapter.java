@@ -13,17 +13,18 @@ import java.time.LocalDate;
  * to the MySQL database interface via JDBC.
  */
 public class UserDatabaseAdapter implements UserDataAdapter {
-    private Connection connection;
+    private final DatabaseConnection database;
 
     public UserDatabaseAdapter() {
-        this.connection = DatabaseConnection.getInstance().getConnection();
+        this.database = DatabaseConnection.getInstance();
     }
 
     @Override
     public User create(User user) throws SQLException {
         String sql = "INSERT INTO users (email, password, first_name, last_name, phone, role) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, user.getEmail());
             stmt.setString(2, user.getPassword());
             stmt.setString(3, user.getFirstName());
@@ -33,9 +34,10 @@ public class UserDatabaseAdapter implements UserDataAdapter {
 
             stmt.executeUpdate();
 
-            ResultSet rs = stmt.getGeneratedKeys();
-            if (rs.next()) {
-                user.setUserId(rs.getInt(1));
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    user.setUserId(rs.getInt(1));
+                }
             }
         }
         return user;
@@ -49,7 +51,8 @@ public class UserDatabaseAdapter implements UserDataAdapter {
         // Then create customer-specific data
         String sql = "INSERT INTO customers (customer_id, registration_date) VALUES (?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, customer.getUserId());
             stmt.setDate(2, Date.valueOf(customer.getRegistrationDate()));
             stmt.executeUpdate();
@@ -66,7 +69,8 @@ public class UserDatabaseAdapter implements UserDataAdapter {
         // Then create agent-specific data
         String sql = "INSERT INTO flight_agents (agent_id) VALUES (?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, agent.getUserId());
             stmt.executeUpdate();
         }
@@ -82,7 +86,8 @@ public class UserDatabaseAdapter implements UserDataAdapter {
         // Then create admin-specific data
         String sql = "INSERT INTO admins (admin_id) VALUES (?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, admin.getUserId());
             stmt.executeUpdate();
         }
@@ -94,12 +99,13 @@ public class UserDatabaseAdapter implements UserDataAdapter {
     public User findByEmail(String email) throws SQLException {
         String sql = "SELECT * FROM users WHERE email = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractUserFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractUserFromResultSet(connection, rs);
+                }
             }
         }
         return null;
@@ -109,12 +115,13 @@ public class UserDatabaseAdapter implements UserDataAdapter {
     public User findById(int userId) throws SQLException {
         String sql = "SELECT * FROM users WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractUserFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractUserFromResultSet(connection, rs);
+                }
             }
         }
         return null;
@@ -124,7 +131,8 @@ public class UserDatabaseAdapter implements UserDataAdapter {
     public boolean update(User user) throws SQLException {
         String sql = "UPDATE users SET email = ?, password = ?, first_name = ?, last_name = ?, phone = ? WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, user.getEmail());
             stmt.setString(2, user.getPassword());
             stmt.setString(3, user.getFirstName());
@@ -140,7 +148,8 @@ public class UserDatabaseAdapter implements UserDataAdapter {
     public boolean delete(int userId) throws SQLException {
         String sql = "DELETE FROM users WHERE user_id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             return stmt.executeUpdate() > 0;
         }
@@ -150,25 +159,26 @@ public class UserDatabaseAdapter implements UserDataAdapter {
     public User authenticate(String email, String password) throws SQLException {
         String sql = "SELECT * FROM users WHERE email = ? AND password = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.setString(2, password);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractUserFromResultSet(rs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractUserFromResultSet(connection, rs);
+                }
             }
         }
         return null;
     }
 
-    private User extractUserFromResultSet(ResultSet rs) throws SQLException {
+    private User extractUserFromResultSet(Connection connection, ResultSet rs) throws SQLException {
         UserRole role = UserRole.valueOf(rs.getString("role"));
         User user;
 
         switch (role) {
             case CUSTOMER:
-                user = extractCustomer(rs);
+                user = extractCustomer(connection, rs);
                 break;
             case FLIGHT_AGENT:
                 user = extractFlightAgent(rs);
@@ -191,17 +201,17 @@ public class UserDatabaseAdapter implements UserDataAdapter {
         return user;
     }
 
-    private Customer extractCustomer(ResultSet rs) throws SQLException {
+    private Customer extractCustomer(Connection connection, ResultSet rs) throws SQLException {
         Customer customer = new Customer();
 
         // Get customer-specific data
         String sql = "SELECT * FROM customers WHERE customer_id = ?";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, rs.getInt("user_id"));
-            ResultSet custRs = stmt.executeQuery();
-
-            if (custRs.next()) {
-                customer.setRegistrationDate(custRs.getDate("registration_date").toLocalDate());
+            try (ResultSet custRs = stmt.executeQuery()) {
+                if (custRs.next()) {
+                    customer.setRegistrationDate(custRs.getDate("registration_date").toLocalDate());
+                }
             }
         }
 
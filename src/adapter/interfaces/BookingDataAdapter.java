@@ -2,8 +2,12 @@ package adapter.interfaces;
 
 import model.entity.Booking;
 import model.entity.Passenger;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Adapter interface for booking data access operations.
@@ -12,6 +16,13 @@ import java.util.List;
 public interface BookingDataAdapter {
     Booking create(Booking booking) throws SQLException;
 
+    /**
+     * Unit of work that reserves the seats, inserts the booking and batch-inserts
+     * its passengers in a single transaction. Nothing is written unless the
+     * seats could be reserved.
+     */
+    SeatReservationResult createWithPassengers(Booking booking, List<Passenger> passengers) throws SQLException;
+
     Booking findById(int bookingId) throws SQLException;
 
     List<Booking> findByCustomerId(int customerId) throws SQLException;
@@ -20,9 +31,63 @@ public interface BookingDataAdapter {
 
     List<Booking> findAll() throws SQLException;
 
-    boolean update(Booking booking) throws SQLException;
+    /**
+     * Keyset page of bookings in booking ID order, starting after the given ID,
+     * with their flights attached. Passengers are not loaded. Pass 0 for the
+     * first page.
+     */
+    List<Booking> findAllAfter(int lastBookingId, int limit) throws SQLException;
+
+    /**
+     * Returns the booking ID that ends each full page of pageSize bookings in
+     * ID order. Page n + 1 starts after element n.
+     */
+    List<Integer> findPageBoundaries(int pageSize) throws SQLException;
+
+    /**
+     * Keyset page of bookings in booking date order (ties broken by booking
+     * ID), starting after the given date and booking ID, with their flights
+     * attached. Pass null for the first page.
+     */
+    List<Booking> findAllAfter(LocalDateTime lastBookingDate, int lastBookingId, int limit) throws SQLException;
+
+    /**
+     * Streams every booking row in booking ID order to the action without
+     * holding the table in memory. Flights and passengers are not attached.
+     */
+    void forEach(Consumer<? super Booking> action) throws SQLException;
+
+    int count() throws SQLException;
+
+    /**
+     * Loads all bookings with their flights attached using a fixed number of
+     * set-based queries. Passengers are only loaded when requested.
+     */
+    List<Booking> findAllWithDetails(boolean includePassengers) throws SQLException;
+
+    /**
+     * Loads a customer's bookings with their flights attached using a fixed
+     * number of set-based queries. Passengers are only loaded when requested.
+     */
+    List<Booking> findByCustomerIdWithDetails(int customerId, boolean includePassengers) throws SQLException;
+
+    /**
+     * Writes the booking's flight, status, amount and passenger count, but only
+     * if the stored row still has the booking's version. On success the
+     * booking's version is moved to the new one.
+     */
+    UpdateResult update(Booking booking) throws SQLException;
 
-    boolean cancel(int bookingId) throws SQLException;
+    /**
+     * Marks the booking CANCELLED, but only if the stored row still has the
+     * booking's version and is not cancelled yet. The booking's flight and
+     * passenger count are then exactly what was cancelled, so they are the
+     * seats to release. On success the booking's status and version are
+     * moved to the new ones.
+     *
+     * @return CONFLICT if the booking changed or was cancelled since it was read
+     */
+    UpdateResult cancel(Booking booking) throws SQLException;
 
     boolean addPassenger(Passenger passenger) throws SQLException;
 
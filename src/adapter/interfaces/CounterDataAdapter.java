@@ -0,0 +1,42 @@
+package adapter.interfaces;
+
+import model.enums.BookingStatus;
+import model.enums.PaymentStatus;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Adapter interface for the live counter checkpoint.
+ * Counters are stored as key/value pairs; the base-table totals use the same
+ * keys so the two can be compared during reconciliation.
+ */
+public interface CounterDataAdapter {
+    String REVENUE_KEY = "revenue.confirmed.cents";
+    String BOOKINGS_PREFIX = "bookings.";
+    String PAYMENTS_PREFIX = "payments.";
+    String SEATS_PREFIX = "seats.flight.";
+
+    static String bookingsKey(BookingStatus status) {
+        return BOOKINGS_PREFIX + status.name();
+    }
+
+    static String paymentsKey(PaymentStatus status) {
+        return PAYMENTS_PREFIX + status.name();
+    }
+
+    static String seatsKey(int flightId) {
+        return SEATS_PREFIX + flightId;
+    }
+
+    Map<String, Long> loadCheckpoint() throws SQLException;
+
+    /**
+     * Upserts the given counters into the checkpoint in one batch.
+     */
+    void saveCheckpoint(Map<String, Long> counters) throws SQLException;
+
+    /**
+     * Recomputes every counter from the bookings and payments tables.
+     */
+    Map<String, Long> computeFromBaseTables() throws SQLException;
+}
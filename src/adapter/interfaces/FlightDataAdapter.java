@@ -1,10 +1,15 @@
 package adapter.interfaces;
 
 import model.entity.Flight;
+import model.entity.FlightUpdate;
 import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Adapter interface for flight data access operations.
@@ -15,17 +20,77 @@ public interface FlightDataAdapter {
 
     Flight findById(int flightId) throws SQLException;
 
+    /**
+     * Reads the flight from the backing store, bypassing any cache.
+     * Use for inventory decisions that must not see stale seat counts.
+     */
+    default Flight findByIdAuthoritative(int flightId) throws SQLException {
+        return findById(flightId);
+    }
+
     Flight findByFlightNumber(String flightNumber) throws SQLException;
 
     List<Flight> findAll() throws SQLException;
 
+    /**
+     * Keyset page of flights in flight ID order, starting after the given ID.
+     * Pass 0 for the first page.
+     */
+    List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException;
+
+    /**
+     * Returns the flight ID that ends each full page of pageSize flights in ID
+     * order. Page n + 1 starts after element n, so any page can be fetched with
+     * findAllAfter without scanning the pages before it.
+     */
+    List<Integer> findPageBoundaries(int pageSize) throws SQLException;
+
+    /**
+     * Keyset page of flights in departure order (ties broken by flight ID),
+     * starting after the given departure time and flight ID. Pass null for the
+     * first page.
+     */
+    List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit) throws SQLException;
+
+    /**
+     * Streams every flight in flight ID order to the action without holding
+     * the table in memory.
+     */
+    void forEach(Consumer<? super Flight> action) throws SQLException;
+
+    int count() throws SQLException;
+
     List<Flight> search(String origin, String destination, LocalDate date, String airline) throws SQLException;
 
-    boolean update(Flight flight) throws SQLException;
+    /**
+     * Writes every column of the flight, but only if the stored row still has
+     * the flight's version. On success the flight's version is moved to the
+     * new one.
+     */
+    UpdateResult update(Flight flight) throws SQLException;
+
+    /**
+     * Writes only the fields set in the changes, but only if the stored row
+     * still has the expected version. Available seats move with total seats
+     * relative to their stored value.
+     */
+    UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException;
 
     boolean delete(int flightId) throws SQLException;
 
     boolean updateAvailableSeats(int flightId, int seats) throws SQLException;
 
     boolean updateStatus(int flightId, FlightStatus status) throws SQLException;
+
+    /**
+     * Atomically takes seats only if enough are still available, so concurrent
+     * bookings can never oversell a flight.
+     */
+    SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException;
+
+    /**
+     * Atomically returns seats, never exceeding the flight's total seats. A
+     * flight closed as COMPLETED because it sold out is SCHEDULED again.
+     */
+    boolean releaseSeats(int flightId, int numSeats) throws SQLException;
 }
@@ -4,6 +4,7 @@ import model.entity.Payment;
 import model.enums.PaymentStatus;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Adapter interface for payment data access operations.
@@ -18,5 +19,25 @@ public interface PaymentDataAdapter {
 
     List<Payment> findAll() throws SQLException;
 
+    /**
+     * Keyset page of payments in payment ID order, starting after the given
+     * ID. Pass 0 for the first page.
+     */
+    List<Payment> findAllAfter(int lastPaymentId, int limit) throws SQLException;
+
+    /**
+     * Streams every payment in payment ID order to the action without holding
+     * the table in memory.
+     */
+    void forEach(Consumer<? super Payment> action) throws SQLException;
+
     boolean updateStatus(int paymentId, PaymentStatus status) throws SQLException;
+
+    /**
+     * Atomically changes the status only if it is still the expected one, so
+     * of two concurrent transitions from the same status only one succeeds.
+     *
+     * @return false if the payment does not exist or no longer has the expected status
+     */
+    boolean transitionStatus(int paymentId, PaymentStatus expected, PaymentStatus status) throws SQLException;
 }
@@ -0,0 +1,19 @@
+package adapter.interfaces;
+
+import model.entity.SystemStatistics;
+import java.sql.SQLException;
+
+/**
+ * Adapter interface for system-wide statistics.
+ * Implementations compute every figure with aggregate queries in the data
+ * store, so the cost does not grow with the number of rows returned.
+ */
+public interface StatisticsDataAdapter {
+    /**
+     * Computes flight and booking totals, confirmed revenue, and the top
+     * routes and airlines by confirmed revenue.
+     *
+     * @param topN Maximum entries in each revenue breakdown
+     */
+    SystemStatistics loadStatistics(int topN) throws SQLException;
+}
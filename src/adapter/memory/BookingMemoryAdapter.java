@@ -0,0 +1,367 @@
+package adapter.memory;
+
+import adapter.interfaces.BookingDataAdapter;
+import model.entity.Booking;
+import model.entity.Flight;
+import model.entity.Passenger;
+import model.enums.BookingStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory adapter for booking data access operations.
+ * Lookups by customer and flight go through their secondary indexes, and the
+ * foreign keys of the bookings, passengers and payments tables are checked
+ * so the engine rejects the same writes MySQL would.
+ */
+public class BookingMemoryAdapter implements BookingDataAdapter {
+    // ORDER BY booking_date DESC, with the newest ID first on ties
+    private static final Comparator<Booking> NEWEST_FIRST =
+            Comparator.comparing(Booking::getBookingDate).thenComparingInt(Booking::getBookingId).reversed();
+
+    private final MemoryStore store;
+
+    public BookingMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public Booking create(Booking booking) throws SQLException {
+        store.bookingReferences.readLock().lock();
+        try {
+            checkReferences(booking);
+            insertBooking(booking);
+        } finally {
+            store.bookingReferences.readLock().unlock();
+        }
+        store.commit(store.bookings, booking.getBookingId());
+        return booking;
+    }
+
+    @Override
+    public SeatReservationResult createWithPassengers(Booking booking, List<Passenger> passengers)
+            throws SQLException {
+        SeatReservationResult result;
+        store.bookingReferences.readLock().lock();
+        try {
+            checkReferences(booking);
+            result = FlightMemoryAdapter.reserveSeats(store, booking.getFlightId(), booking.getNumPassengers());
+            if (result != SeatReservationResult.RESERVED) {
+                return result;
+            }
+
+            try {
+                insertBooking(booking);
+                for (Passenger passenger : passengers) {
+                    insertPassenger(booking.getBookingId(), passenger);
+                }
+            } catch (RuntimeException e) {
+                // Nothing should fail once the references are checked, but never keep seats for no booking
+                FlightMemoryAdapter.releaseSeats(store, booking.getFlightId(), booking.getNumPassengers());
+                throw e;
+            }
+        } finally {
+            store.bookingReferences.readLock().unlock();
+        }
+
+        // Seats, booking and passengers reach the log as one record
+        ChangeSet changes = new ChangeSet()
+                .add(store.flights, booking.getFlightId())
+                .add(store.bookings, booking.getBookingId());
+        for (Passenger passenger : passengers) {
+            changes.add(store.passengers, passenger.getPassengerId());
+        }
+        store.commit(changes);
+
+        booking.setPassengers(passengers);
+        return result;
+    }
+
+    private void checkReferences(Booking booking) throws SQLException {
+        MemoryRows.requireNonNull(booking.getStatus(), "status");
+        if (store.users.get(booking.getCustomerId()) == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Cannot add or update a child row: customer " + booking.getCustomerId() + " does not exist");
+        }
+        if (store.flights.get(booking.getFlightId()) == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Cannot add or update a child row: flight " + booking.getFlightId() + " does not exist");
+        }
+    }
+
+    private void insertBooking(Booking booking) {
+        Booking row = MemoryRows.copy(booking);
+        row.setBookingId(store.bookings.nextId());
+        row.setVersion(0);
+        if (row.getBookingDate() == null) {
+            row.setBookingDate(LocalDateTime.now());
+        }
+        store.bookings.insert(row.getBookingId(), row);
+        store.indexBooking(row);
+
+        booking.setBookingId(row.getBookingId());
+    }
+
+    private void insertPassenger(int bookingId, Passenger passenger) {
+        passenger.setBookingId(bookingId);
+        Passenger row = MemoryRows.copy(passenger);
+        row.setPassengerId(store.passengers.nextId());
+        store.passengers.insert(row.getPassengerId(), row);
+        store.passengersByBooking.add(bookingId, row.getPassengerId());
+        passenger.setPassengerId(row.getPassengerId());
+    }
+
+    @Override
+    public Booking findById(int bookingId) throws SQLException {
+        Booking row = store.bookings.get(bookingId);
+        if (row == null) {
+            return null;
+        }
+        Booking booking = MemoryRows.copy(row);
+        booking.setPassengers(passengersOf(bookingId));
+        return booking;
+    }
+
+    @Override
+    public List<Booking> findByCustomerId(int customerId) throws SQLException {
+        List<Booking> bookings = newestFirst(store.bookingsByCustomer.get(customerId));
+        attachPassengers(bookings);
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> findByFlightId(int flightId) throws SQLException {
+        List<Booking> bookings = newestFirst(store.bookingsByFlight.get(flightId));
+        // The index entry of a booking moving to another flight can lag behind its row
+        bookings.removeIf(booking -> booking.getFlightId() != flightId);
+        attachPassengers(bookings);
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> findAll() throws SQLException {
+        List<Booking> bookings = newestFirst(store.bookings.ids());
+        attachPassengers(bookings);
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> findAllAfter(int lastBookingId, int limit) throws SQLException {
+        List<Booking> bookings = new ArrayList<>();
+        for (Booking row : store.bookings.rowsAfter(lastBookingId)) {
+            if (bookings.size() >= limit) {
+                break;
+            }
+            bookings.add(MemoryRows.copy(row));
+        }
+        attachFlights(bookings);
+        return bookings;
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        return store.bookings.pageBoundaries(pageSize);
+    }
+
+    @Override
+    public List<Booking> findAllAfter(LocalDateTime lastBookingDate, int lastBookingId, int limit)
+            throws SQLException {
+        NavigableSet<OrderKey> keys = lastBookingDate == null ? store.bookingDates
+                : store.bookingDates.tailSet(new OrderKey(lastBookingDate, lastBookingId), false);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (OrderKey key : keys) {
+            if (bookings.size() >= limit) {
+                break;
+            }
+            Booking row = store.bookings.get(key.id);
+            if (row != null) {
+                bookings.add(MemoryRows.copy(row));
+            }
+        }
+        attachFlights(bookings);
+        return bookings;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Booking> action) throws SQLException {
+        for (Booking row : store.bookings.rows()) {
+            action.accept(MemoryRows.copy(row));
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return store.bookings.size();
+    }
+
+    @Override
+    public List<Booking> findAllWithDetails(boolean includePassengers) throws SQLException {
+        List<Booking> bookings = newestFirst(store.bookings.ids());
+        attachFlights(bookings);
+        if (includePassengers) {
+            attachPassengers(bookings);
+        }
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> findByCustomerIdWithDetails(int customerId, boolean includePassengers)
+            throws SQLException {
+        List<Booking> bookings = newestFirst(store.bookingsByCustomer.get(customerId));
+        attachFlights(bookings);
+        if (includePassengers) {
+            attachPassengers(bookings);
+        }
+        return bookings;
+    }
+
+    private List<Booking> newestFirst(Collection<Integer> bookingIds) {
+        List<Booking> bookings = new ArrayList<>();
+        for (int bookingId : bookingIds) {
+            Booking row = store.bookings.get(bookingId);
+            if (row != null) {
+                bookings.add(MemoryRows.copy(row));
+            }
+        }
+        bookings.sort(NEWEST_FIRST);
+        return bookings;
+    }
+
+    private void attachPassengers(List<Booking> bookings) {
+        for (Booking booking : bookings) {
+            booking.setPassengers(passengersOf(booking.getBookingId()));
+        }
+    }
+
+    /**
+     * Attaches flights, copying each distinct flight once.
+     */
+    private void attachFlights(List<Booking> bookings) {
+        Map<Integer, Flight> flights = new HashMap<>();
+        for (Booking booking : bookings) {
+            booking.setFlight(flights.computeIfAbsent(booking.getFlightId(), flightId -> {
+                Flight row = store.flights.get(flightId);
+                return row != null ? MemoryRows.copy(row) : null;
+            }));
+        }
+    }
+
+    @Override
+    public UpdateResult update(Booking booking) throws SQLException {
+        MemoryRows.requireNonNull(booking.getStatus(), "status");
+        Booking row;
+        store.bookingReferences.readLock().lock();
+        try {
+            if (store.flights.get(booking.getFlightId()) == null) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "Cannot add or update a child row: flight " + booking.getFlightId() + " does not exist");
+            }
+
+            Booking current = store.bookings.get(booking.getBookingId());
+            if (current == null) {
+                return UpdateResult.NOT_FOUND;
+            }
+            row = MemoryRows.nextVersion(current);
+            row.setFlightId(booking.getFlightId());
+            row.setStatus(booking.getStatus());
+            row.setTotalAmount(booking.getTotalAmount());
+            row.setNumPassengers(booking.getNumPassengers());
+            if (current.getVersion() != booking.getVersion()
+                    || !store.bookings.replace(booking.getBookingId(), current, row)) {
+                return store.bookings.get(booking.getBookingId()) != null
+                        ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+            }
+            store.reindexBooking(current, row);
+        } finally {
+            store.bookingReferences.readLock().unlock();
+        }
+        store.commit(store.bookings, booking.getBookingId());
+        booking.setVersion(row.getVersion());
+        return UpdateResult.UPDATED;
+    }
+
+    @Override
+    public UpdateResult cancel(Booking booking) throws SQLException {
+        Booking current = store.bookings.get(booking.getBookingId());
+        if (current == null) {
+            return UpdateResult.NOT_FOUND;
+        }
+        Booking row = MemoryRows.nextVersion(current);
+        row.setStatus(BookingStatus.CANCELLED);
+        if (current.getVersion() != booking.getVersion() || current.getStatus() == BookingStatus.CANCELLED
+                || !store.bookings.replace(booking.getBookingId(), current, row)) {
+            return store.bookings.get(booking.getBookingId()) != null ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+        }
+        store.commit(store.bookings, booking.getBookingId());
+        booking.setStatus(BookingStatus.CANCELLED);
+        booking.setVersion(row.getVersion());
+        return UpdateResult.UPDATED;
+    }
+
+    @Override
+    public boolean addPassenger(Passenger passenger) throws SQLException {
+        if (store.bookings.get(passenger.getBookingId()) == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Cannot add or update a child row: booking " + passenger.getBookingId() + " does not exist");
+        }
+        insertPassenger(passenger.getBookingId(), passenger);
+        store.commit(store.passengers, passenger.getPassengerId());
+        return true;
+    }
+
+    @Override
+    public boolean updatePassenger(Passenger passenger) throws SQLException {
+        Passenger previous = store.passengers.update(passenger.getPassengerId(), current -> {
+            Passenger row = MemoryRows.copy(current);
+            row.setFirstName(passenger.getFirstName());
+            row.setLastName(passenger.getLastName());
+            row.setPassportNumber(passenger.getPassportNumber());
+            return row;
+        });
+        if (previous == null) {
+            return false;
+        }
+        store.commit(store.passengers, passenger.getPassengerId());
+        return true;
+    }
+
+    @Override
+    public List<Passenger> getPassengersByBookingId(int bookingId) throws SQLException {
+        return passengersOf(bookingId);
+    }
+
+    private List<Passenger> passengersOf(int bookingId) {
+        List<Passenger> passengers = new ArrayList<>();
+        for (int passengerId : store.passengersByBooking.get(bookingId)) {
+            Passenger row = store.passengers.get(passengerId);
+            if (row != null) {
+                passengers.add(MemoryRows.copy(row));
+            }
+        }
+        return passengers;
+    }
+
+    @Override
+    public boolean removePassenger(int passengerId) throws SQLException {
+        Passenger removed = store.passengers.remove(passengerId);
+        if (removed == null) {
+            return false;
+        }
+        store.passengersByBooking.remove(removed.getBookingId(), passengerId);
+        store.commit(store.passengers, passengerId);
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package adapter.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rows one operation changed. They go into the write-ahead log as a
+ * single record, so after a crash either all of them are recovered or none.
+ */
+final class ChangeSet {
+    private final List<MemoryTable<?>> tables = new ArrayList<>(4);
+    private final List<Integer> ids = new ArrayList<>(4);
+
+    ChangeSet add(MemoryTable<?> table, int id) {
+        tables.add(table);
+        ids.add(id);
+        return this;
+    }
+
+    int size() {
+        return tables.size();
+    }
+
+    MemoryTable<?> table(int index) {
+        return tables.get(index);
+    }
+
+    int id(int index) {
+        return ids.get(index);
+    }
+}
@@ -0,0 +1,60 @@
+package adapter.memory;
+
+import adapter.interfaces.CounterDataAdapter;
+import model.entity.Booking;
+import model.entity.Payment;
+import model.enums.BookingStatus;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps live counter checkpoints in the in-memory store and recomputes the
+ * counters with one pass over the bookings and payments.
+ */
+public class CounterMemoryAdapter implements CounterDataAdapter {
+    private final MemoryStore store;
+
+    public CounterMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public Map<String, Long> loadCheckpoint() throws SQLException {
+        return new HashMap<>(store.counters);
+    }
+
+    @Override
+    public void saveCheckpoint(Map<String, Long> counters) throws SQLException {
+        store.counters.putAll(counters);
+    }
+
+    @Override
+    public Map<String, Long> computeFromBaseTables() throws SQLException {
+        Map<String, Long> counters = new HashMap<>();
+        long confirmedCents = 0;
+        boolean anyConfirmed = false;
+
+        for (Booking booking : store.bookings.rows()) {
+            counters.merge(CounterDataAdapter.bookingsKey(booking.getStatus()), 1L, Long::sum);
+            if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                confirmedCents += Math.round(booking.getTotalAmount() * 100);
+                anyConfirmed = true;
+            }
+            if (booking.getStatus() != BookingStatus.CANCELLED) {
+                counters.merge(CounterDataAdapter.seatsKey(booking.getFlightId()),
+                        (long) booking.getNumPassengers(), Long::sum);
+            }
+        }
+        // Like the SQL aggregate, there is no revenue row without confirmed bookings
+        if (anyConfirmed) {
+            counters.put(REVENUE_KEY, confirmedCents);
+        }
+
+        for (Payment payment : store.payments.rows()) {
+            counters.merge(CounterDataAdapter.paymentsKey(payment.getStatus()), 1L, Long::sum);
+        }
+        return counters;
+    }
+}
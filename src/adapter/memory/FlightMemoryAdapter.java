@@ -0,0 +1,379 @@
+package adapter.memory;
+
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.entity.FlightUpdate;
+import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+import util.jfr.ReservationEvent;
+import util.jfr.SeatReservationEvent;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory adapter for flight data access operations.
+ * Searches use the origin index, or the departure index restricted to one
+ * day when a date is given; seat changes are compare-and-set updates
+ * of the flight row, so concurrent bookings can never oversell a flight.
+ * Every new row version carries the next version number, which edits
+ * compare against like the database adapter does.
+ */
+public class FlightMemoryAdapter implements FlightDataAdapter {
+    private final MemoryStore store;
+
+    public FlightMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public Flight create(Flight flight) throws SQLException {
+        requireColumns(flight);
+        int flightId = store.flights.nextId();
+        MemoryStore.claim(store.flightNumbers, flight.getFlightNumber(), flightId, "flights.flight_number");
+
+        Flight row = MemoryRows.copy(flight);
+        row.setFlightId(flightId);
+        row.setVersion(0);
+        store.flights.insert(flightId, row);
+        store.indexFlight(null, row);
+        store.commit(store.flights, flightId);
+
+        flight.setFlightId(flightId);
+        return flight;
+    }
+
+    @Override
+    public Flight findById(int flightId) throws SQLException {
+        Flight row = store.flights.get(flightId);
+        return row != null ? MemoryRows.copy(row) : null;
+    }
+
+    @Override
+    public Flight findByFlightNumber(String flightNumber) throws SQLException {
+        if (flightNumber == null) {
+            return null;
+        }
+        Integer flightId = store.flightNumbers.get(MemoryRows.uniqueKey(flightNumber));
+        if (flightId == null) {
+            return null;
+        }
+        Flight row = store.flights.get(flightId);
+        return row != null && MemoryStore.sameKey(row.getFlightNumber(), flightNumber) ? MemoryRows.copy(row) : null;
+    }
+
+    @Override
+    public List<Flight> findAll() throws SQLException {
+        return byDeparture(store.departures, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException {
+        List<Flight> flights = new ArrayList<>();
+        for (Flight row : store.flights.rowsAfter(lastFlightId)) {
+            if (flights.size() >= limit) {
+                break;
+            }
+            flights.add(MemoryRows.copy(row));
+        }
+        return flights;
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        return store.flights.pageBoundaries(pageSize);
+    }
+
+    @Override
+    public List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit)
+            throws SQLException {
+        NavigableSet<OrderKey> keys = lastDepartureTime == null ? store.departures
+                : store.departures.tailSet(new OrderKey(lastDepartureTime, lastFlightId), false);
+        return byDeparture(keys, limit);
+    }
+
+    /**
+     * Resolves departure index entries to flights, skipping entries left
+     * behind by a concurrent change of the departure time.
+     */
+    private List<Flight> byDeparture(NavigableSet<OrderKey> keys, int limit) {
+        List<Flight> flights = new ArrayList<>();
+        for (OrderKey key : keys) {
+            if (flights.size() >= limit) {
+                break;
+            }
+            Flight row = store.flights.get(key.id);
+            if (row != null && row.getDepartureTime().equals(key.time)) {
+                flights.add(MemoryRows.copy(row));
+            }
+        }
+        return flights;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Flight> action) throws SQLException {
+        for (Flight row : store.flights.rows()) {
+            action.accept(MemoryRows.copy(row));
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return store.flights.size();
+    }
+
+    @Override
+    public List<Flight> search(String origin, String destination, LocalDate date, String airline) throws SQLException {
+        String originKey = normalizeSearchKey(origin);
+        String destinationKey = normalizeSearchKey(destination);
+        String airlineKey = normalizeSearchKey(airline);
+
+        List<Flight> flights = new ArrayList<>();
+        if (date == null && originKey != null) {
+            // Every flight whose origin starts with the key, then in departure order
+            String prefix = MemoryRows.uniqueKey(originKey);
+            for (int flightId : store.flightsByOrigin.range(prefix, prefix + Character.MAX_VALUE)) {
+                Flight row = store.flights.get(flightId);
+                if (row != null && matches(row, originKey, destinationKey, airlineKey)) {
+                    flights.add(MemoryRows.copy(row));
+                }
+            }
+            flights.sort(Comparator.comparing(Flight::getDepartureTime).thenComparingInt(Flight::getFlightId));
+            return flights;
+        }
+
+        NavigableSet<OrderKey> keys = date == null ? store.departures
+                : store.departures.subSet(OrderKey.startOf(date.atStartOfDay()), true,
+                OrderKey.startOf(date.plusDays(1).atStartOfDay()), false);
+        for (OrderKey key : keys) {
+            Flight row = store.flights.get(key.id);
+            if (row != null && row.getDepartureTime().equals(key.time)
+                    && matches(row, originKey, destinationKey, airlineKey)) {
+                flights.add(MemoryRows.copy(row));
+            }
+        }
+        return flights;
+    }
+
+    private static boolean matches(Flight row, String originKey, String destinationKey, String airlineKey) {
+        return row.getStatus() == FlightStatus.SCHEDULED
+                && startsWith(row.getOrigin(), originKey)
+                && startsWith(row.getDestination(), destinationKey)
+                && startsWith(row.getAirline(), airlineKey);
+    }
+
+    /**
+     * Trims and collapses whitespace, as the database adapter does.
+     *
+     * @return Normalized key, or null if nothing is left to match on
+     */
+    private static String normalizeSearchKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = value.trim().replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
+
+    // Case-insensitive prefix match, like LIKE 'key%' under the default collation
+    private static boolean startsWith(String value, String key) {
+        return key == null || (value != null && value.regionMatches(true, 0, key, 0, key.length()));
+    }
+
+    @Override
+    public UpdateResult update(Flight flight) throws SQLException {
+        requireColumns(flight);
+        Flight current = store.flights.get(flight.getFlightId());
+        if (current == null) {
+            return UpdateResult.NOT_FOUND;
+        }
+        if (current.getVersion() != flight.getVersion()) {
+            return UpdateResult.CONFLICT;
+        }
+
+        Flight row = MemoryRows.copy(flight);
+        row.setVersion(current.getVersion() + 1);
+        UpdateResult result = replace(current, row);
+        if (result == UpdateResult.UPDATED) {
+            flight.setVersion(row.getVersion());
+        }
+        return result;
+    }
+
+    @Override
+    public UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException {
+        Flight current = store.flights.get(flightId);
+        if (current == null) {
+            return UpdateResult.NOT_FOUND;
+        }
+        if (current.getVersion() != expectedVersion) {
+            return UpdateResult.CONFLICT;
+        }
+
+        Flight row = MemoryRows.nextVersion(current);
+        changes.applyTo(row);
+        requireColumns(row);
+        return replace(current, row);
+    }
+
+    /**
+     * Swaps in a new version of a flight if current is still the stored one,
+     * keeping the flight number claim and the indexes in step.
+     */
+    private UpdateResult replace(Flight current, Flight row) throws SQLException {
+        int flightId = current.getFlightId();
+        boolean renamed = !MemoryStore.sameKey(current.getFlightNumber(), row.getFlightNumber());
+        if (renamed) {
+            MemoryStore.claim(store.flightNumbers, row.getFlightNumber(), flightId, "flights.flight_number");
+        }
+        if (!store.flights.replace(flightId, current, row)) {
+            Flight now = store.flights.get(flightId);
+            if (renamed && (now == null || !MemoryStore.sameKey(now.getFlightNumber(), row.getFlightNumber()))) {
+                MemoryStore.release(store.flightNumbers, row.getFlightNumber(), flightId);
+            }
+            return now == null ? UpdateResult.NOT_FOUND : UpdateResult.CONFLICT;
+        }
+        store.indexFlight(current, row);
+        store.commit(store.flights, flightId);
+        return UpdateResult.UPDATED;
+    }
+
+    @Override
+    public boolean delete(int flightId) throws SQLException {
+        store.bookingReferences.writeLock().lock();
+        try {
+            if (store.bookingsByFlight.contains(flightId)) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "Cannot delete or update a parent row: flight " + flightId + " is referenced by bookings");
+            }
+            Flight removed = store.flights.remove(flightId);
+            if (removed == null) {
+                return false;
+            }
+            store.indexFlight(removed, null);
+        } finally {
+            store.bookingReferences.writeLock().unlock();
+        }
+        store.commit(store.flights, flightId);
+        return true;
+    }
+
+    @Override
+    public boolean updateAvailableSeats(int flightId, int seats) throws SQLException {
+        Flight previous = store.flights.update(flightId, current -> {
+            Flight row = MemoryRows.nextVersion(current);
+            row.setAvailableSeats(seats);
+            return row;
+        });
+        if (previous == null) {
+            return false;
+        }
+        store.commit(store.flights, flightId);
+        return true;
+    }
+
+    @Override
+    public boolean updateStatus(int flightId, FlightStatus status) throws SQLException {
+        MemoryRows.requireNonNull(status, "status");
+        Flight previous = store.flights.update(flightId, current -> {
+            Flight row = MemoryRows.nextVersion(current);
+            row.setStatus(status);
+            return row;
+        });
+        if (previous == null) {
+            return false;
+        }
+        store.commit(store.flights, flightId);
+        return true;
+    }
+
+    @Override
+    public SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException {
+        SeatReservationResult result = reserveSeats(store, flightId, numSeats);
+        if (result == SeatReservationResult.RESERVED) {
+            store.commit(store.flights, flightId);
+        }
+        return result;
+    }
+
+    /**
+     * Takes seats with a compare-and-set of the flight row, marking the flight
+     * COMPLETED when the last seats are taken. Shared with the booking adapter;
+     * callers commit the flight row.
+     */
+    static SeatReservationResult reserveSeats(MemoryStore store, int flightId, int numSeats) {
+        SeatReservationEvent event = new SeatReservationEvent(flightId, numSeats);
+        event.begin();
+        event.setOutcome(ReservationEvent.ERROR);
+        try {
+            SeatReservationResult result = tryReserveSeats(store, flightId, numSeats);
+            event.setOutcome(result.name());
+            return result;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static SeatReservationResult tryReserveSeats(MemoryStore store, int flightId, int numSeats) {
+        while (true) {
+            Flight current = store.flights.get(flightId);
+            if (current == null) {
+                return SeatReservationResult.FLIGHT_NOT_FOUND;
+            }
+            if (current.getStatus() != FlightStatus.SCHEDULED) {
+                return SeatReservationResult.FLIGHT_CLOSED;
+            }
+            if (current.getAvailableSeats() < numSeats) {
+                return SeatReservationResult.INSUFFICIENT_SEATS;
+            }
+
+            Flight row = MemoryRows.nextVersion(current);
+            row.setAvailableSeats(current.getAvailableSeats() - numSeats);
+            if (current.getAvailableSeats() == numSeats) {
+                row.setStatus(FlightStatus.COMPLETED);
+            }
+            if (store.flights.replace(flightId, current, row)) {
+                return SeatReservationResult.RESERVED;
+            }
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(int flightId, int numSeats) throws SQLException {
+        if (!releaseSeats(store, flightId, numSeats)) {
+            return false;
+        }
+        store.commit(store.flights, flightId);
+        return true;
+    }
+
+    /**
+     * Returns seats, never exceeding the flight's total seats, and reopens a
+     * flight that was COMPLETED by selling its last seats.
+     */
+    static boolean releaseSeats(MemoryStore store, int flightId, int numSeats) {
+        return store.flights.update(flightId, current -> {
+            Flight row = MemoryRows.nextVersion(current);
+            row.setAvailableSeats(Math.min(current.getTotalSeats(), current.getAvailableSeats() + numSeats));
+            if (current.getStatus() == FlightStatus.COMPLETED && row.getAvailableSeats() > 0) {
+                row.setStatus(FlightStatus.SCHEDULED);
+            }
+            return row;
+        }) != null;
+    }
+
+    private static void requireColumns(Flight flight) throws SQLException {
+        MemoryRows.requireNonNull(flight.getFlightNumber(), "flight_number");
+        MemoryRows.requireNonNull(flight.getDepartureTime(), "departure_time");
+        MemoryRows.requireNonNull(flight.getArrivalTime(), "arrival_time");
+        MemoryRows.requireNonNull(flight.getStatus(), "status");
+    }
+}
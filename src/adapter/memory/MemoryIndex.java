@@ -0,0 +1,76 @@
+package adapter.memory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Non-unique secondary index from a column value to the IDs of the rows that
+ * hold it. Keys are kept sorted so a range of them (such as every value with
+ * a given prefix) can be read at once; the IDs under a key are in ID order.
+ *
+ * IDs are added to and removed from a key's set in place, concurrently. A key
+ * whose set becomes empty is only dropped under the prune lock, while no add
+ * can be putting an ID into that same set; otherwise the ID would be dropped
+ * along with the key. Reads take no lock and skip empty sets.
+ */
+final class MemoryIndex<K> {
+    private final ConcurrentSkipListMap<K, NavigableSet<Integer>> entries = new ConcurrentSkipListMap<>();
+    // Shared by adds; exclusive while an empty key is dropped
+    private final ReadWriteLock pruneLock = new ReentrantReadWriteLock();
+
+    void add(K key, int id) {
+        pruneLock.readLock().lock();
+        try {
+            entries.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+        } finally {
+            pruneLock.readLock().unlock();
+        }
+    }
+
+    void remove(K key, int id) {
+        NavigableSet<Integer> ids = entries.get(key);
+        if (ids == null || !ids.remove(id) || !ids.isEmpty()) {
+            return;
+        }
+        // An add in progress may still reuse this set, so the key is only dropped once none
+        // is; if adds are running, the empty key stays behind and reads skip it
+        if (pruneLock.writeLock().tryLock()) {
+            try {
+                if (ids.isEmpty() && entries.get(key) == ids) {
+                    entries.remove(key, ids);
+                }
+            } finally {
+                pruneLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Live view of the IDs indexed under the key, empty if there are none.
+     */
+    NavigableSet<Integer> get(K key) {
+        NavigableSet<Integer> ids = entries.get(key);
+        return ids != null ? ids : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * IDs under every key from fromKey (inclusive) to toKey (exclusive).
+     */
+    List<Integer> range(K fromKey, K toKey) {
+        List<Integer> ids = new ArrayList<>();
+        for (NavigableSet<Integer> keyIds : entries.subMap(fromKey, toKey).values()) {
+            ids.addAll(keyIds);
+        }
+        return ids;
+    }
+
+    boolean contains(K key) {
+        return !get(key).isEmpty();
+    }
+}
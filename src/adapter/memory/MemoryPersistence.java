@@ -0,0 +1,318 @@
+package adapter.memory;
+
+import util.AppConfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps the in-memory store on disk (storage.memory.durable=true) as a
+ * snapshot plus a write-ahead log of the changes made since.
+ *
+ * Log records hold the new version of every changed row, read under the log's
+ * append lock, so the last record for a row always has its latest version and
+ * replaying a record twice does no harm. That lets a snapshot be taken while
+ * the store keeps changing: the log moves to a new segment first, and the
+ * snapshot then only needs that segment and the ones after it.
+ *
+ * Files in the data directory:
+ * <ul>
+ *   <li>snapshot-N.bin: every row, valid together with log segment N onwards</li>
+ *   <li>wal-N.log: log segment N</li>
+ * </ul>
+ */
+final class MemoryPersistence {
+    private static final int SNAPSHOT_MAGIC = 0x46525353; // "FRSS"
+    private static final byte SNAPSHOT_VERSION = RowCodec.FORMAT; // Same as the row format
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final byte[] TABLE_TAGS = {
+            RowCodec.FLIGHT, RowCodec.BOOKING, RowCodec.PASSENGER, RowCodec.PAYMENT, RowCodec.USER};
+
+    private final MemoryStore store;
+    private final Path directory;
+    private final boolean fsync;
+    private final long groupCommitMicros;
+    private final long snapshotLogBytes;
+    private final long snapshotIntervalMillis;
+
+    private WriteAheadLog log;
+    private long nextSegment = 1;
+    private ScheduledExecutorService snapshotter;
+    private long snapshotPosition;
+    private long snapshotTime;
+    private boolean snapshotAtStart = true;
+
+    MemoryPersistence(MemoryStore store) {
+        this.store = store;
+        this.directory = Path.of(AppConfig.get("storage.memory.dataDir", "data").trim());
+        this.fsync = AppConfig.getBoolean("storage.memory.wal.fsync", true);
+        this.groupCommitMicros = AppConfig.getLong("storage.memory.wal.groupCommitMicros", 0);
+        this.snapshotLogBytes = AppConfig.getLong("storage.memory.snapshot.logBytes", 64L << 20);
+        this.snapshotIntervalMillis = AppConfig.getLong("storage.memory.snapshot.intervalMillis", 600000);
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    // ===== Startup =====
+
+    /**
+     * Loads the latest snapshot and replays the log segments written after it.
+     *
+     * @return false if the data directory holds no data yet
+     */
+    boolean recover() throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+
+        long snapshotSegment = latestSnapshot();
+        if (snapshotSegment > 0) {
+            readSnapshot(snapshotPath(snapshotSegment));
+            nextSegment = snapshotSegment;
+        }
+
+        int records = 0;
+        int segments = 0;
+        for (long segment : WriteAheadLog.segments(directory)) {
+            if (segment < snapshotSegment) {
+                continue; // Left over from before the snapshot, deleted at the next one
+            }
+            records += WriteAheadLog.replay(WriteAheadLog.segmentPath(directory, segment), RowCodec.FORMAT,
+                    this::applyRecord);
+            segments++;
+            nextSegment = segment + 1;
+        }
+        store.rebuildIndexes();
+
+        // Without a snapshot, or with a log to replay, the next startup is faster after a new snapshot
+        snapshotAtStart = snapshotSegment == 0 || records > 0;
+        boolean found = snapshotSegment > 0 || records > 0;
+        if (found) {
+            System.out.println("✓ Recovered " + store.flights.size() + " flights, " + store.bookings.size()
+                    + " bookings and " + store.payments.size() + " payments from " + directory
+                    + (snapshotSegment > 0 ? " (snapshot " + snapshotSegment + ", " : " (no snapshot, ")
+                    + records + " log records in " + segments + " segments) in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        }
+        return found;
+    }
+
+    private void applyRecord(DataInputStream in) throws IOException {
+        while (in.available() > 0) {
+            RowCodec.applyRecord(in, store, in.readByte());
+        }
+    }
+
+    /**
+     * Opens a fresh log segment and starts taking periodic snapshots. Call
+     * after recover(), once any initial rows are in place.
+     */
+    void start() throws IOException {
+        log = new WriteAheadLog(directory, nextSegment, RowCodec.FORMAT, fsync, groupCommitMicros);
+        if (snapshotAtStart) {
+            writeSnapshot(nextSegment);
+        }
+        snapshotTime = System.currentTimeMillis();
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "memory-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::snapshotIfDue, 1, 1, TimeUnit.SECONDS);
+    }
+
+    // ===== Logging =====
+
+    /**
+     * Appends the current version of each changed row to the log and waits
+     * until it is durable.
+     */
+    void commit(ChangeSet changes) throws IOException {
+        long position = log.append(out -> {
+            for (int i = 0; i < changes.size(); i++) {
+                MemoryTable<?> table = changes.table(i);
+                int id = changes.id(i);
+                RowCodec.writeRecord(out, RowCodec.tagOf(store, table), id, table.get(id));
+            }
+        });
+        log.awaitDurable(position);
+    }
+
+    // ===== Snapshots =====
+
+    private void snapshotIfDue() {
+        long logged = log.appendedBytes() - snapshotPosition;
+        boolean timerDue = snapshotIntervalMillis > 0
+                && System.currentTimeMillis() - snapshotTime >= snapshotIntervalMillis;
+        if (logged > 0 && (logged >= snapshotLogBytes || timerDue)) {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                System.err.println("✗ Snapshot of the memory store failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Moves the log to a new segment and writes a snapshot that replaces
+     * everything before it.
+     */
+    synchronized void snapshot() throws IOException {
+        long position = log.appendedBytes();
+        long segment = log.rotate();
+        long start = System.nanoTime();
+        writeSnapshot(segment);
+        snapshotPosition = position;
+        snapshotTime = System.currentTimeMillis();
+        System.out.println("✓ Snapshot " + segment + " of the memory store written in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    /**
+     * Writes every row to a temporary file, forces it to disk and renames it
+     * into place, then deletes the files it makes obsolete.
+     */
+    private void writeSnapshot(long segment) throws IOException {
+        Path target = snapshotPath(segment);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeLong(segment);
+            for (byte tag : TABLE_TAGS) {
+                out.writeInt(RowCodec.tableOf(store, tag).sequence());
+            }
+            for (byte tag : TABLE_TAGS) {
+                writeRows(out, tag, RowCodec.tableOf(store, tag));
+            }
+            out.writeByte(0);
+            out.flush();
+            long checksum = checked.getChecksum().getValue();
+            out.writeLong(checksum);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        WriteAheadLog.syncDirectory(directory);
+        deleteObsolete(segment);
+    }
+
+    private static <T> void writeRows(DataOutputStream out, byte tag, MemoryTable<T> table) throws IOException {
+        for (Map.Entry<Integer, T> entry : table.entries()) {
+            RowCodec.writeRecord(out, tag, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void readSnapshot(Path file) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16), new CRC32C());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException(file + " is not a memory store snapshot");
+            }
+            int version = in.readByte();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException(file + " has snapshot version " + version + ", but only version "
+                        + SNAPSHOT_VERSION + " can be read");
+            }
+            in.readLong(); // Segment, also in the file name
+            int[] sequences = new int[TABLE_TAGS.length];
+            for (int i = 0; i < sequences.length; i++) {
+                sequences[i] = in.readInt();
+            }
+
+            byte tag;
+            while ((tag = in.readByte()) != 0) {
+                RowCodec.applyRecord(in, store, tag);
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException(file + " is damaged (checksum mismatch)");
+            }
+
+            for (int i = 0; i < sequences.length; i++) {
+                RowCodec.tableOf(store, TABLE_TAGS[i]).advanceSequence(sequences[i]);
+            }
+        }
+    }
+
+    private long latestSnapshot() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                latest = Math.max(latest, Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(),
+                        name.length() - SNAPSHOT_SUFFIX.length())));
+            }
+        }
+        return latest;
+    }
+
+    private void deleteObsolete(long segment) throws IOException {
+        for (long older : WriteAheadLog.segments(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(WriteAheadLog.segmentPath(directory, older));
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*")) {
+            for (Path file : files) {
+                if (!file.equals(snapshotPath(segment))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path snapshotPath(long segment) {
+        return directory.resolve(String.format("%s%010d%s", SNAPSHOT_PREFIX, segment, SNAPSHOT_SUFFIX));
+    }
+
+    // ===== Shutdown =====
+
+    /**
+     * Stops the snapshot timer, snapshots any logged changes and closes the log.
+     */
+    void shutdown() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        try {
+            if (log.appendedBytes() > snapshotPosition) {
+                snapshot();
+            }
+        } catch (IOException e) {
+            System.err.println("✗ Final snapshot of the memory store failed; the log still has every change: "
+                    + e.getMessage());
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.err.println("✗ Closing the write-ahead log failed: " + e.getMessage());
+        }
+    }
+}
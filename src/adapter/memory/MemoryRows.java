@@ -0,0 +1,145 @@
+package adapter.memory;
+
+import model.entity.Admin;
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.FlightAgent;
+import model.entity.Passenger;
+import model.entity.Payment;
+import model.entity.User;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.Locale;
+
+/**
+ * Copies between caller-owned entities and stored rows.
+ * Only the columns the database tables hold are copied, so an object read
+ * back from the in-memory store looks the same as one read from MySQL, and
+ * no caller can change a stored row through a reference it kept.
+ */
+final class MemoryRows {
+
+    private MemoryRows() {
+    }
+
+    static Flight copy(Flight source) {
+        Flight copy = new Flight();
+        copy.setFlightId(source.getFlightId());
+        copy.setFlightNumber(source.getFlightNumber());
+        copy.setAirline(source.getAirline());
+        copy.setOrigin(source.getOrigin());
+        copy.setDestination(source.getDestination());
+        copy.setDepartureTime(source.getDepartureTime());
+        copy.setArrivalTime(source.getArrivalTime());
+        copy.setPrice(source.getPrice());
+        copy.setTotalSeats(source.getTotalSeats());
+        copy.setAvailableSeats(source.getAvailableSeats());
+        copy.setStatus(source.getStatus());
+        copy.setAircraftType(source.getAircraftType());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    /**
+     * Copies a stored flight as the next version of its row, for a change to
+     * build on.
+     */
+    static Flight nextVersion(Flight current) {
+        Flight row = copy(current);
+        row.setVersion(current.getVersion() + 1);
+        return row;
+    }
+
+    /**
+     * Copies the booking columns; flight and passengers are not attached.
+     */
+    static Booking copy(Booking source) {
+        Booking copy = new Booking();
+        copy.setBookingId(source.getBookingId());
+        copy.setCustomerId(source.getCustomerId());
+        copy.setFlightId(source.getFlightId());
+        copy.setBookingDate(source.getBookingDate());
+        copy.setStatus(source.getStatus());
+        copy.setTotalAmount(source.getTotalAmount());
+        copy.setNumPassengers(source.getNumPassengers());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    static Booking nextVersion(Booking current) {
+        Booking row = copy(current);
+        row.setVersion(current.getVersion() + 1);
+        return row;
+    }
+
+    static Passenger copy(Passenger source) {
+        Passenger copy = new Passenger();
+        copy.setPassengerId(source.getPassengerId());
+        copy.setBookingId(source.getBookingId());
+        copy.setFirstName(source.getFirstName());
+        copy.setLastName(source.getLastName());
+        copy.setPassportNumber(source.getPassportNumber());
+        return copy;
+    }
+
+    static Payment copy(Payment source) {
+        Payment copy = new Payment();
+        copy.setPaymentId(source.getPaymentId());
+        copy.setBookingId(source.getBookingId());
+        copy.setAmount(source.getAmount());
+        copy.setPaymentMethod(source.getPaymentMethod());
+        copy.setPaymentDate(source.getPaymentDate());
+        copy.setStatus(source.getStatus());
+        copy.setTransactionId(source.getTransactionId());
+        return copy;
+    }
+
+    /**
+     * Copies a user into the entity type of its role, like the database
+     * adapter builds it from the users row and the role table.
+     */
+    static User copy(User source) {
+        User copy;
+        switch (source.getRole()) {
+            case CUSTOMER:
+                Customer customer = new Customer();
+                if (source instanceof Customer) {
+                    customer.setRegistrationDate(((Customer) source).getRegistrationDate());
+                }
+                copy = customer;
+                break;
+            case FLIGHT_AGENT:
+                copy = new FlightAgent();
+                break;
+            case ADMIN:
+                copy = new Admin();
+                break;
+            default:
+                copy = new User();
+        }
+        copy.setUserId(source.getUserId());
+        copy.setEmail(source.getEmail());
+        copy.setPassword(source.getPassword());
+        copy.setFirstName(source.getFirstName());
+        copy.setLastName(source.getLastName());
+        copy.setPhone(source.getPhone());
+        copy.setRole(source.getRole());
+        return copy;
+    }
+
+    /**
+     * Key of a unique text column; comparisons ignore case like the
+     * database's default collation.
+     */
+    static String uniqueKey(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    static void requireNonNull(Object value, String column) throws SQLException {
+        if (value == null) {
+            throw new SQLIntegrityConstraintViolationException("Column '" + column + "' cannot be null");
+        }
+    }
+}
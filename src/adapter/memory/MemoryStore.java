@@ -0,0 +1,297 @@
+package adapter.memory;
+
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.Passenger;
+import model.entity.Payment;
+import model.entity.User;
+import model.enums.UserRole;
+import util.AppConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tables and indexes of the in-memory storage engine (storage.backend=memory).
+ * Implements Singleton pattern so every memory adapter works on the same data.
+ *
+ * Secondary indexes cover the lookups the adapters make: flight number,
+ * departure time and origin for flights, customer and flight for bookings,
+ * booking for passengers and payments, and email for users. Ordered index
+ * entries can briefly outlive the row version they were made for, so readers
+ * check the row they find against the key they came from.
+ *
+ * With storage.memory.durable=true the rows are recovered from disk at
+ * startup, and adapters commit every change to a write-ahead log before
+ * returning (see MemoryPersistence). Indexes are never written; they are
+ * rebuilt from the rows.
+ */
+public class MemoryStore {
+    private static volatile MemoryStore instance;
+
+    final MemoryTable<Flight> flights = new MemoryTable<>();
+    final Map<String, Integer> flightNumbers = new ConcurrentHashMap<>();
+    final NavigableSet<OrderKey> departures = new ConcurrentSkipListSet<>();
+    final MemoryIndex<String> flightsByOrigin = new MemoryIndex<>();
+
+    final MemoryTable<Booking> bookings = new MemoryTable<>();
+    final MemoryIndex<Integer> bookingsByCustomer = new MemoryIndex<>();
+    final MemoryIndex<Integer> bookingsByFlight = new MemoryIndex<>();
+    final NavigableSet<OrderKey> bookingDates = new ConcurrentSkipListSet<>();
+
+    final MemoryTable<Passenger> passengers = new MemoryTable<>();
+    final MemoryIndex<Integer> passengersByBooking = new MemoryIndex<>();
+
+    final MemoryTable<Payment> payments = new MemoryTable<>();
+    final MemoryIndex<Integer> paymentsByBooking = new MemoryIndex<>();
+    final Map<String, Integer> transactionIds = new ConcurrentHashMap<>();
+
+    // Foreign keys from bookings to flights and customers: writers that point a
+    // booking at a row hold the read lock from the existence check until the
+    // booking is indexed, deletes of those rows hold the write lock from the
+    // booking check until the row is gone
+    final ReadWriteLock bookingReferences = new ReentrantReadWriteLock();
+
+    final MemoryTable<User> users = new MemoryTable<>();
+    final Map<String, Integer> emails = new ConcurrentHashMap<>();
+
+    final Map<String, Long> counters = new ConcurrentHashMap<>();
+
+    private final MemoryPersistence persistence;
+
+    private MemoryStore() {
+        boolean demoData = AppConfig.getBoolean("storage.memory.demoData", true);
+        if (!AppConfig.getBoolean("storage.memory.durable", false)) {
+            persistence = null;
+            if (demoData) {
+                loadDemoData();
+            }
+            return;
+        }
+
+        persistence = new MemoryPersistence(this);
+        try {
+            boolean recovered = persistence.recover();
+            if (!recovered && demoData) {
+                loadDemoData();
+            }
+            persistence.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the memory store in " + persistence.getDirectory(), e);
+        }
+    }
+
+    /**
+     * Get the singleton instance of MemoryStore.
+     */
+    public static MemoryStore getInstance() {
+        if (instance == null) {
+            synchronized (MemoryStore.class) {
+                if (instance == null) {
+                    instance = new MemoryStore();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Whether changes are logged to disk (storage.memory.durable=true).
+     */
+    public boolean isDurable() {
+        return persistence != null;
+    }
+
+    /**
+     * Directory holding the snapshot and write-ahead log, or null when not durable.
+     */
+    public Path getDataDirectory() {
+        return persistence != null ? persistence.getDirectory() : null;
+    }
+
+    /**
+     * Snapshots the store and closes the write-ahead log. Does nothing when
+     * the store is not durable.
+     */
+    public void shutdown() {
+        if (persistence != null) {
+            persistence.shutdown();
+        }
+    }
+
+    // ===== Durability =====
+
+    /**
+     * Makes a change to one row durable; see commit(ChangeSet).
+     */
+    void commit(MemoryTable<?> table, int id) throws SQLException {
+        if (persistence != null) {
+            commit(new ChangeSet().add(table, id));
+        }
+    }
+
+    /**
+     * Logs the current version of the changed rows and returns once the log
+     * is on disk. Call after the change is applied in memory. If the log
+     * cannot be written the change stays visible in memory, but the caller
+     * learns that it may not survive a restart.
+     */
+    void commit(ChangeSet changes) throws SQLException {
+        if (persistence == null) {
+            return;
+        }
+        try {
+            persistence.commit(changes);
+        } catch (IOException e) {
+            throw new SQLException("Change could not be written to the write-ahead log: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== Unique keys =====
+
+    /**
+     * Reserves a unique value for a row before the row is written.
+     *
+     * @throws SQLIntegrityConstraintViolationException if another row holds the value
+     */
+    static void claim(Map<String, Integer> unique, String value, int id, String keyName) throws SQLException {
+        Integer owner = unique.putIfAbsent(MemoryRows.uniqueKey(value), id);
+        if (owner != null && owner != id) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Duplicate entry '" + value + "' for key '" + keyName + "'");
+        }
+    }
+
+    /**
+     * Drops a row's claim on a value it no longer holds.
+     */
+    static void release(Map<String, Integer> unique, String value, int id) {
+        if (value != null) {
+            unique.remove(MemoryRows.uniqueKey(value), id);
+        }
+    }
+
+    static boolean sameKey(String a, String b) {
+        return a == null ? b == null : b != null && MemoryRows.uniqueKey(a).equals(MemoryRows.uniqueKey(b));
+    }
+
+    // ===== Index maintenance =====
+
+    /**
+     * Moves a flight's index entries from one row version to the next.
+     * Pass null as previous for an insert and as current for a delete.
+     */
+    void indexFlight(Flight previous, Flight current) {
+        if (current != null) {
+            departures.add(new OrderKey(current.getDepartureTime(), current.getFlightId()));
+            flightsByOrigin.add(MemoryRows.uniqueKey(current.getOrigin()), current.getFlightId());
+        }
+        if (previous != null) {
+            if (current == null || !previous.getDepartureTime().equals(current.getDepartureTime())) {
+                departures.remove(new OrderKey(previous.getDepartureTime(), previous.getFlightId()));
+            }
+            if (current == null || !sameKey(previous.getOrigin(), current.getOrigin())) {
+                flightsByOrigin.remove(MemoryRows.uniqueKey(previous.getOrigin()), previous.getFlightId());
+            }
+            if (current == null || !sameKey(previous.getFlightNumber(), current.getFlightNumber())) {
+                release(flightNumbers, previous.getFlightNumber(), previous.getFlightId());
+            }
+        }
+    }
+
+    void indexBooking(Booking booking) {
+        bookingsByCustomer.add(booking.getCustomerId(), booking.getBookingId());
+        bookingsByFlight.add(booking.getFlightId(), booking.getBookingId());
+        bookingDates.add(new OrderKey(booking.getBookingDate(), booking.getBookingId()));
+    }
+
+    /**
+     * Moves a booking to another flight in the flight index. Customer and
+     * booking date never change after insert.
+     */
+    void reindexBooking(Booking previous, Booking current) {
+        if (previous.getFlightId() != current.getFlightId()) {
+            bookingsByFlight.add(current.getFlightId(), current.getBookingId());
+            bookingsByFlight.remove(previous.getFlightId(), previous.getBookingId());
+        }
+    }
+
+    void indexPayment(Payment payment) {
+        paymentsByBooking.add(payment.getBookingId(), payment.getPaymentId());
+    }
+
+    /**
+     * Builds every index from the rows, after they were read from disk.
+     */
+    void rebuildIndexes() {
+        for (Flight flight : flights.rows()) {
+            flightNumbers.put(MemoryRows.uniqueKey(flight.getFlightNumber()), flight.getFlightId());
+            indexFlight(null, flight);
+        }
+        for (Booking booking : bookings.rows()) {
+            indexBooking(booking);
+        }
+        for (Passenger passenger : passengers.rows()) {
+            passengersByBooking.add(passenger.getBookingId(), passenger.getPassengerId());
+        }
+        for (Payment payment : payments.rows()) {
+            indexPayment(payment);
+            if (payment.getTransactionId() != null) {
+                transactionIds.put(MemoryRows.uniqueKey(payment.getTransactionId()), payment.getPaymentId());
+            }
+        }
+        for (User user : users.rows()) {
+            emails.put(MemoryRows.uniqueKey(user.getEmail()), user.getUserId());
+        }
+    }
+
+    // ===== Demo data =====
+
+    /**
+     * Same default accounts and sample flights as database/schema.sql, so the
+     * application can be tried without MySQL.
+     */
+    private void loadDemoData() {
+        addDemoUser("admin@flight.com", "admin123", "System", "Admin", "1234567890", UserRole.ADMIN);
+        addDemoUser("agent@flight.com", "agent123", "Flight", "Agent", "0987654321", UserRole.FLIGHT_AGENT);
+        addDemoUser("customer@flight.com", "customer123", "John", "Doe", "5551234567", UserRole.CUSTOMER);
+
+        addDemoFlight("FL001", "SkyHigh Air", "New York", "London", 1, 7, 500.00, 150, "Boeing 737");
+        addDemoFlight("FL002", "Oceanic", "Los Angeles", "Tokyo", 2, 11, 800.00, 200, "Airbus A380");
+        addDemoFlight("FL003", "Global Air", "Paris", "Dubai", 3, 6, 450.00, 180, "Boeing 777");
+    }
+
+    private void addDemoUser(String email, String password, String firstName, String lastName, String phone,
+                             UserRole role) {
+        User user = MemoryRows.copy(new User(email, password, firstName, lastName, phone, role));
+        if (user instanceof Customer) {
+            ((Customer) user).setRegistrationDate(LocalDate.now());
+        }
+        user.setUserId(users.nextId());
+        users.insert(user.getUserId(), user);
+        emails.put(MemoryRows.uniqueKey(email), user.getUserId());
+    }
+
+    private void addDemoFlight(String flightNumber, String airline, String origin, String destination,
+                               int daysAhead, int hours, double price, int seats, String aircraftType) {
+        LocalDateTime departure = LocalDateTime.now().withNano(0).plusDays(daysAhead);
+        Flight flight = new Flight(flightNumber, airline, origin, destination, departure, departure.plusHours(hours),
+                price, seats, aircraftType);
+        flight.setFlightId(flights.nextId());
+        flights.insert(flight.getFlightId(), flight);
+        flightNumbers.put(MemoryRows.uniqueKey(flightNumber), flight.getFlightId());
+        indexFlight(null, flight);
+    }
+}
@@ -0,0 +1,147 @@
+package adapter.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * One table of the in-memory store: rows by primary key in key order, plus
+ * the auto-increment sequence.
+ * Published rows are never modified. A change builds a new row and swaps it
+ * in only if the row it was built from is still current, so readers take no
+ * locks and concurrent writers retry instead of overwriting each other.
+ */
+final class MemoryTable<T> {
+    private final ConcurrentSkipListMap<Integer, T> rows = new ConcurrentSkipListMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+
+    int nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    T get(int id) {
+        return rows.get(id);
+    }
+
+    /**
+     * Adds a row under an ID, moving the sequence past it.
+     *
+     * @return false if the ID is already taken
+     */
+    boolean insert(int id, T row) {
+        if (rows.putIfAbsent(id, row) != null) {
+            return false;
+        }
+        size.incrementAndGet();
+        sequence.accumulateAndGet(id, Math::max);
+        return true;
+    }
+
+    /**
+     * Sets a row while the store is recovered from disk, replacing any
+     * version read earlier.
+     */
+    void restore(int id, T row) {
+        if (rows.put(id, row) == null) {
+            size.incrementAndGet();
+        }
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    int sequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Moves the sequence to at least the given value, so IDs handed out
+     * before a restart are not handed out again.
+     */
+    void advanceSequence(int value) {
+        sequence.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Swaps in a new version of a row if expected is still the current one.
+     */
+    boolean replace(int id, T expected, T updated) {
+        return rows.replace(id, expected, updated);
+    }
+
+    /**
+     * Applies a change to the current row, retrying on concurrent writes.
+     *
+     * @return The row that was replaced, or null if there is no such row
+     */
+    T update(int id, UnaryOperator<T> change) {
+        while (true) {
+            T current = rows.get(id);
+            if (current == null) {
+                return null;
+            }
+            if (rows.replace(id, current, change.apply(current))) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * @return The removed row, or null if there was none
+     */
+    T remove(int id) {
+        T removed = rows.remove(id);
+        if (removed != null) {
+            size.decrementAndGet();
+        }
+        return removed;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Live view of all rows in key order.
+     */
+    Collection<T> rows() {
+        return rows.values();
+    }
+
+    /**
+     * Live view of the rows with a key greater than the given one, in key order.
+     */
+    Collection<T> rowsAfter(int id) {
+        return rows.tailMap(id, false).values();
+    }
+
+    /**
+     * Live view of all rows with their IDs, in key order.
+     */
+    Set<Map.Entry<Integer, T>> entries() {
+        return rows.entrySet();
+    }
+
+    NavigableSet<Integer> ids() {
+        return rows.keySet();
+    }
+
+    /**
+     * Returns the ID that ends every full page of pageSize rows in ID order.
+     */
+    List<Integer> pageBoundaries(int pageSize) {
+        List<Integer> boundaries = new ArrayList<>();
+        int position = 0;
+        for (int id : rows.keySet()) {
+            if (++position % pageSize == 0) {
+                boundaries.add(id);
+            }
+        }
+        return boundaries;
+    }
+}
@@ -0,0 +1,40 @@
+package adapter.memory;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry of an ordered index on a timestamp column, with the row ID as the
+ * tie-breaker (the same order as the keyset pages of the database adapters).
+ */
+final class OrderKey implements Comparable<OrderKey> {
+    final LocalDateTime time;
+    final int id;
+
+    OrderKey(LocalDateTime time, int id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    /**
+     * A key sorting before every row at the given time.
+     */
+    static OrderKey startOf(LocalDateTime time) {
+        return new OrderKey(time, Integer.MIN_VALUE);
+    }
+
+    @Override
+    public int compareTo(OrderKey other) {
+        int byTime = time.compareTo(other.time);
+        return byTime != 0 ? byTime : Integer.compare(id, other.id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof OrderKey && compareTo((OrderKey) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return time.hashCode() * 31 + id;
+    }
+}
@@ -0,0 +1,131 @@
+package adapter.memory;
+
+import adapter.interfaces.PaymentDataAdapter;
+import model.entity.Payment;
+import model.enums.PaymentStatus;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * In-memory adapter for payment data access operations.
+ * Payments are indexed by booking, and transaction IDs are unique as in the
+ * payments table.
+ */
+public class PaymentMemoryAdapter implements PaymentDataAdapter {
+    private final MemoryStore store;
+
+    public PaymentMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public Payment create(Payment payment) throws SQLException {
+        MemoryRows.requireNonNull(payment.getStatus(), "status");
+        if (store.bookings.get(payment.getBookingId()) == null) {
+            throw new SQLIntegrityConstraintViolationException(
+                    "Cannot add or update a child row: booking " + payment.getBookingId() + " does not exist");
+        }
+        int paymentId = store.payments.nextId();
+        if (payment.getTransactionId() != null) {
+            MemoryStore.claim(store.transactionIds, payment.getTransactionId(), paymentId, "payments.transaction_id");
+        }
+
+        Payment row = MemoryRows.copy(payment);
+        row.setPaymentId(paymentId);
+        if (row.getPaymentDate() == null) {
+            row.setPaymentDate(LocalDateTime.now());
+        }
+        store.payments.insert(paymentId, row);
+        store.indexPayment(row);
+        store.commit(store.payments, paymentId);
+
+        payment.setPaymentId(paymentId);
+        return payment;
+    }
+
+    @Override
+    public Payment findById(int paymentId) throws SQLException {
+        Payment row = store.payments.get(paymentId);
+        return row != null ? MemoryRows.copy(row) : null;
+    }
+
+    @Override
+    public Payment findByBookingId(int bookingId) throws SQLException {
+        for (int paymentId : store.paymentsByBooking.get(bookingId)) {
+            Payment row = store.payments.get(paymentId);
+            if (row != null) {
+                return MemoryRows.copy(row);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Payment> findAll() throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        for (Payment row : store.payments.rows()) {
+            payments.add(MemoryRows.copy(row));
+        }
+        payments.sort(Comparator.comparing(Payment::getPaymentDate).thenComparingInt(Payment::getPaymentId)
+                .reversed());
+        return payments;
+    }
+
+    @Override
+    public List<Payment> findAllAfter(int lastPaymentId, int limit) throws SQLException {
+        List<Payment> payments = new ArrayList<>();
+        for (Payment row : store.payments.rowsAfter(lastPaymentId)) {
+            if (payments.size() >= limit) {
+                break;
+            }
+            payments.add(MemoryRows.copy(row));
+        }
+        return payments;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Payment> action) throws SQLException {
+        for (Payment row : store.payments.rows()) {
+            action.accept(MemoryRows.copy(row));
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int paymentId, PaymentStatus status) throws SQLException {
+        MemoryRows.requireNonNull(status, "status");
+        Payment previous = store.payments.update(paymentId, current -> {
+            Payment row = MemoryRows.copy(current);
+            row.setStatus(status);
+            return row;
+        });
+        if (previous == null) {
+            return false;
+        }
+        store.commit(store.payments, paymentId);
+        return true;
+    }
+
+    @Override
+    public boolean transitionStatus(int paymentId, PaymentStatus expected, PaymentStatus status)
+            throws SQLException {
+        MemoryRows.requireNonNull(status, "status");
+        while (true) {
+            Payment current = store.payments.get(paymentId);
+            if (current == null || current.getStatus() != expected) {
+                return false;
+            }
+            Payment row = MemoryRows.copy(current);
+            row.setStatus(status);
+            if (store.payments.replace(paymentId, current, row)) {
+                store.commit(store.payments, paymentId);
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package adapter.memory;
+
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.Passenger;
+import model.entity.Payment;
+import model.entity.User;
+import model.enums.BookingStatus;
+import model.enums.FlightStatus;
+import model.enums.PaymentStatus;
+import model.enums.UserRole;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of stored rows, shared by the write-ahead log and snapshots.
+ *
+ * A row record is a table tag, the row ID and, unless the tag has the
+ * DELETED bit set, the row's columns in a fixed order. Enums are written as
+ * their ordinal, so new constants may only be added at the end.
+ *
+ * Files record the row format they were written in. Only FORMAT is read;
+ * files in any other format are rejected rather than converted.
+ */
+final class RowCodec {
+    /**
+     * Row format written and read by this code.
+     */
+    static final int FORMAT = 3;
+
+    static final byte FLIGHT = 1;
+    static final byte BOOKING = 2;
+    static final byte PASSENGER = 3;
+    static final byte PAYMENT = 4;
+    static final byte USER = 5;
+    static final byte DELETED = (byte) 0x80;
+
+    private static final FlightStatus[] FLIGHT_STATUSES = FlightStatus.values();
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+    private static final PaymentStatus[] PAYMENT_STATUSES = PaymentStatus.values();
+    private static final UserRole[] USER_ROLES = UserRole.values();
+
+    private RowCodec() {
+    }
+
+    /**
+     * Tag of the store table a record belongs to.
+     */
+    static byte tagOf(MemoryStore store, MemoryTable<?> table) {
+        if (table == store.flights) {
+            return FLIGHT;
+        } else if (table == store.bookings) {
+            return BOOKING;
+        } else if (table == store.passengers) {
+            return PASSENGER;
+        } else if (table == store.payments) {
+            return PAYMENT;
+        } else if (table == store.users) {
+            return USER;
+        }
+        throw new IllegalArgumentException("Table is not part of the store");
+    }
+
+    static MemoryTable<?> tableOf(MemoryStore store, byte tag) throws IOException {
+        switch (tag) {
+            case FLIGHT:
+                return store.flights;
+            case BOOKING:
+                return store.bookings;
+            case PASSENGER:
+                return store.passengers;
+            case PAYMENT:
+                return store.payments;
+            case USER:
+                return store.users;
+            default:
+                throw new IOException("Unknown table tag " + tag);
+        }
+    }
+
+    /**
+     * Writes the current version of a row, or its deletion if it is gone.
+     */
+    static void writeRecord(DataOutput out, byte tag, int id, Object row) throws IOException {
+        if (row == null) {
+            out.writeByte(tag | DELETED);
+            out.writeInt(id);
+            return;
+        }
+        out.writeByte(tag);
+        out.writeInt(id);
+        switch (tag) {
+            case FLIGHT:
+                writeFlight(out, (Flight) row);
+                break;
+            case BOOKING:
+                writeBooking(out, (Booking) row);
+                break;
+            case PASSENGER:
+                writePassenger(out, (Passenger) row);
+                break;
+            case PAYMENT:
+                writePayment(out, (Payment) row);
+                break;
+            case USER:
+                writeUser(out, (User) row);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown table tag " + tag);
+        }
+    }
+
+    /**
+     * Reads the rest of a record whose tag byte has already been read and
+     * applies it to the store's tables. The caller has checked that the file
+     * it comes from is in FORMAT.
+     */
+    @SuppressWarnings("unchecked")
+    static void applyRecord(DataInput in, MemoryStore store, byte tagByte) throws IOException {
+        byte tag = (byte) (tagByte & ~DELETED);
+        MemoryTable<Object> table = (MemoryTable<Object>) tableOf(store, tag);
+        int id = in.readInt();
+        if ((tagByte & DELETED) != 0) {
+            table.remove(id);
+            return;
+        }
+        table.restore(id, readRow(in, tag, id));
+    }
+
+    private static Object readRow(DataInput in, byte tag, int id) throws IOException {
+        switch (tag) {
+            case FLIGHT:
+                return readFlight(in, id);
+            case BOOKING:
+                return readBooking(in, id);
+            case PASSENGER:
+                return readPassenger(in, id);
+            case PAYMENT:
+                return readPayment(in, id);
+            default:
+                return readUser(in, id);
+        }
+    }
+
+    // ===== Rows =====
+
+    private static void writeFlight(DataOutput out, Flight flight) throws IOException {
+        writeString(out, flight.getFlightNumber());
+        writeString(out, flight.getAirline());
+        writeString(out, flight.getOrigin());
+        writeString(out, flight.getDestination());
+        writeTime(out, flight.getDepartureTime());
+        writeTime(out, flight.getArrivalTime());
+        out.writeDouble(flight.getPrice());
+        out.writeInt(flight.getTotalSeats());
+        out.writeInt(flight.getAvailableSeats());
+        out.writeByte(flight.getStatus().ordinal());
+        writeString(out, flight.getAircraftType());
+        out.writeInt(flight.getVersion());
+    }
+
+    private static Flight readFlight(DataInput in, int id) throws IOException {
+        Flight flight = new Flight();
+        flight.setFlightId(id);
+        flight.setFlightNumber(readString(in));
+        flight.setAirline(readString(in));
+        flight.setOrigin(readString(in));
+        flight.setDestination(readString(in));
+        flight.setDepartureTime(readTime(in));
+        flight.setArrivalTime(readTime(in));
+        flight.setPrice(in.readDouble());
+        flight.setTotalSeats(in.readInt());
+        flight.setAvailableSeats(in.readInt());
+        flight.setStatus(FLIGHT_STATUSES[in.readByte()]);
+        flight.setAircraftType(readString(in));
+        flight.setVersion(in.readInt());
+        return flight;
+    }
+
+    private static void writeBooking(DataOutput out, Booking booking) throws IOException {
+        out.writeInt(booking.getCustomerId());
+        out.writeInt(booking.getFlightId());
+        writeTime(out, booking.getBookingDate());
+        out.writeByte(booking.getStatus().ordinal());
+        out.writeDouble(booking.getTotalAmount());
+        out.writeInt(booking.getNumPassengers());
+        out.writeInt(booking.getVersion());
+    }
+
+    private static Booking readBooking(DataInput in, int id) throws IOException {
+        Booking booking = new Booking();
+        booking.setBookingId(id);
+        booking.setCustomerId(in.readInt());
+        booking.setFlightId(in.readInt());
+        booking.setBookingDate(readTime(in));
+        booking.setStatus(BOOKING_STATUSES[in.readByte()]);
+        booking.setTotalAmount(in.readDouble());
+        booking.setNumPassengers(in.readInt());
+        booking.setVersion(in.readInt());
+        return booking;
+    }
+
+    private static void writePassenger(DataOutput out, Passenger passenger) throws IOException {
+        out.writeInt(passenger.getBookingId());
+        writeString(out, passenger.getFirstName());
+        writeString(out, passenger.getLastName());
+        writeString(out, passenger.getPassportNumber());
+    }
+
+    private static Passenger readPassenger(DataInput in, int id) throws IOException {
+        Passenger passenger = new Passenger();
+        passenger.setPassengerId(id);
+        passenger.setBookingId(in.readInt());
+        passenger.setFirstName(readString(in));
+        passenger.setLastName(readString(in));
+        passenger.setPassportNumber(readString(in));
+        return passenger;
+    }
+
+    private static void writePayment(DataOutput out, Payment payment) throws IOException {
+        out.writeInt(payment.getBookingId());
+        out.writeDouble(payment.getAmount());
+        writeString(out, payment.getPaymentMethod());
+        writeTime(out, payment.getPaymentDate());
+        out.writeByte(payment.getStatus().ordinal());
+        writeString(out, payment.getTransactionId());
+    }
+
+    private static Payment readPayment(DataInput in, int id) throws IOException {
+        Payment payment = new Payment();
+        payment.setPaymentId(id);
+        payment.setBookingId(in.readInt());
+        payment.setAmount(in.readDouble());
+        payment.setPaymentMethod(readString(in));
+        payment.setPaymentDate(readTime(in));
+        payment.setStatus(PAYMENT_STATUSES[in.readByte()]);
+        payment.setTransactionId(readString(in));
+        return payment;
+    }
+
+    private static void writeUser(DataOutput out, User user) throws IOException {
+        out.writeByte(user.getRole().ordinal());
+        writeString(out, user.getEmail());
+        writeString(out, user.getPassword());
+        writeString(out, user.getFirstName());
+        writeString(out, user.getLastName());
+        writeString(out, user.getPhone());
+        LocalDate registered = user instanceof Customer ? ((Customer) user).getRegistrationDate() : null;
+        out.writeLong(registered != null ? registered.toEpochDay() : Long.MIN_VALUE);
+    }
+
+    private static User readUser(DataInput in, int id) throws IOException {
+        User user = new User();
+        user.setRole(USER_ROLES[in.readByte()]);
+        user.setUserId(id);
+        user.setEmail(readString(in));
+        user.setPassword(readString(in));
+        user.setFirstName(readString(in));
+        user.setLastName(readString(in));
+        user.setPhone(readString(in));
+        long registered = in.readLong();
+
+        User row = MemoryRows.copy(user);
+        if (row instanceof Customer && registered != Long.MIN_VALUE) {
+            ((Customer) row).setRegistrationDate(LocalDate.ofEpochDay(registered));
+        }
+        return row;
+    }
+
+    // ===== Columns =====
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,64 @@
+package adapter.memory;
+
+import adapter.interfaces.StatisticsDataAdapter;
+import model.entity.Booking;
+import model.entity.Flight;
+import model.entity.SystemStatistics;
+import model.enums.BookingStatus;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes system statistics in one pass over the in-memory bookings.
+ * Amounts are summed in cents so totals match the database's DECIMAL sums.
+ */
+public class StatisticsMemoryAdapter implements StatisticsDataAdapter {
+    private final MemoryStore store;
+
+    public StatisticsMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public SystemStatistics loadStatistics(int topN) throws SQLException {
+        Map<BookingStatus, Integer> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+        long confirmedCents = 0;
+        Map<String, Long> centsByRoute = new HashMap<>();
+        Map<String, Long> centsByAirline = new HashMap<>();
+
+        for (Booking booking : store.bookings.rows()) {
+            bookingsByStatus.merge(booking.getStatus(), 1, Integer::sum);
+            if (booking.getStatus() != BookingStatus.CONFIRMED) {
+                continue;
+            }
+            long cents = Math.round(booking.getTotalAmount() * 100);
+            confirmedCents += cents;
+            Flight flight = store.flights.get(booking.getFlightId());
+            if (flight != null) {
+                centsByRoute.merge(flight.getOrigin() + " → " + flight.getDestination(), cents, Long::sum);
+                centsByAirline.merge(flight.getAirline(), cents, Long::sum);
+            }
+        }
+
+        return new SystemStatistics(store.flights.size(), bookingsByStatus, confirmedCents / 100.0,
+                top(centsByRoute, topN), top(centsByAirline, topN), LocalDateTime.now());
+    }
+
+    private static Map<String, Double> top(Map<String, Long> cents, int topN) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(cents.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        Map<String, Double> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(topN, entries.size()))) {
+            top.put(entry.getKey(), entry.getValue() / 100.0);
+        }
+        return top;
+    }
+}
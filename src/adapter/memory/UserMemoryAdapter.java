@@ -0,0 +1,135 @@
+package adapter.memory;
+
+import adapter.interfaces.UserDataAdapter;
+import model.entity.Admin;
+import model.entity.Customer;
+import model.entity.FlightAgent;
+import model.entity.User;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+/**
+ * In-memory adapter for user data access operations.
+ * Users are found by email through a unique, case-insensitive index; the
+ * role-specific data lives on the stored user itself.
+ */
+public class UserMemoryAdapter implements UserDataAdapter {
+    private final MemoryStore store;
+
+    public UserMemoryAdapter() {
+        this.store = MemoryStore.getInstance();
+    }
+
+    @Override
+    public User create(User user) throws SQLException {
+        MemoryRows.requireNonNull(user.getEmail(), "email");
+        MemoryRows.requireNonNull(user.getRole(), "role");
+        int userId = store.users.nextId();
+        MemoryStore.claim(store.emails, user.getEmail(), userId, "users.email");
+
+        User row = MemoryRows.copy(user);
+        row.setUserId(userId);
+        store.users.insert(userId, row);
+        store.commit(store.users, userId);
+
+        user.setUserId(userId);
+        return user;
+    }
+
+    @Override
+    public Customer createCustomer(Customer customer) throws SQLException {
+        return (Customer) create(customer);
+    }
+
+    @Override
+    public FlightAgent createFlightAgent(FlightAgent agent) throws SQLException {
+        return (FlightAgent) create(agent);
+    }
+
+    @Override
+    public Admin createAdmin(Admin admin) throws SQLException {
+        return (Admin) create(admin);
+    }
+
+    @Override
+    public User findByEmail(String email) throws SQLException {
+        User row = rowByEmail(email);
+        return row != null ? MemoryRows.copy(row) : null;
+    }
+
+    private User rowByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        Integer userId = store.emails.get(MemoryRows.uniqueKey(email));
+        if (userId == null) {
+            return null;
+        }
+        User row = store.users.get(userId);
+        return row != null && MemoryStore.sameKey(row.getEmail(), email) ? row : null;
+    }
+
+    @Override
+    public User findById(int userId) throws SQLException {
+        User row = store.users.get(userId);
+        return row != null ? MemoryRows.copy(row) : null;
+    }
+
+    @Override
+    public boolean update(User user) throws SQLException {
+        MemoryRows.requireNonNull(user.getEmail(), "email");
+        int userId = user.getUserId();
+        if (store.users.get(userId) == null) {
+            return false;
+        }
+        MemoryStore.claim(store.emails, user.getEmail(), userId, "users.email");
+
+        // Role and registration date are not part of the update, as in the database adapter
+        User previous = store.users.update(userId, current -> {
+            User row = MemoryRows.copy(current);
+            row.setEmail(user.getEmail());
+            row.setPassword(user.getPassword());
+            row.setFirstName(user.getFirstName());
+            row.setLastName(user.getLastName());
+            row.setPhone(user.getPhone());
+            return row;
+        });
+        if (previous == null) {
+            MemoryStore.release(store.emails, user.getEmail(), userId);
+            return false;
+        }
+        if (!MemoryStore.sameKey(previous.getEmail(), user.getEmail())) {
+            MemoryStore.release(store.emails, previous.getEmail(), userId);
+        }
+        store.commit(store.users, userId);
+        return true;
+    }
+
+    @Override
+    public boolean delete(int userId) throws SQLException {
+        store.bookingReferences.writeLock().lock();
+        try {
+            if (store.bookingsByCustomer.contains(userId)) {
+                throw new SQLIntegrityConstraintViolationException(
+                        "Cannot delete or update a parent row: user " + userId + " is referenced by bookings");
+            }
+            User removed = store.users.remove(userId);
+            if (removed == null) {
+                return false;
+            }
+            MemoryStore.release(store.emails, removed.getEmail(), userId);
+        } finally {
+            store.bookingReferences.writeLock().unlock();
+        }
+        store.commit(store.users, userId);
+        return true;
+    }
+
+    @Override
+    public User authenticate(String email, String password) throws SQLException {
+        User row = rowByEmail(email);
+        return row != null && row.getPassword() != null && row.getPassword().equals(password)
+                ? MemoryRows.copy(row) : null;
+    }
+}
@@ -0,0 +1,464 @@
+package adapter.memory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of the changes made to the in-memory store, written with
+ * group commit.
+ *
+ * Committing threads only copy their record into a shared buffer and then
+ * wait. A single writer thread takes everything appended since its last pass
+ * and writes it with one FileChannel write and one fsync, so the more threads
+ * commit at once, the more records share each fsync. A record is framed as
+ * its payload length, a CRC32C of the payload and the payload; replay stops
+ * at the first frame that was not completely written.
+ *
+ * The log is split into numbered segment files. Starting a new segment marks
+ * the point from which a snapshot needs the log; older segments can then be
+ * deleted. Each segment starts with a magic number and the format of the
+ * records in it; replay rejects a segment in any other format.
+ */
+final class WriteAheadLog {
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+    private static final int SEGMENT_MAGIC = 0x4652574C; // "FRWL"
+    private static final int SEGMENT_HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Writes the payload of one record. Called under the append lock, so it
+     * must only encode.
+     */
+    interface RecordWriter {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Consumes the payload of one replayed record.
+     */
+    interface RecordReader {
+        void read(DataInputStream in) throws IOException;
+    }
+
+    private final Path directory;
+    private final int format;
+    private final boolean fsync;
+    private final long groupCommitNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private LogBuffer active = new LogBuffer();
+    private LogBuffer writing = new LogBuffer();
+    private volatile long appendedPosition;
+    private long requestedSegment;
+    private boolean closing;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private volatile long durablePosition;
+    private volatile long segment;
+    private volatile IOException failure;
+
+    private FileChannel channel;
+    private final Thread writer;
+
+    /**
+     * Opens a new, empty segment and starts the writer thread.
+     *
+     * @param format Record format written into each segment's header
+     * @param fsync Force every batch to disk; without it a batch only reaches the OS cache
+     * @param groupCommitMicros Extra time the writer waits to gather more records into a batch
+     */
+    WriteAheadLog(Path directory, long segment, int format, boolean fsync, long groupCommitMicros)
+            throws IOException {
+        this.directory = directory;
+        this.format = format;
+        this.fsync = fsync;
+        this.groupCommitNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitMicros);
+        this.segment = segment;
+        this.requestedSegment = segment;
+        this.channel = openSegment(segment);
+
+        this.writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ===== Appending =====
+
+    /**
+     * Appends one record.
+     *
+     * @return Log position after the record, to pass to awaitDurable
+     * @throws IOException if the log has failed or is closed
+     */
+    long append(RecordWriter record) throws IOException {
+        appendLock.lock();
+        try {
+            checkOpen();
+            LogBuffer buffer = active;
+            int start = buffer.size();
+            buffer.data.writeLong(0); // Header, filled in below
+            try {
+                record.writeTo(buffer.data);
+            } catch (IOException | RuntimeException e) {
+                buffer.truncate(start);
+                throw e;
+            }
+            int length = buffer.size() - start - HEADER_BYTES;
+            if (length > MAX_RECORD_BYTES) {
+                buffer.truncate(start);
+                throw new IOException("Log record of " + length + " bytes is too large");
+            }
+            buffer.putInt(start, length);
+            buffer.putInt(start + 4, buffer.crc(start + HEADER_BYTES, length));
+
+            appendedPosition += HEADER_BYTES + length;
+            if (start == 0) {
+                appended.signal();
+            }
+            return appendedPosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the log is durable up to the given position.
+     *
+     * @throws IOException if the writer failed before getting there
+     */
+    void awaitDurable(long position) throws IOException {
+        awaitWriter(() -> durablePosition >= position);
+    }
+
+    /**
+     * Bytes appended since the log was opened.
+     */
+    long appendedBytes() {
+        return appendedPosition;
+    }
+
+    /**
+     * Switches to the next segment once everything appended so far is
+     * written to the current one.
+     *
+     * @return Number of the new segment
+     */
+    long rotate() throws IOException {
+        long next;
+        appendLock.lock();
+        try {
+            checkOpen();
+            next = ++requestedSegment;
+            appended.signal();
+        } finally {
+            appendLock.unlock();
+        }
+
+        awaitWriter(() -> segment >= next);
+        return next;
+    }
+
+    /**
+     * Writes what is left, closes the current segment and stops the writer.
+     */
+    void close() throws IOException {
+        appendLock.lock();
+        try {
+            closing = true;
+            appended.signal();
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Parks until the writer has made progress that satisfies done. After
+     * each batch the writer unparks exactly the waiters it satisfied, so a
+     * large group commit does not wake everyone into a lock convoy.
+     */
+    private void awaitWriter(BooleanSupplier done) throws IOException {
+        if (done.getAsBoolean()) {
+            return;
+        }
+        Waiter waiter = new Waiter(done);
+        waiters.add(waiter);
+        while (!done.getAsBoolean()) {
+            if (failure != null) {
+                waiters.remove(waiter);
+                throw new IOException("Write-ahead log failed: " + failure.getMessage(), failure);
+            }
+            LockSupport.park(this);
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed: " + failure.getMessage(), failure);
+        }
+        if (closing) {
+            throw new IOException("Write-ahead log is closed");
+        }
+    }
+
+    // ===== Writer thread =====
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                appendLock.lock();
+                try {
+                    while (active.size() == 0 && requestedSegment == segment && !closing) {
+                        appended.awaitUninterruptibly();
+                    }
+                    if (active.size() == 0 && requestedSegment == segment) {
+                        break; // Closing with nothing left to write
+                    }
+                } finally {
+                    appendLock.unlock();
+                }
+
+                if (groupCommitNanos > 0) {
+                    LockSupport.parkNanos(groupCommitNanos);
+                }
+
+                LogBuffer batch;
+                long upTo;
+                long nextSegment;
+                appendLock.lock();
+                try {
+                    batch = active;
+                    active = writing;
+                    writing = batch;
+                    upTo = appendedPosition;
+                    nextSegment = requestedSegment;
+                } finally {
+                    appendLock.unlock();
+                }
+
+                if (batch.size() > 0) {
+                    batch.writeTo(channel);
+                    if (fsync) {
+                        channel.force(false);
+                    }
+                    batch.reset();
+                }
+                if (nextSegment != segment) {
+                    channel.close();
+                    channel = openSegment(nextSegment);
+                    segment = nextSegment;
+                }
+                publish(upTo);
+            }
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("✗ Write-ahead log failed, changes are no longer durable: " + e.getMessage());
+            publish(durablePosition);
+        }
+    }
+
+    private void publish(long position) {
+        durablePosition = position;
+        for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            if (failure != null || waiter.done.getAsBoolean()) {
+                it.remove();
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel opened = FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            // Forced to disk with the segment's first batch
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(SEGMENT_MAGIC).putInt(format);
+            header.flip();
+            while (header.hasRemaining()) {
+                opened.write(header);
+            }
+        } catch (IOException e) {
+            opened.close();
+            throw e;
+        }
+        syncDirectory(directory);
+        return opened;
+    }
+
+    // ===== Files =====
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Numbers of the segment files in a directory, in ascending order.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                numbers.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Reads every complete record of a segment file. A record cut short by a
+     * crash, and anything after it, is ignored.
+     *
+     * @param format Record format the segment must have been written in
+     * @return Number of records read
+     */
+    static int replay(Path file, int format, RecordReader reader) throws IOException {
+        int records = 0;
+        long offset = 0;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16))) {
+            try {
+                if (in.readInt() != SEGMENT_MAGIC) {
+                    throw new IOException(file + " is not a write-ahead log segment");
+                }
+                int written = in.readInt();
+                if (written != format) {
+                    throw new IOException(file + " holds record format " + written + ", but only format "
+                            + format + " can be read");
+                }
+                offset = SEGMENT_HEADER_BYTES;
+            } catch (EOFException e) {
+                return records; // Empty, or the header was never completely written
+            }
+
+            byte[] payload = new byte[1024];
+            while (true) {
+                int length;
+                int checksum;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return records; // Clean end of the segment
+                }
+                try {
+                    checksum = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        break;
+                    }
+                    if (payload.length < length) {
+                        payload = new byte[Math.max(length, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                CRC32C crc = new CRC32C();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                reader.read(new DataInputStream(new ByteArrayInputStream(payload, 0, length)));
+                records++;
+                offset += HEADER_BYTES + length;
+            }
+        }
+        System.err.println("⚠ Ignored an incomplete record at offset " + offset + " of " + file.getFileName()
+                + " and everything after it");
+        return records;
+    }
+
+    /**
+     * Makes file creations, renames and deletions in a directory durable.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can open a directory; the file contents are still forced
+        }
+    }
+
+    private static final class Waiter {
+        final Thread thread = Thread.currentThread();
+        final BooleanSupplier done;
+
+        Waiter(BooleanSupplier done) {
+            this.done = done;
+        }
+    }
+
+    /**
+     * Growable byte buffer that can patch a record header in place.
+     */
+    private static final class LogBuffer extends ByteArrayOutputStream {
+        final DataOutputStream data = new DataOutputStream(this);
+
+        LogBuffer() {
+            super(1 << 16);
+        }
+
+        void putInt(int position, int value) {
+            buf[position] = (byte) (value >>> 24);
+            buf[position + 1] = (byte) (value >>> 16);
+            buf[position + 2] = (byte) (value >>> 8);
+            buf[position + 3] = (byte) value;
+        }
+
+        int crc(int position, int length) {
+            CRC32C crc = new CRC32C();
+            crc.update(buf, position, length);
+            return (int) crc.getValue();
+        }
+
+        void truncate(int size) {
+            count = size;
+        }
+
+        void writeTo(FileChannel channel) throws IOException {
+            ByteBuffer bytes = ByteBuffer.wrap(buf, 0, count);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package adapter.metrics;
+
+import util.AppConfig;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of per-method metrics for the instrumented data adapters.
+ * Implements Singleton pattern so every adapter instance of a type records
+ * into the same metrics. Each method is exposed as an MXBean under
+ * flightreservation:type=DataAdapter, and a report of the busiest methods
+ * is logged periodically.
+ */
+public class AdapterMetrics {
+    private static final String JMX_DOMAIN = "flightreservation";
+    private static volatile AdapterMetrics instance;
+
+    private final boolean enabled;
+    private final boolean jmxEnabled;
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final LocalDateTime since = LocalDateTime.now();
+    private ScheduledExecutorService reporter;
+
+    private AdapterMetrics() {
+        this.enabled = AppConfig.getBoolean("metrics.enabled", true);
+        this.jmxEnabled = AppConfig.getBoolean("metrics.jmx.enabled", true);
+
+        long interval = AppConfig.getLong("metrics.logIntervalMillis", 300000);
+        if (enabled && interval > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "adapter-metrics-log");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleWithFixedDelay(this::logReport, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the singleton instance of AdapterMetrics.
+     */
+    public static AdapterMetrics getInstance() {
+        if (instance == null) {
+            synchronized (AdapterMetrics.class) {
+                if (instance == null) {
+                    instance = new AdapterMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the metrics of an adapter method, registering them on first use.
+     * Call once per decorator and method, not per call.
+     */
+    public MethodMetrics forMethod(String adapter, String method) {
+        return methods.computeIfAbsent(adapter + "." + method, key -> {
+            MethodMetrics metrics = new MethodMetrics(adapter, method);
+            if (jmxEnabled) {
+                register(metrics);
+            }
+            return metrics;
+        });
+    }
+
+    private void register(MethodMetrics metrics) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=DataAdapter,adapter=" + metrics.getAdapter()
+                    + ",name=" + metrics.getMethod());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            System.err.println("✗ Could not register adapter metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * All methods called at least once, busiest (by total time) first.
+     */
+    public List<MethodMetrics> getActiveMethods() {
+        List<MethodMetrics> active = new ArrayList<>();
+        for (MethodMetrics metrics : methods.values()) {
+            if (metrics.getCalls() > 0) {
+                active.add(metrics);
+            }
+        }
+        active.sort(Comparator.comparingDouble(MethodMetrics::getTotalMillis).reversed());
+        return active;
+    }
+
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("📊 Data adapter metrics since ")
+                .append(since.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append('\n');
+        report.append(String.format("   %-38s %10s %7s %9s %9s %9s %9s %9s%n", "method", "calls", "errors",
+                "rows/call", "mean ms", "p50 ms", "p99 ms", "max ms"));
+        for (MethodMetrics m : getActiveMethods()) {
+            report.append(String.format("   %-38s %,10d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    m.getAdapter() + "." + m.getMethod(), m.getCalls(), m.getErrors(), m.getRowsPerCall(),
+                    m.getMeanMillis(), m.getP50Millis(), m.getP99Millis(), m.getMaxMillis()));
+        }
+        return report.toString();
+    }
+
+    public void logReport() {
+        if (!getActiveMethods().isEmpty()) {
+            System.out.print(getReport());
+        }
+    }
+
+    public void reset() {
+        for (MethodMetrics metrics : methods.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Stops the periodic report and logs a final one.
+     */
+    public synchronized void shutdown() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+            logReport();
+        }
+    }
+}
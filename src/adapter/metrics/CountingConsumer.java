@@ -0,0 +1,27 @@
+package adapter.metrics;
+
+import java.util.function.Consumer;
+
+/**
+ * Passes rows on to a streaming action while counting them, so a forEach
+ * call can record its row count like the list-returning methods. One
+ * instance wraps the action for a whole call; rows only bump a plain int.
+ */
+final class CountingConsumer<T> implements Consumer<T> {
+    private final Consumer<? super T> action;
+    private int count;
+
+    CountingConsumer(Consumer<? super T> action) {
+        this.action = action;
+    }
+
+    @Override
+    public void accept(T row) {
+        count++;
+        action.accept(row);
+    }
+
+    int count() {
+        return count;
+    }
+}
@@ -0,0 +1,311 @@
+package adapter.metrics;
+
+import adapter.interfaces.BookingDataAdapter;
+import model.entity.Booking;
+import model.entity.Passenger;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorator recording per-method call counts, errors, latency and rows
+ * returned for a BookingDataAdapter, including the transactional
+ * createWithPassengers unit of work.
+ */
+public class InstrumentedBookingDataAdapter implements BookingDataAdapter {
+    private final BookingDataAdapter delegate;
+    private final MethodMetrics createMetrics;
+    private final MethodMetrics createWithPassengersMetrics;
+    private final MethodMetrics findByIdMetrics;
+    private final MethodMetrics findByCustomerIdMetrics;
+    private final MethodMetrics findByFlightIdMetrics;
+    private final MethodMetrics findAllMetrics;
+    private final MethodMetrics findAllAfterMetrics;
+    private final MethodMetrics findPageBoundariesMetrics;
+    private final MethodMetrics findAllAfterBookingDateMetrics;
+    private final MethodMetrics forEachMetrics;
+    private final MethodMetrics countMetrics;
+    private final MethodMetrics findAllWithDetailsMetrics;
+    private final MethodMetrics findByCustomerIdWithDetailsMetrics;
+    private final MethodMetrics updateMetrics;
+    private final MethodMetrics cancelMetrics;
+    private final MethodMetrics addPassengerMetrics;
+    private final MethodMetrics updatePassengerMetrics;
+    private final MethodMetrics getPassengersByBookingIdMetrics;
+    private final MethodMetrics removePassengerMetrics;
+
+    public InstrumentedBookingDataAdapter(BookingDataAdapter delegate) {
+        this.delegate = delegate;
+        AdapterMetrics metrics = AdapterMetrics.getInstance();
+        this.createMetrics = metrics.forMethod("Booking", "create");
+        this.createWithPassengersMetrics = metrics.forMethod("Booking", "createWithPassengers");
+        this.findByIdMetrics = metrics.forMethod("Booking", "findById");
+        this.findByCustomerIdMetrics = metrics.forMethod("Booking", "findByCustomerId");
+        this.findByFlightIdMetrics = metrics.forMethod("Booking", "findByFlightId");
+        this.findAllMetrics = metrics.forMethod("Booking", "findAll");
+        this.findAllAfterMetrics = metrics.forMethod("Booking", "findAllAfter");
+        this.findPageBoundariesMetrics = metrics.forMethod("Booking", "findPageBoundaries");
+        this.findAllAfterBookingDateMetrics = metrics.forMethod("Booking", "findAllAfterBookingDate");
+        this.forEachMetrics = metrics.forMethod("Booking", "forEach");
+        this.countMetrics = metrics.forMethod("Booking", "count");
+        this.findAllWithDetailsMetrics = metrics.forMethod("Booking", "findAllWithDetails");
+        this.findByCustomerIdWithDetailsMetrics = metrics.forMethod("Booking", "findByCustomerIdWithDetails");
+        this.updateMetrics = metrics.forMethod("Booking", "update");
+        this.cancelMetrics = metrics.forMethod("Booking", "cancel");
+        this.addPassengerMetrics = metrics.forMethod("Booking", "addPassenger");
+        this.updatePassengerMetrics = metrics.forMethod("Booking", "updatePassenger");
+        this.getPassengersByBookingIdMetrics = metrics.forMethod("Booking", "getPassengersByBookingId");
+        this.removePassengerMetrics = metrics.forMethod("Booking", "removePassenger");
+    }
+
+    @Override
+    public Booking create(Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Booking result = delegate.create(booking);
+            createMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public SeatReservationResult createWithPassengers(Booking booking, List<Passenger> passengers) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            SeatReservationResult result = delegate.createWithPassengers(booking, passengers);
+            createWithPassengersMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createWithPassengersMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Booking findById(int bookingId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Booking result = delegate.findById(bookingId);
+            findByIdMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findByCustomerId(int customerId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findByCustomerId(customerId);
+            findByCustomerIdMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByCustomerIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findByFlightId(int flightId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findByFlightId(flightId);
+            findByFlightIdMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByFlightIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findAll() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findAll();
+            findAllMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findAllAfter(int lastBookingId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findAllAfter(lastBookingId, limit);
+            findAllAfterMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllAfterMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Integer> result = delegate.findPageBoundaries(pageSize);
+            findPageBoundariesMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findPageBoundariesMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findAllAfter(LocalDateTime lastBookingDate, int lastBookingId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findAllAfter(lastBookingDate, lastBookingId, limit);
+            findAllAfterBookingDateMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllAfterBookingDateMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Booking> action) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            CountingConsumer<Booking> rows = new CountingConsumer<>(action);
+            delegate.forEach(rows);
+            forEachMetrics.success(start, rows.count());
+        } catch (SQLException | RuntimeException e) {
+            forEachMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int result = delegate.count();
+            countMetrics.success(start, 1);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            countMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findAllWithDetails(boolean includePassengers) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findAllWithDetails(includePassengers);
+            findAllWithDetailsMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllWithDetailsMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Booking> findByCustomerIdWithDetails(int customerId, boolean includePassengers) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Booking> result = delegate.findByCustomerIdWithDetails(customerId, includePassengers);
+            findByCustomerIdWithDetailsMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByCustomerIdWithDetailsMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public UpdateResult update(Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            UpdateResult result = delegate.update(booking);
+            updateMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public UpdateResult cancel(Booking booking) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            UpdateResult result = delegate.cancel(booking);
+            cancelMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            cancelMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean addPassenger(Passenger passenger) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.addPassenger(passenger);
+            addPassengerMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            addPassengerMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updatePassenger(Passenger passenger) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updatePassenger(passenger);
+            updatePassengerMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updatePassengerMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Passenger> getPassengersByBookingId(int bookingId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Passenger> result = delegate.getPassengersByBookingId(bookingId);
+            getPassengersByBookingIdMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            getPassengersByBookingIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean removePassenger(int passengerId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.removePassenger(passengerId);
+            removePassengerMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            removePassengerMetrics.failure(start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package adapter.metrics;
+
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.entity.FlightUpdate;
+import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorator recording call counts, errors, latency and rows returned for
+ * every FlightDataAdapter method. The factory places it beneath the flight
+ * cache, so it measures the queries that actually reach the database.
+ */
+public class InstrumentedFlightDataAdapter implements FlightDataAdapter {
+    private final FlightDataAdapter delegate;
+    private final MethodMetrics createMetrics;
+    private final MethodMetrics findByIdMetrics;
+    private final MethodMetrics findByIdAuthoritativeMetrics;
+    private final MethodMetrics findByFlightNumberMetrics;
+    private final MethodMetrics findAllMetrics;
+    private final MethodMetrics findAllAfterMetrics;
+    private final MethodMetrics findPageBoundariesMetrics;
+    private final MethodMetrics findAllAfterDepartureMetrics;
+    private final MethodMetrics forEachMetrics;
+    private final MethodMetrics countMetrics;
+    private final MethodMetrics searchMetrics;
+    private final MethodMetrics updateMetrics;
+    private final MethodMetrics updateFieldsMetrics;
+    private final MethodMetrics deleteMetrics;
+    private final MethodMetrics updateAvailableSeatsMetrics;
+    private final MethodMetrics updateStatusMetrics;
+    private final MethodMetrics reserveSeatsMetrics;
+    private final MethodMetrics releaseSeatsMetrics;
+
+    public InstrumentedFlightDataAdapter(FlightDataAdapter delegate) {
+        this.delegate = delegate;
+        AdapterMetrics metrics = AdapterMetrics.getInstance();
+        this.createMetrics = metrics.forMethod("Flight", "create");
+        this.findByIdMetrics = metrics.forMethod("Flight", "findById");
+        this.findByIdAuthoritativeMetrics = metrics.forMethod("Flight", "findByIdAuthoritative");
+        this.findByFlightNumberMetrics = metrics.forMethod("Flight", "findByFlightNumber");
+        this.findAllMetrics = metrics.forMethod("Flight", "findAll");
+        this.findAllAfterMetrics = metrics.forMethod("Flight", "findAllAfter");
+        this.findPageBoundariesMetrics = metrics.forMethod("Flight", "findPageBoundaries");
+        this.findAllAfterDepartureMetrics = metrics.forMethod("Flight", "findAllAfterDeparture");
+        this.forEachMetrics = metrics.forMethod("Flight", "forEach");
+        this.countMetrics = metrics.forMethod("Flight", "count");
+        this.searchMetrics = metrics.forMethod("Flight", "search");
+        this.updateMetrics = metrics.forMethod("Flight", "update");
+        this.updateFieldsMetrics = metrics.forMethod("Flight", "updateFields");
+        this.deleteMetrics = metrics.forMethod("Flight", "delete");
+        this.updateAvailableSeatsMetrics = metrics.forMethod("Flight", "updateAvailableSeats");
+        this.updateStatusMetrics = metrics.forMethod("Flight", "updateStatus");
+        this.reserveSeatsMetrics = metrics.forMethod("Flight", "reserveSeats");
+        this.releaseSeatsMetrics = metrics.forMethod("Flight", "releaseSeats");
+    }
+
+    @Override
+    public Flight create(Flight flight) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Flight result = delegate.create(flight);
+            createMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flight findById(int flightId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Flight result = delegate.findById(flightId);
+            findByIdMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flight findByIdAuthoritative(int flightId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Flight result = delegate.findByIdAuthoritative(flightId);
+            findByIdAuthoritativeMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByIdAuthoritativeMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flight findByFlightNumber(String flightNumber) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Flight result = delegate.findByFlightNumber(flightNumber);
+            findByFlightNumberMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByFlightNumberMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Flight> findAll() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Flight> result = delegate.findAll();
+            findAllMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Flight> findAllAfter(int lastFlightId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Flight> result = delegate.findAllAfter(lastFlightId, limit);
+            findAllAfterMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllAfterMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Integer> findPageBoundaries(int pageSize) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Integer> result = delegate.findPageBoundaries(pageSize);
+            findPageBoundariesMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findPageBoundariesMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Flight> findAllAfter(LocalDateTime lastDepartureTime, int lastFlightId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Flight> result = delegate.findAllAfter(lastDepartureTime, lastFlightId, limit);
+            findAllAfterDepartureMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllAfterDepartureMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Flight> action) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            CountingConsumer<Flight> rows = new CountingConsumer<>(action);
+            delegate.forEach(rows);
+            forEachMetrics.success(start, rows.count());
+        } catch (SQLException | RuntimeException e) {
+            forEachMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int result = delegate.count();
+            countMetrics.success(start, 1);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            countMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Flight> search(String origin, String destination, LocalDate date, String airline) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Flight> result = delegate.search(origin, destination, date, airline);
+            searchMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            searchMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public UpdateResult update(Flight flight) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            UpdateResult result = delegate.update(flight);
+            updateMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public UpdateResult updateFields(int flightId, int expectedVersion, FlightUpdate changes) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            UpdateResult result = delegate.updateFields(flightId, expectedVersion, changes);
+            updateFieldsMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateFieldsMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(int flightId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.delete(flightId);
+            deleteMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            deleteMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateAvailableSeats(int flightId, int seats) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateAvailableSeats(flightId, seats);
+            updateAvailableSeatsMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateAvailableSeatsMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int flightId, FlightStatus status) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateStatus(flightId, status);
+            updateStatusMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateStatusMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public SeatReservationResult reserveSeats(int flightId, int numSeats) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            SeatReservationResult result = delegate.reserveSeats(flightId, numSeats);
+            reserveSeatsMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            reserveSeatsMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean releaseSeats(int flightId, int numSeats) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.releaseSeats(flightId, numSeats);
+            releaseSeatsMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            releaseSeatsMetrics.failure(start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package adapter.metrics;
+
+import adapter.interfaces.PaymentDataAdapter;
+import model.entity.Payment;
+import model.enums.PaymentStatus;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorator recording per-method metrics for a PaymentDataAdapter.
+ */
+public class InstrumentedPaymentDataAdapter implements PaymentDataAdapter {
+    private final PaymentDataAdapter delegate;
+    private final MethodMetrics createMetrics;
+    private final MethodMetrics findByIdMetrics;
+    private final MethodMetrics findByBookingIdMetrics;
+    private final MethodMetrics findAllMetrics;
+    private final MethodMetrics findAllAfterMetrics;
+    private final MethodMetrics forEachMetrics;
+    private final MethodMetrics updateStatusMetrics;
+    private final MethodMetrics transitionStatusMetrics;
+
+    public InstrumentedPaymentDataAdapter(PaymentDataAdapter delegate) {
+        this.delegate = delegate;
+        AdapterMetrics metrics = AdapterMetrics.getInstance();
+        this.createMetrics = metrics.forMethod("Payment", "create");
+        this.findByIdMetrics = metrics.forMethod("Payment", "findById");
+        this.findByBookingIdMetrics = metrics.forMethod("Payment", "findByBookingId");
+        this.findAllMetrics = metrics.forMethod("Payment", "findAll");
+        this.findAllAfterMetrics = metrics.forMethod("Payment", "findAllAfter");
+        this.forEachMetrics = metrics.forMethod("Payment", "forEach");
+        this.updateStatusMetrics = metrics.forMethod("Payment", "updateStatus");
+        this.transitionStatusMetrics = metrics.forMethod("Payment", "transitionStatus");
+    }
+
+    @Override
+    public Payment create(Payment payment) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Payment result = delegate.create(payment);
+            createMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Payment findById(int paymentId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Payment result = delegate.findById(paymentId);
+            findByIdMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Payment findByBookingId(int bookingId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Payment result = delegate.findByBookingId(bookingId);
+            findByBookingIdMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByBookingIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Payment> findAll() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Payment> result = delegate.findAll();
+            findAllMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Payment> findAllAfter(int lastPaymentId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Payment> result = delegate.findAllAfter(lastPaymentId, limit);
+            findAllAfterMetrics.success(start, result.size());
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findAllAfterMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super Payment> action) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            CountingConsumer<Payment> rows = new CountingConsumer<>(action);
+            delegate.forEach(rows);
+            forEachMetrics.success(start, rows.count());
+        } catch (SQLException | RuntimeException e) {
+            forEachMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int paymentId, PaymentStatus status) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.updateStatus(paymentId, status);
+            updateStatusMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateStatusMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean transitionStatus(int paymentId, PaymentStatus expected, PaymentStatus status)
+            throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.transitionStatus(paymentId, expected, status);
+            transitionStatusMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            transitionStatusMetrics.failure(start);
+            throw e;
+        }
+    }
+}
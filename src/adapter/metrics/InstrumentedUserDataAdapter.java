@@ -0,0 +1,157 @@
+package adapter.metrics;
+
+import adapter.interfaces.UserDataAdapter;
+import model.entity.Admin;
+import model.entity.Customer;
+import model.entity.FlightAgent;
+import model.entity.User;
+
+import java.sql.SQLException;
+
+/**
+ * Decorator recording per-method metrics for a UserDataAdapter; authenticate
+ * and findByEmail are the hot paths at login.
+ */
+public class InstrumentedUserDataAdapter implements UserDataAdapter {
+    private final UserDataAdapter delegate;
+    private final MethodMetrics createMetrics;
+    private final MethodMetrics findByEmailMetrics;
+    private final MethodMetrics findByIdMetrics;
+    private final MethodMetrics updateMetrics;
+    private final MethodMetrics deleteMetrics;
+    private final MethodMetrics authenticateMetrics;
+    private final MethodMetrics createCustomerMetrics;
+    private final MethodMetrics createFlightAgentMetrics;
+    private final MethodMetrics createAdminMetrics;
+
+    public InstrumentedUserDataAdapter(UserDataAdapter delegate) {
+        this.delegate = delegate;
+        AdapterMetrics metrics = AdapterMetrics.getInstance();
+        this.createMetrics = metrics.forMethod("User", "create");
+        this.findByEmailMetrics = metrics.forMethod("User", "findByEmail");
+        this.findByIdMetrics = metrics.forMethod("User", "findById");
+        this.updateMetrics = metrics.forMethod("User", "update");
+        this.deleteMetrics = metrics.forMethod("User", "delete");
+        this.authenticateMetrics = metrics.forMethod("User", "authenticate");
+        this.createCustomerMetrics = metrics.forMethod("User", "createCustomer");
+        this.createFlightAgentMetrics = metrics.forMethod("User", "createFlightAgent");
+        this.createAdminMetrics = metrics.forMethod("User", "createAdmin");
+    }
+
+    @Override
+    public User create(User user) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            User result = delegate.create(user);
+            createMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            User result = delegate.findByEmail(email);
+            findByEmailMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByEmailMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public User findById(int userId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            User result = delegate.findById(userId);
+            findByIdMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            findByIdMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean update(User user) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.update(user);
+            updateMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            updateMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean delete(int userId) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean result = delegate.delete(userId);
+            deleteMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            deleteMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public User authenticate(String email, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            User result = delegate.authenticate(email, password);
+            authenticateMetrics.success(start, result != null ? 1 : 0);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            authenticateMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Customer createCustomer(Customer customer) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Customer result = delegate.createCustomer(customer);
+            createCustomerMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createCustomerMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public FlightAgent createFlightAgent(FlightAgent agent) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            FlightAgent result = delegate.createFlightAgent(agent);
+            createFlightAgentMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createFlightAgentMetrics.failure(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Admin createAdmin(Admin admin) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Admin result = delegate.createAdmin(admin);
+            createAdminMetrics.success(start);
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            createAdminMetrics.failure(start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package adapter.metrics;
+
+import util.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count, latency histogram and rows returned for one data
+ * adapter method. Recording is lock-free and allocation-free.
+ */
+public class MethodMetrics implements MethodMetricsMXBean {
+    private final String adapter;
+    private final String method;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final AtomicLong maxRows = new AtomicLong();
+
+    MethodMetrics(String adapter, String method) {
+        this.adapter = adapter;
+        this.method = method;
+    }
+
+    /**
+     * Records a successful call that returned the given number of rows.
+     */
+    public void success(long startNanos, int rowCount) {
+        latency.record(System.nanoTime() - startNanos);
+        rows.add(rowCount);
+        if (rowCount > maxRows.get()) {
+            maxRows.accumulateAndGet(rowCount, Math::max);
+        }
+    }
+
+    /**
+     * Records a successful call that returns no rows, such as a write.
+     */
+    public void success(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    public void failure(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        errors.increment();
+    }
+
+    @Override
+    public String getAdapter() {
+        return adapter;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getMaxRows() {
+        return maxRows.get();
+    }
+
+    @Override
+    public double getRowsPerCall() {
+        long calls = getCalls();
+        return calls == 0 ? 0 : (double) rows.sum() / calls;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMean() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentile(50) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.getPercentile(95) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentile(99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latency.getPercentile(99.9) / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMax() / 1_000_000.0;
+    }
+
+    @Override
+    public double getTotalMillis() {
+        return getMeanMillis() * getCalls();
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+        maxRows.set(0);
+    }
+}
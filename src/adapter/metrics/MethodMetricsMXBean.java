@@ -0,0 +1,37 @@
+package adapter.metrics;
+
+/**
+ * JMX view of one data adapter method's metrics.
+ * Latencies are in milliseconds and cover every call, including failed ones.
+ */
+public interface MethodMetricsMXBean {
+    String getAdapter();
+
+    String getMethod();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    long getMaxRows();
+
+    double getRowsPerCall();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    double getTotalMillis();
+
+    void reset();
+}
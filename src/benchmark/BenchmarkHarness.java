@@ -0,0 +1,233 @@
+package benchmark;
+
+import util.LatencyHistogram;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Minimal fixed-schedule benchmark runner in the spirit of JMH.
+ * Every benchmark runs the same number of warmup and measured iterations of
+ * a fixed duration on a fixed number of threads. Throughput is reported per
+ * measured iteration, so noisy runs show up as a high spread, and latency
+ * percentiles come from a LatencyHistogram. A GC runs before each benchmark
+ * and application console output is muted while measuring, so logging does
+ * not distort the numbers.
+ */
+public class BenchmarkHarness {
+
+    /**
+     * One invocation of the code under test.
+     */
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+    private final PrintStream console;
+
+    public BenchmarkHarness(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+        this.console = System.out;
+    }
+
+    /**
+     * Runs a benchmark.
+     *
+     * @param beforeIteration Runs before every iteration (outside the timed section), may be null
+     */
+    public Result run(String name, int threads, Runnable beforeIteration, Operation operation) throws Exception {
+        console.printf("▶ %-32s %d thread(s) ", name, threads);
+        System.gc();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        List<Double> throughputs = new ArrayList<>();
+        long errors = 0;
+        Throwable firstError = null;
+        PrintStream muted = new PrintStream(OutputStream.nullOutputStream());
+
+        System.setOut(muted);
+        try {
+            for (int i = 0; i < warmupIterations + measurementIterations; i++) {
+                if (beforeIteration != null) {
+                    beforeIteration.run();
+                }
+                boolean measured = i >= warmupIterations;
+                Iteration iteration = runIteration(threads, operation, measured ? latency : null);
+                if (measured) {
+                    throughputs.add(iteration.operations * 1_000_000_000.0 / iteration.elapsedNanos);
+                    errors += iteration.errors;
+                    if (firstError == null) {
+                        firstError = iteration.firstError;
+                    }
+                }
+                console.print(measured ? "●" : "○");
+            }
+        } finally {
+            System.setOut(console);
+        }
+        console.println();
+        if (firstError != null) {
+            System.err.println("   ✗ Operation failed: " + firstError);
+        }
+
+        Result result = new Result(name, threads, throughputs, latency, errors);
+        console.println("   " + result);
+        return result;
+    }
+
+    private Iteration runIteration(int threads, Operation operation, LatencyHistogram latency)
+            throws InterruptedException {
+        long[] operations = new long[threads];
+        long[] errors = new long[threads];
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] window = new long[2];
+
+        for (int t = 0; t < threads; t++) {
+            int slot = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long deadline = window[0] + iterationMillis * 1_000_000L;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        try {
+                            operation.run();
+                        } catch (Exception e) {
+                            errors[slot]++;
+                            firstError.compareAndSet(null, e);
+                        }
+                        if (latency != null) {
+                            latency.record(System.nanoTime() - now);
+                        }
+                        operations[slot]++;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.start();
+        }
+
+        window[0] = System.nanoTime();
+        start.countDown();
+        done.await();
+        window[1] = System.nanoTime();
+
+        Iteration iteration = new Iteration();
+        iteration.firstError = firstError.get();
+        for (int t = 0; t < threads; t++) {
+            iteration.operations += operations[t];
+            iteration.errors += errors[t];
+        }
+        iteration.elapsedNanos = window[1] - window[0];
+        return iteration;
+    }
+
+    private static class Iteration {
+        private long operations;
+        private long errors;
+        private long elapsedNanos;
+        private Throwable firstError;
+    }
+
+    /**
+     * Outcome of one benchmark: throughput per measured iteration and the
+     * latency distribution across all of them.
+     */
+    public static class Result {
+        private final String name;
+        private final int threads;
+        private final double meanThroughput;
+        private final double stdDevThroughput;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long errors;
+
+        private Result(String name, int threads, List<Double> throughputs, LatencyHistogram latency, long errors) {
+            this.name = name;
+            this.threads = threads;
+            double mean = throughputs.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            double variance = throughputs.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum()
+                    / Math.max(1, throughputs.size() - 1);
+            this.meanThroughput = mean;
+            this.stdDevThroughput = Math.sqrt(variance);
+            this.p50Nanos = latency.getPercentile(50);
+            this.p99Nanos = latency.getPercentile(99);
+            this.p999Nanos = latency.getPercentile(99.9);
+            this.errors = errors;
+        }
+
+        public Result(String name, int threads, double meanThroughput, double stdDevThroughput, long p50Nanos,
+                      long p99Nanos, long p999Nanos, long errors) {
+            this.name = name;
+            this.threads = threads;
+            this.meanThroughput = meanThroughput;
+            this.stdDevThroughput = stdDevThroughput;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.errors = errors;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public double getMeanThroughput() {
+            return meanThroughput;
+        }
+
+        public double getStdDevThroughput() {
+            return stdDevThroughput;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getP999Nanos() {
+            return p999Nanos;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Relative spread of the measured iterations; above ~0.1 the result
+         * is too noisy to gate on.
+         */
+        public double getCoefficientOfVariation() {
+            return meanThroughput == 0 ? 0 : stdDevThroughput / meanThroughput;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,.1f ± %,.1f ops/s  p50 %.1f µs  p99 %.1f µs  p99.9 %.1f µs  errors %d",
+                    meanThroughput, stdDevThroughput, p50Nanos / 1000.0, p99Nanos / 1000.0, p999Nanos / 1000.0,
+                    errors);
+        }
+    }
+}
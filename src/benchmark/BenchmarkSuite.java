@@ -0,0 +1,371 @@
+package benchmark;
+
+import adapter.DataAdapterFactory;
+import adapter.database.DatabaseConnection;
+import adapter.interfaces.BookingDataAdapter;
+import adapter.interfaces.FlightDataAdapter;
+import adapter.interfaces.UserDataAdapter;
+import controller.BookingController;
+import controller.FlightController;
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.Passenger;
+import model.entity.Payment;
+import model.entity.User;
+import service.NotificationManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the hot paths of the reservation system: flight search,
+ * booking creation, seat reservation under contention, listing all bookings,
+ * broadcast notifications and payment ID generation.
+ *
+ * The data set is seeded once with a fixed random seed and fixed dates, so
+ * two runs against the same database measure the same work. Bookings made by
+ * the booking benchmark go to dedicated bulk flights and are deleted again
+ * with a plain SQL DELETE, with the seats restored, once it finishes (and at
+ * the start of the next run, should one be interrupted). On the in-memory
+ * engine only the seats are restored; its bookings go when the process
+ * exits unless storage.memory.durable is set.
+ *
+ * With --database=h2 the suite runs against an embedded H2 database in MySQL
+ * mode created from database/schema.sql, so no MySQL server is needed; the H2
+ * jar must be on the classpath. Otherwise it uses the configured backend,
+ * which should be a scratch database created from schema.sql.
+ *
+ * Results are written as CSV. When a baseline CSV is given, any benchmark
+ * whose throughput falls more than the tolerance below the baseline is
+ * reported and the suite exits with status 1.
+ *
+ * Usage: BenchmarkSuite [--warmup=3] [--iterations=5] [--iterationMillis=2000] [--threads=4]
+ *                       [--filter=name] [--output=benchmark-results.csv] [--baseline=file.csv]
+ *                       [--tolerance=0.10] [--flights=1000] [--bookings=5000] [--database=h2]
+ */
+public class BenchmarkSuite {
+    private static final long SEED = 42L;
+    private static final String MARKER_FLIGHT = "BM00000";
+    private static final String HOT_FLIGHT = "BMHOT";
+    private static final String BULK_FLIGHT_PREFIX = "BMBULK";
+    private static final int BULK_FLIGHTS = 8;
+    private static final int BULK_SEATS = 10_000_000;
+    private static final String CUSTOMER_EMAIL = "benchmark.customer@example.com";
+    private static final LocalDateTime BASE_DEPARTURE = LocalDateTime.of(2030, 1, 1, 6, 0);
+    private static final int SCHEDULE_DAYS = 60;
+
+    static final String[] CITIES = {
+            "New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Seattle", "Denver", "Boston",
+            "Miami", "Atlanta", "Dallas", "San Francisco", "Toronto", "Vancouver", "Calgary", "Montreal"
+    };
+    static final String[] AIRLINES = {
+            "Air Canada", "WestJet", "Delta", "United", "American Airlines", "Alaska Airlines"
+    };
+    static final String[] AIRCRAFT = {"Boeing 737", "Airbus A320", "Boeing 787", "Airbus A321"};
+
+    private final Map<String, String> options;
+    private final FlightDataAdapter flightDataAdapter;
+    private final BookingDataAdapter bookingDataAdapter;
+    private final UserDataAdapter userDataAdapter;
+    private final FlightController flightController;
+    private final BookingController bookingController;
+
+    private int customerId;
+    private int hotFlightId;
+    private final List<Integer> bulkFlightIds = new ArrayList<>();
+
+    public BenchmarkSuite(Map<String, String> options) {
+        this.options = options;
+        this.flightDataAdapter = DataAdapterFactory.createFlightDataAdapter();
+        this.bookingDataAdapter = DataAdapterFactory.createBookingDataAdapter();
+        this.userDataAdapter = DataAdapterFactory.createUserDataAdapter();
+        this.flightController = new FlightController();
+        this.bookingController = new BookingController();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if ("h2".equalsIgnoreCase(options.get("database"))) {
+            H2StandIn.start(Path.of("database", "schema.sql"));
+        }
+        BenchmarkSuite suite = new BenchmarkSuite(options);
+
+        suite.seed();
+        List<BenchmarkHarness.Result> results = suite.runAll();
+
+        Path output = Path.of(options.getOrDefault("output", "benchmark-results.csv"));
+        writeCsv(output, results);
+        System.out.println("✓ Results written to " + output);
+
+        int exitCode = 0;
+        if (options.containsKey("baseline")) {
+            double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.10"));
+            exitCode = compareWithBaseline(results, readCsv(Path.of(options.get("baseline"))), tolerance) ? 0 : 1;
+        }
+
+        NotificationManager.getInstance().shutdown();
+        System.exit(exitCode);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+
+    private int intOption(String key, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    // ===== Data set =====
+
+    /**
+     * Seeds flights, bookings and the benchmark customer unless a previous
+     * run already did. Everything is derived from a fixed seed.
+     */
+    private void seed() throws Exception {
+        User existing = userDataAdapter.findByEmail(CUSTOMER_EMAIL);
+        if (existing != null) {
+            customerId = existing.getUserId();
+        } else {
+            Customer customer = userDataAdapter.createCustomer(
+                    new Customer(CUSTOMER_EMAIL, "benchmark", "Bench", "Customer", "555-0100"));
+            customerId = customer.getUserId();
+        }
+
+        if (flightDataAdapter.findByFlightNumber(MARKER_FLIGHT) == null) {
+            int flights = intOption("flights", 1000);
+            int bookings = intOption("bookings", 5000);
+            System.out.println("Seeding " + flights + " flights and " + bookings + " bookings...");
+            seedFlightsAndBookings(flights, bookings);
+        }
+
+        hotFlightId = findOrCreate(HOT_FLIGHT, BULK_SEATS).getFlightId();
+        for (int i = 0; i < BULK_FLIGHTS; i++) {
+            bulkFlightIds.add(findOrCreate(BULK_FLIGHT_PREFIX + i, BULK_SEATS).getFlightId());
+        }
+        removeCreatedBookings(); // Left behind if a previous run was interrupted
+        System.out.println("✓ Benchmark data ready (" + flightDataAdapter.count() + " flights, "
+                + bookingDataAdapter.count() + " bookings).");
+    }
+
+    private void seedFlightsAndBookings(int flightCount, int bookingCount) throws Exception {
+        Random random = new Random(SEED);
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < flightCount; i++) {
+            flights.add(flightDataAdapter.create(randomFlight(random, String.format("BM%05d", i))));
+        }
+
+        for (int i = 0; i < bookingCount; i++) {
+            Flight flight = flights.get(random.nextInt(flights.size()));
+            int numPassengers = 1 + random.nextInt(3);
+            Booking booking = new Booking(customerId, flight.getFlightId(), flight.getPrice() * numPassengers,
+                    numPassengers);
+            bookingDataAdapter.createWithPassengers(booking, passengers(random, numPassengers));
+        }
+    }
+
+    private Flight findOrCreate(String flightNumber, int seats) throws Exception {
+        Flight flight = flightDataAdapter.findByFlightNumber(flightNumber);
+        if (flight != null) {
+            return flight;
+        }
+        return flightDataAdapter.create(new Flight(flightNumber, AIRLINES[0], CITIES[0], CITIES[1],
+                BASE_DEPARTURE, BASE_DEPARTURE.plusHours(5), 199.0, seats, AIRCRAFT[0]));
+    }
+
+    static Flight randomFlight(Random random, String flightNumber) {
+        int origin = random.nextInt(CITIES.length);
+        int destination = (origin + 1 + random.nextInt(CITIES.length - 1)) % CITIES.length;
+        LocalDateTime departure = BASE_DEPARTURE.plusDays(random.nextInt(SCHEDULE_DAYS))
+                .plusMinutes(15L * random.nextInt(64));
+        LocalDateTime arrival = departure.plusMinutes(60 + 15L * random.nextInt(28));
+        double price = 79 + random.nextInt(900);
+        int seats = 100 + 10 * random.nextInt(21);
+        return new Flight(flightNumber, AIRLINES[random.nextInt(AIRLINES.length)], CITIES[origin],
+                CITIES[destination], departure, arrival, price, seats, AIRCRAFT[random.nextInt(AIRCRAFT.length)]);
+    }
+
+    static List<Passenger> passengers(Random random, int count) {
+        List<Passenger> passengers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            passengers.add(new Passenger("Passenger" + random.nextInt(10_000), "Bench" + random.nextInt(10_000),
+                    String.format("P%08d", random.nextInt(100_000_000))));
+        }
+        return passengers;
+    }
+
+    // ===== Benchmarks =====
+
+    private List<BenchmarkHarness.Result> runAll() throws Exception {
+        BenchmarkHarness harness = new BenchmarkHarness(intOption("warmup", 3), intOption("iterations", 5),
+                intOption("iterationMillis", 2000));
+        int threads = intOption("threads", 4);
+        String filter = options.get("filter");
+        List<BenchmarkHarness.Result> results = new ArrayList<>();
+
+        // Fixed query mix: every run issues the same searches in the same order
+        Random random = new Random(SEED);
+        Object[][] queries = new Object[256][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new Object[]{
+                    CITIES[random.nextInt(CITIES.length)],
+                    random.nextBoolean() ? CITIES[random.nextInt(CITIES.length)] : null,
+                    random.nextBoolean() ? BASE_DEPARTURE.toLocalDate().plusDays(random.nextInt(SCHEDULE_DAYS)) : null,
+                    random.nextInt(4) == 0 ? AIRLINES[random.nextInt(AIRLINES.length)] : null
+            };
+        }
+        AtomicLong next = new AtomicLong();
+
+        run(results, harness, filter, "flight.search", threads, null, () -> {
+            Object[] query = queries[(int) (next.getAndIncrement() & (queries.length - 1))];
+            flightDataAdapter.search((String) query[0], (String) query[1], (LocalDate) query[2], (String) query[3]);
+        });
+
+        run(results, harness, filter, "booking.getAllBookings", threads, null, () -> {
+            if (bookingController.getAllBookings().isEmpty()) {
+                throw new IllegalStateException("No bookings returned");
+            }
+        });
+
+        run(results, harness, filter, "booking.createBooking", threads, null, () -> {
+            int flightId = bulkFlightIds.get((int) (next.getAndIncrement() % bulkFlightIds.size()));
+            List<Passenger> passengers = List.of(new Passenger("Bench", "Traveller", "P00000000"));
+            if (bookingController.createBooking(customerId, flightId, passengers) == null) {
+                throw new IllegalStateException("Booking was not created");
+            }
+        });
+        removeCreatedBookings();
+
+        // Every thread books the same flight; seats are restored before each iteration
+        run(results, harness, filter, "flight.reserveSeats.contended", threads, this::resetHotFlight, () -> {
+            if (!flightController.reserveSeats(hotFlightId, 1)) {
+                throw new IllegalStateException("Seat was not reserved");
+            }
+        });
+
+        List<Customer> recipients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Customer customer = new Customer("bench" + i + "@example.com", "benchmark", "Bench", "Customer" + i,
+                    "555-01" + String.format("%02d", i));
+            customer.setUserId(1_000_000 + i);
+            recipients.add(customer);
+        }
+        NotificationManager notificationManager = NotificationManager.getInstance();
+        run(results, harness, filter, "notification.notifyMultipleCustomers", 1, null,
+                () -> notificationManager.notifyMultipleCustomers("Benchmark broadcast", recipients));
+
+        run(results, harness, filter, "payment.newPayment", threads, null,
+                () -> new Payment(1, 199.0, "Credit Card").getTransactionId());
+
+        return results;
+    }
+
+    private void run(List<BenchmarkHarness.Result> results, BenchmarkHarness harness, String filter, String name,
+                     int threads, Runnable beforeIteration, BenchmarkHarness.Operation operation) throws Exception {
+        if (filter == null || name.contains(filter)) {
+            results.add(harness.run(name, threads, beforeIteration, operation));
+        }
+    }
+
+    /**
+     * Deletes the bookings made on the bulk flights, which only the booking
+     * benchmark books, and gives the flights their seats back. The passengers
+     * go with their bookings (ON DELETE CASCADE).
+     */
+    private void removeCreatedBookings() throws Exception {
+        int removed = 0;
+        if (!DataAdapterFactory.isInMemory()) {
+            String ids = bulkFlightIds.stream().map(String::valueOf).collect(Collectors.joining(", "));
+            try (Connection connection = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement stmt = connection.prepareStatement(
+                         "DELETE FROM bookings WHERE flight_id IN (" + ids + ")")) {
+                removed = stmt.executeUpdate();
+            }
+        }
+        for (int flightId : bulkFlightIds) {
+            flightDataAdapter.updateAvailableSeats(flightId, BULK_SEATS);
+        }
+        if (removed > 0) {
+            System.out.println("✓ Removed " + removed + " bookings made by the booking benchmark");
+        }
+    }
+
+    private void resetHotFlight() {
+        try {
+            flightDataAdapter.updateAvailableSeats(hotFlightId, BULK_SEATS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not reset the hot flight", e);
+        }
+    }
+
+    // ===== Results =====
+
+    static void writeCsv(Path path, List<BenchmarkHarness.Result> results) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("benchmark,threads,ops_per_sec,stddev,p50_ns,p99_ns,p999_ns,errors");
+            for (BenchmarkHarness.Result result : results) {
+                writer.println(String.format(Locale.ROOT, "%s,%d,%.2f,%.2f,%d,%d,%d,%d", result.getName(),
+                        result.getThreads(), result.getMeanThroughput(), result.getStdDevThroughput(),
+                        result.getP50Nanos(), result.getP99Nanos(), result.getP999Nanos(), result.getErrors()));
+            }
+        }
+    }
+
+    static Map<String, BenchmarkHarness.Result> readCsv(Path path) throws IOException {
+        Map<String, BenchmarkHarness.Result> results = new HashMap<>();
+        List<String> lines = Files.readAllLines(path);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] f = line.split(",");
+            results.put(f[0], new BenchmarkHarness.Result(f[0], Integer.parseInt(f[1]), Double.parseDouble(f[2]),
+                    Double.parseDouble(f[3]), Long.parseLong(f[4]), Long.parseLong(f[5]), Long.parseLong(f[6]),
+                    Long.parseLong(f[7])));
+        }
+        return results;
+    }
+
+    /**
+     * Prints each benchmark's change against the baseline.
+     *
+     * @return false if any benchmark regressed beyond the tolerance
+     */
+    static boolean compareWithBaseline(List<BenchmarkHarness.Result> results,
+                                       Map<String, BenchmarkHarness.Result> baseline, double tolerance) {
+        boolean passed = true;
+        System.out.println("\nComparison with baseline (tolerance " + Math.round(tolerance * 100) + "%):");
+        for (BenchmarkHarness.Result result : results) {
+            BenchmarkHarness.Result before = baseline.get(result.getName());
+            if (before == null || before.getMeanThroughput() == 0) {
+                System.out.printf("  %-36s no baseline%n", result.getName());
+                continue;
+            }
+            double change = result.getMeanThroughput() / before.getMeanThroughput() - 1;
+            boolean regressed = change < -tolerance;
+            System.out.printf("  %s %-36s %+.1f%%%s%n", regressed ? "✗" : "✓", result.getName(), change * 100,
+                    result.getCoefficientOfVariation() > tolerance ? " (noisy)" : "");
+            passed &= !regressed;
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,729 @@
+package benchmark;
+
+import adapter.database.DatabaseConnection;
+import model.enums.BookingStatus;
+import model.enums.FlightStatus;
+import model.enums.PaymentStatus;
+import model.enums.UserRole;
+import util.AppConfig;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the schema with a large synthetic data set for sizing indexes,
+ * caches and the connection pool.
+ *
+ * Route popularity follows a Zipf distribution, departures follow a summer
+ * and holiday season with morning and evening banks, and each flight gets a
+ * load factor that rises with the season. Every flight's bookings,
+ * passengers and payments are generated together, so available_seats always
+ * equals total_seats minus the passengers of active bookings.
+ *
+ * Work is split into chunks of flights, each generated from its own seeded
+ * random stream. A first pass counts the rows of every chunk to assign each
+ * one a fixed ID range; the second pass loads the chunks in parallel, one
+ * transaction per chunk with batched inserts. The same seed and volumes
+ * therefore produce the same rows and IDs regardless of thread scheduling.
+ * Foreign key and unique checks are switched off for the loading sessions,
+ * since the generator guarantees both. Booking and passenger volumes are
+ * targets: the actual counts depend on the sampled load factors and are
+ * reported at the end.
+ *
+ * Usage: DatasetGenerator [--seed=42] [--customers=100000] [--routes=2000] [--flights=100000]
+ *                         [--bookings=1000000] [--start=2026-01-01] [--days=365] [--threads=N]
+ *                         [--batchSize=1000] [--chunkFlights=500] [--dryRun=true]
+ */
+public class DatasetGenerator {
+    private static final int CUSTOMER_CHUNK = 5000;
+
+    private static final String[] CITIES = {
+            "New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Philadelphia", "San Antonio", "San Diego",
+            "Dallas", "San Jose", "Austin", "Seattle", "Denver", "Boston", "Las Vegas", "Portland", "Miami",
+            "Atlanta", "Minneapolis", "Detroit", "Orlando", "Charlotte", "Salt Lake City", "Nashville",
+            "San Francisco", "Washington", "Honolulu", "Anchorage", "Toronto", "Montreal", "Vancouver", "Calgary",
+            "Edmonton", "Ottawa", "Winnipeg", "Halifax", "Mexico City", "Cancun", "London", "Paris", "Frankfurt",
+            "Amsterdam", "Madrid", "Rome", "Dublin", "Zurich", "Istanbul", "Dubai", "Doha", "Tokyo", "Seoul",
+            "Hong Kong", "Singapore", "Sydney", "Auckland", "Sao Paulo", "Bogota", "Lima", "Reykjavik", "Delhi"
+    };
+    private static final String[] AIRLINES = {
+            "Air Canada", "WestJet", "Delta", "United", "American Airlines", "Alaska Airlines", "Lufthansa",
+            "British Airways", "Air France", "Emirates", "Qantas", "JetBlue"
+    };
+    private static final String[] AIRLINE_CODES = {
+            "AC", "WS", "DL", "UA", "AA", "AS", "LH", "BA", "AF", "EK", "QF", "B6"
+    };
+    private static final String[] SHORT_HAUL = {"Airbus A220", "Boeing 737", "Airbus A320", "Airbus A321"};
+    private static final int[] SHORT_HAUL_SEATS = {130, 170, 180, 200};
+    private static final String[] LONG_HAUL = {"Boeing 787", "Airbus A350", "Boeing 777", "Airbus A330"};
+    private static final int[] LONG_HAUL_SEATS = {290, 320, 350, 280};
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Wei", "Aiko",
+            "Carlos", "Sofia", "Ahmed", "Fatima", "Raj", "Priya", "Lucas", "Emma", "Noah", "Olivia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Wilson", "Anderson", "Taylor", "Thomas", "Moore", "Martin", "Lee", "Thompson", "White", "Harris",
+            "Chen", "Tanaka", "Kim", "Patel", "Singh", "Nguyen", "Silva", "Muller", "Rossi", "Dubois"
+    };
+    private static final String[] PAYMENT_METHODS = {"Credit Card", "Debit Card", "PayPal"};
+    private static final int[] PAYMENT_METHOD_WEIGHTS = {60, 25, 15};
+    // Share of departures in each hour of the day (morning and evening banks)
+    private static final int[] HOUR_WEIGHTS = {0, 0, 0, 0, 0, 2, 6, 9, 9, 7, 6, 5, 5, 5, 5, 6, 7, 9, 9, 7, 5, 4, 2, 1};
+    // Passengers per booking: 1 to 6, mean of about 2.4
+    private static final int[] PARTY_WEIGHTS = {30, 35, 15, 12, 5, 3};
+
+    private final long seed;
+    private final int customers;
+    private final int flights;
+    private final int chunkFlights;
+    private final int batchSize;
+    private final LocalDate start;
+    private final int days;
+    private final double meanBookingsPerFlight;
+
+    private final Route[] routes;
+    private final double[] routeCumulative;
+    private final double[] seasonByDay;
+    private final double maxSeason;
+    private final int[] hourCumulative = cumulative(HOUR_WEIGHTS);
+    private final int[] partyCumulative = cumulative(PARTY_WEIGHTS);
+    private final int[] paymentMethodCumulative = cumulative(PAYMENT_METHOD_WEIGHTS);
+
+    private int userBase;
+    private int flightBase;
+    private int bookingBase;
+    private int passengerBase;
+    private int paymentBase;
+
+    private static class Route {
+        private final String origin;
+        private final String destination;
+        private final int durationMinutes;
+        private final double basePrice;
+        private final int[] airlines;
+
+        private Route(String origin, String destination, int durationMinutes, double basePrice, int[] airlines) {
+            this.origin = origin;
+            this.destination = destination;
+            this.durationMinutes = durationMinutes;
+            this.basePrice = basePrice;
+            this.airlines = airlines;
+        }
+    }
+
+    /**
+     * Row counts of one chunk of flights, from the planning pass.
+     */
+    private static class ChunkPlan {
+        private int bookings;
+        private int passengers;
+        private int payments;
+    }
+
+    /**
+     * Receives the rows of a chunk. The planning pass only counts them.
+     */
+    private interface RowSink {
+        void flight(int flightId, String flightNumber, String airline, Route route, LocalDateTime departure,
+                    LocalDateTime arrival, double price, int totalSeats, int availableSeats, FlightStatus status,
+                    String aircraft) throws SQLException;
+
+        void booking(int bookingId, int customerId, int flightId, LocalDateTime bookingDate, BookingStatus status,
+                     double totalAmount, int numPassengers) throws SQLException;
+
+        void passenger(int passengerId, int bookingId, String firstName, String lastName, String passport)
+                throws SQLException;
+
+        void payment(int paymentId, int bookingId, double amount, String method, LocalDateTime paymentDate,
+                     PaymentStatus status, String transactionId) throws SQLException;
+    }
+
+    public DatasetGenerator(long seed, int customers, int routeCount, int flights, long bookings, int chunkFlights,
+                            int batchSize, LocalDate start, int days) {
+        int maxRoutes = CITIES.length * (CITIES.length - 1);
+        if (customers < 1 || flights < 1 || routeCount < 1 || routeCount > maxRoutes || days < 1) {
+            throw new IllegalArgumentException("Need at least one customer, flight and day, and 1-" + maxRoutes
+                    + " routes.");
+        }
+        this.seed = seed;
+        this.customers = customers;
+        this.flights = flights;
+        this.chunkFlights = Math.max(1, chunkFlights);
+        this.batchSize = Math.max(1, batchSize);
+        this.start = start;
+        this.days = days;
+        this.meanBookingsPerFlight = (double) bookings / flights;
+
+        Random random = new Random(seed);
+        this.routes = buildRoutes(random, routeCount);
+        this.routeCumulative = new double[routeCount];
+        double total = 0;
+        for (int i = 0; i < routeCount; i++) {
+            total += 1.0 / Math.pow(i + 1, 1.1); // Zipf: a few hub routes carry most of the traffic
+            routeCumulative[i] = total;
+        }
+
+        this.seasonByDay = new double[days];
+        double sum = 0;
+        double max = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = start.plusDays(d);
+            double season = 1 + 0.25 * Math.cos(2 * Math.PI * (date.getDayOfYear() - 196) / 365.0);
+            if ((date.getMonthValue() == 12 && date.getDayOfMonth() >= 15)
+                    || (date.getMonthValue() == 1 && date.getDayOfMonth() <= 5)) {
+                season += 0.2;
+            }
+            seasonByDay[d] = season;
+            sum += season;
+            max = Math.max(max, season);
+        }
+        for (int d = 0; d < days; d++) {
+            seasonByDay[d] /= sum / days; // Mean of 1, so the booking target holds
+        }
+        this.maxSeason = max / (sum / days);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BenchmarkSuite.parseOptions(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(
+                Math.min(Runtime.getRuntime().availableProcessors(), AppConfig.getInt("db.pool.maxSize", 10)))));
+
+        DatasetGenerator generator = new DatasetGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("customers", "100000")),
+                Integer.parseInt(options.getOrDefault("routes", "2000")),
+                Integer.parseInt(options.getOrDefault("flights", "100000")),
+                Long.parseLong(options.getOrDefault("bookings", "1000000")),
+                Integer.parseInt(options.getOrDefault("chunkFlights", "500")),
+                Integer.parseInt(options.getOrDefault("batchSize", "1000")),
+                LocalDate.parse(options.getOrDefault("start", "2026-01-01")),
+                Integer.parseInt(options.getOrDefault("days", "365")));
+
+        boolean dryRun = Boolean.parseBoolean(options.getOrDefault("dryRun", "false"));
+        generator.generate(threads, dryRun);
+        System.exit(0);
+    }
+
+    /**
+     * Plans and loads the data set.
+     *
+     * @param dryRun Only plan and report the row counts, without touching the database
+     */
+    public void generate(int threads, boolean dryRun) throws Exception {
+        long begin = System.nanoTime();
+        int chunks = (flights + chunkFlights - 1) / chunkFlights;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads))) {
+            ChunkPlan[] plans = plan(executor, chunks);
+            long bookings = 0;
+            long passengers = 0;
+            long payments = 0;
+            for (ChunkPlan plan : plans) {
+                bookings += plan.bookings;
+                passengers += plan.passengers;
+                payments += plan.payments;
+            }
+            System.out.printf("Plan: %,d customers, %,d routes, %,d flights, %,d bookings, %,d passengers, "
+                    + "%,d payments%n", customers, routes.length, flights, bookings, passengers, payments);
+            if (dryRun) {
+                return;
+            }
+
+            readIdBases();
+            if ((long) passengerBase + passengers > Integer.MAX_VALUE
+                    || (long) bookingBase + bookings > Integer.MAX_VALUE
+                    || (long) paymentBase + payments > Integer.MAX_VALUE
+                    || (long) userBase + customers > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Requested volumes exceed the INT key range.");
+            }
+
+            System.out.println("Loading with " + threads + " thread(s)...");
+            loadCustomers(executor);
+            System.out.printf("✓ %,d customers loaded%n", customers);
+            loadChunks(executor, plans);
+
+            long rows = 2L * customers + flights + bookings + passengers + payments;
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            System.out.printf("✓ Loaded %,d rows in %.1f s (%,.0f rows/s)%n", rows, seconds, rows / seconds);
+        }
+    }
+
+    // ===== Planning =====
+
+    private ChunkPlan[] plan(ExecutorService executor, int chunks) throws Exception {
+        ChunkPlan[] plans = new ChunkPlan[chunks];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            futures.add(executor.submit(() -> {
+                ChunkPlan plan = new ChunkPlan();
+                generateChunk(chunk, 0, 0, 0, new RowSink() {
+                    @Override
+                    public void flight(int flightId, String flightNumber, String airline, Route route,
+                                       LocalDateTime departure, LocalDateTime arrival, double price, int totalSeats,
+                                       int availableSeats, FlightStatus status, String aircraft) {
+                    }
+
+                    @Override
+                    public void booking(int bookingId, int customerId, int flightId, LocalDateTime bookingDate,
+                                        BookingStatus status, double totalAmount, int numPassengers) {
+                        plan.bookings++;
+                    }
+
+                    @Override
+                    public void passenger(int passengerId, int bookingId, String firstName, String lastName,
+                                          String passport) {
+                        plan.passengers++;
+                    }
+
+                    @Override
+                    public void payment(int paymentId, int bookingId, double amount, String method,
+                                        LocalDateTime paymentDate, PaymentStatus status, String transactionId) {
+                        plan.payments++;
+                    }
+                });
+                plans[chunk] = plan;
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return plans;
+    }
+
+    private void readIdBases() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+             Statement stmt = connection.createStatement()) {
+            userBase = nextId(stmt, "users", "user_id");
+            flightBase = nextId(stmt, "flights", "flight_id");
+            bookingBase = nextId(stmt, "bookings", "booking_id");
+            passengerBase = nextId(stmt, "passengers", "passenger_id");
+            paymentBase = nextId(stmt, "payments", "payment_id");
+        }
+    }
+
+    private static int nextId(Statement stmt, String table, String keyColumn) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + keyColumn + "), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    // ===== Generation =====
+
+    /**
+     * Generates one chunk of flights with their bookings, passengers and
+     * payments. Deterministic for a given seed and chunk index.
+     */
+    private void generateChunk(int chunk, int firstBookingId, int firstPassengerId, int firstPaymentId,
+                               RowSink sink) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + chunk);
+        int bookingId = firstBookingId;
+        int passengerId = firstPassengerId;
+        int paymentId = firstPaymentId;
+
+        int first = chunk * chunkFlights;
+        int last = Math.min(flights, first + chunkFlights);
+        for (int index = first; index < last; index++) {
+            int flightId = flightBase + index;
+            Route route = routes[pickRoute(random)];
+            int airline = route.airlines[random.nextInt(route.airlines.length)];
+
+            int day = pickDay(random);
+            LocalDateTime departure = start.plusDays(day).atTime(pick(hourCumulative, random), 5 * random.nextInt(12));
+            LocalDateTime arrival = departure.plusMinutes(route.durationMinutes - 15 + 5L * random.nextInt(7));
+
+            boolean longHaul = route.durationMinutes > 300;
+            int aircraft = random.nextInt(4);
+            int totalSeats = longHaul ? LONG_HAUL_SEATS[aircraft] : SHORT_HAUL_SEATS[aircraft];
+            double price = round2(route.basePrice * seasonByDay[day] * (0.85 + 0.5 * random.nextDouble()));
+            FlightStatus status = random.nextInt(100) == 0 ? FlightStatus.CANCELLED : FlightStatus.SCHEDULED;
+
+            // Demand rises with the season; bookings stop once the flight is full
+            int wanted = (int) Math.round(meanBookingsPerFlight * seasonByDay[day] * (0.6 + 0.8 * random.nextDouble()));
+            int remaining = totalSeats;
+            int[] partySizes = new int[wanted];
+            BookingStatus[] statuses = new BookingStatus[wanted];
+            int count = 0;
+            while (count < wanted && remaining > 0) {
+                int party = Math.min(remaining, 1 + pick(partyCumulative, random));
+                BookingStatus bookingStatus = status == FlightStatus.CANCELLED ? BookingStatus.CANCELLED
+                        : pickBookingStatus(random);
+                if (bookingStatus != BookingStatus.CANCELLED) {
+                    remaining -= party;
+                }
+                partySizes[count] = party;
+                statuses[count] = bookingStatus;
+                count++;
+            }
+            if (status == FlightStatus.SCHEDULED && remaining == 0) {
+                // Sold out: reserveSeats closes a flight when its last seats are taken
+                status = FlightStatus.COMPLETED;
+            }
+
+            sink.flight(flightId, AIRLINE_CODES[airline] + flightId, AIRLINES[airline], route, departure, arrival,
+                    price, totalSeats, remaining, status, longHaul ? LONG_HAUL[aircraft] : SHORT_HAUL[aircraft]);
+
+            for (int b = 0; b < count; b++) {
+                int customerId = userBase + (int) (customers * Math.pow(random.nextDouble(), 1.6)); // Frequent flyers
+                int leadDays = 1 + (int) Math.min(330, -Math.log(1 - random.nextDouble()) * 45);
+                LocalDateTime bookingDate = departure.minusDays(leadDays).minusMinutes(random.nextInt(1440));
+                double amount = round2(price * partySizes[b]);
+
+                sink.booking(bookingId, customerId, flightId, bookingDate, statuses[b], amount, partySizes[b]);
+                for (int p = 0; p < partySizes[b]; p++) {
+                    sink.passenger(passengerId++, bookingId, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                            LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                            "X" + Integer.toString(100_000_000 + random.nextInt(100_000_000)).substring(1));
+                }
+                for (PaymentStatus paymentStatus : paymentsFor(statuses[b], random)) {
+                    String method = PAYMENT_METHODS[pick(paymentMethodCumulative, random)];
+                    sink.payment(paymentId, bookingId, amount, method, bookingDate.plusMinutes(1 + random.nextInt(30)),
+                            paymentStatus, "GEN-" + seed + "-" + paymentId);
+                    paymentId++;
+                }
+                bookingId++;
+            }
+        }
+    }
+
+    private static BookingStatus pickBookingStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        return roll < 75 ? BookingStatus.CONFIRMED : roll < 83 ? BookingStatus.PENDING : BookingStatus.CANCELLED;
+    }
+
+    /**
+     * Payment history of a booking: confirmed bookings were paid (a few after a
+     * failed attempt), most cancelled ones were refunded, and some pending ones
+     * have a payment in flight.
+     */
+    private static List<PaymentStatus> paymentsFor(BookingStatus status, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        switch (status) {
+            case CONFIRMED:
+                return roll < 3 ? List.of(PaymentStatus.FAILED, PaymentStatus.COMPLETED)
+                        : List.of(PaymentStatus.COMPLETED);
+            case CANCELLED:
+                return roll < 60 ? List.of(PaymentStatus.REFUNDED) : List.of();
+            default:
+                return roll < 50 ? List.of(PaymentStatus.PENDING) : List.of();
+        }
+    }
+
+    private int pickRoute(SplittableRandom random) {
+        int index = Arrays.binarySearch(routeCumulative, random.nextDouble() * routeCumulative[routes.length - 1]);
+        return Math.min(routes.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private int pickDay(SplittableRandom random) {
+        while (true) {
+            int day = random.nextInt(days);
+            if (random.nextDouble() * maxSeason <= seasonByDay[day]) {
+                return day;
+            }
+        }
+    }
+
+    private static int pick(int[] cumulative, SplittableRandom random) {
+        int roll = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private static int[] cumulative(int[] weights) {
+        int[] cumulative = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static Route[] buildRoutes(Random random, int count) {
+        List<int[]> pairs = new ArrayList<>();
+        for (int o = 0; o < CITIES.length; o++) {
+            for (int d = 0; d < CITIES.length; d++) {
+                if (o != d) {
+                    pairs.add(new int[]{o, d});
+                }
+            }
+        }
+        Collections.shuffle(pairs, random);
+
+        Route[] routes = new Route[count];
+        for (int i = 0; i < count; i++) {
+            int[] pair = pairs.get(i);
+            int duration = 45 + 15 * random.nextInt(50);
+            int[] airlines = new int[1 + random.nextInt(3)];
+            for (int a = 0; a < airlines.length; a++) {
+                airlines[a] = random.nextInt(AIRLINES.length);
+            }
+            routes[i] = new Route(CITIES[pair[0]], CITIES[pair[1]], duration, 60 + duration * 0.55, airlines);
+        }
+        return routes;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // ===== Loading =====
+
+    private void loadCustomers(ExecutorService executor) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (int first = 0; first < customers; first += CUSTOMER_CHUNK) {
+            int from = first;
+            int to = Math.min(customers, first + CUSTOMER_CHUNK);
+            futures.add(executor.submit(() -> {
+                loadCustomerRange(from, to);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void loadCustomerRange(int from, int to) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed * 31 + from);
+        inTransaction(connection -> {
+            try (PreparedStatement users = connection.prepareStatement(
+                    "INSERT INTO users (user_id, email, password, first_name, last_name, phone, role) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement details = connection.prepareStatement(
+                         "INSERT INTO customers (customer_id, registration_date) VALUES (?, ?)")) {
+                int pending = 0;
+                for (int i = from; i < to; i++) {
+                    int userId = userBase + i;
+                    users.setInt(1, userId);
+                    users.setString(2, "customer" + userId + ".gen" + seed + "@example.com");
+                    users.setString(3, "customer123");
+                    users.setString(4, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    users.setString(5, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    users.setString(6, String.format("555%07d", random.nextInt(10_000_000)));
+                    users.setString(7, UserRole.CUSTOMER.name());
+                    users.addBatch();
+                    details.setInt(1, userId);
+                    details.setDate(2, Date.valueOf(start.minusDays(random.nextInt(5 * 365))));
+                    details.addBatch();
+                    if (++pending == batchSize) {
+                        users.executeBatch();
+                        details.executeBatch();
+                        pending = 0;
+                    }
+                }
+                users.executeBatch();
+                details.executeBatch();
+            }
+        });
+    }
+
+    private void loadChunks(ExecutorService executor, ChunkPlan[] plans) throws Exception {
+        AtomicInteger done = new AtomicInteger();
+        AtomicLong rows = new AtomicLong();
+        int reportEvery = Math.max(1, plans.length / 20);
+        long begin = System.nanoTime();
+
+        List<Future<?>> futures = new ArrayList<>();
+        int bookingId = bookingBase;
+        int passengerId = passengerBase;
+        int paymentId = paymentBase;
+        for (int c = 0; c < plans.length; c++) {
+            int chunk = c;
+            int firstBooking = bookingId;
+            int firstPassenger = passengerId;
+            int firstPayment = paymentId;
+            futures.add(executor.submit(() -> {
+                long loaded = loadChunk(chunk, firstBooking, firstPassenger, firstPayment);
+                long total = rows.addAndGet(loaded);
+                int finished = done.incrementAndGet();
+                if (finished % reportEvery == 0 || finished == plans.length) {
+                    double seconds = (System.nanoTime() - begin) / 1e9;
+                    System.out.printf("  %d/%d chunks, %,d rows (%,.0f rows/s)%n", finished, plans.length, total,
+                            total / seconds);
+                }
+                return null;
+            }));
+            bookingId += plans[c].bookings;
+            passengerId += plans[c].passengers;
+            paymentId += plans[c].payments;
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private long loadChunk(int chunk, int firstBookingId, int firstPassengerId, int firstPaymentId)
+            throws SQLException {
+        long[] rows = new long[1];
+        inTransaction(connection -> {
+            try (BatchWriter writer = new BatchWriter(connection)) {
+                generateChunk(chunk, firstBookingId, firstPassengerId, firstPaymentId, writer);
+                writer.flush();
+                rows[0] = writer.rows;
+            }
+        });
+        return rows[0];
+    }
+
+    private interface TransactionWork {
+        void run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the work in one transaction with constraint checks off, restoring
+     * the session before the connection goes back to the pool.
+     */
+    private static void inTransaction(TransactionWork work) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("SET foreign_key_checks = 0, unique_checks = 0");
+            }
+            connection.setAutoCommit(false);
+            try {
+                work.run(connection);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("SET foreign_key_checks = 1, unique_checks = 1");
+                }
+            }
+        }
+    }
+
+    /**
+     * Batches each table's inserts on one connection.
+     */
+    private class BatchWriter implements RowSink, AutoCloseable {
+        private final PreparedStatement flightStmt;
+        private final PreparedStatement bookingStmt;
+        private final PreparedStatement passengerStmt;
+        private final PreparedStatement paymentStmt;
+        private final int[] pending = new int[4];
+        private long rows;
+
+        private BatchWriter(Connection connection) throws SQLException {
+            flightStmt = connection.prepareStatement("INSERT INTO flights (flight_id, flight_number, airline, " +
+                    "origin, destination, departure_time, arrival_time, price, total_seats, available_seats, " +
+                    "status, aircraft_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            bookingStmt = connection.prepareStatement("INSERT INTO bookings (booking_id, customer_id, flight_id, " +
+                    "booking_date, status, total_amount, num_passengers) VALUES (?, ?, ?, ?, ?, ?, ?)");
+            passengerStmt = connection.prepareStatement("INSERT INTO passengers (passenger_id, booking_id, " +
+                    "first_name, last_name, passport_number) VALUES (?, ?, ?, ?, ?)");
+            paymentStmt = connection.prepareStatement("INSERT INTO payments (payment_id, booking_id, amount, " +
+                    "payment_method, payment_date, status, transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        @Override
+        public void flight(int flightId, String flightNumber, String airline, Route route, LocalDateTime departure,
+                           LocalDateTime arrival, double price, int totalSeats, int availableSeats,
+                           FlightStatus status, String aircraft) throws SQLException {
+            flightStmt.setInt(1, flightId);
+            flightStmt.setString(2, flightNumber);
+            flightStmt.setString(3, airline);
+            flightStmt.setString(4, route.origin);
+            flightStmt.setString(5, route.destination);
+            flightStmt.setTimestamp(6, Timestamp.valueOf(departure));
+            flightStmt.setTimestamp(7, Timestamp.valueOf(arrival));
+            flightStmt.setDouble(8, price);
+            flightStmt.setInt(9, totalSeats);
+            flightStmt.setInt(10, availableSeats);
+            flightStmt.setString(11, status.name());
+            flightStmt.setString(12, aircraft);
+            add(flightStmt, 0);
+        }
+
+        @Override
+        public void booking(int bookingId, int customerId, int flightId, LocalDateTime bookingDate,
+                            BookingStatus status, double totalAmount, int numPassengers) throws SQLException {
+            bookingStmt.setInt(1, bookingId);
+            bookingStmt.setInt(2, customerId);
+            bookingStmt.setInt(3, flightId);
+            bookingStmt.setTimestamp(4, Timestamp.valueOf(bookingDate));
+            bookingStmt.setString(5, status.name());
+            bookingStmt.setDouble(6, totalAmount);
+            bookingStmt.setInt(7, numPassengers);
+            add(bookingStmt, 1);
+        }
+
+        @Override
+        public void passenger(int passengerId, int bookingId, String firstName, String lastName, String passport)
+                throws SQLException {
+            passengerStmt.setInt(1, passengerId);
+            passengerStmt.setInt(2, bookingId);
+            passengerStmt.setString(3, firstName);
+            passengerStmt.setString(4, lastName);
+            passengerStmt.setString(5, passport);
+            add(passengerStmt, 2);
+        }
+
+        @Override
+        public void payment(int paymentId, int bookingId, double amount, String method, LocalDateTime paymentDate,
+                            PaymentStatus status, String transactionId) throws SQLException {
+            paymentStmt.setInt(1, paymentId);
+            paymentStmt.setInt(2, bookingId);
+            paymentStmt.setDouble(3, amount);
+            paymentStmt.setString(4, method);
+            paymentStmt.setTimestamp(5, Timestamp.valueOf(paymentDate));
+            paymentStmt.setString(6, status.name());
+            paymentStmt.setString(7, transactionId);
+            add(paymentStmt, 3);
+        }
+
+        private void add(PreparedStatement stmt, int slot) throws SQLException {
+            stmt.addBatch();
+            rows++;
+            if (++pending[slot] == batchSize) {
+                stmt.executeBatch();
+                pending[slot] = 0;
+            }
+        }
+
+        // Remaining rows, parents first
+        private void flush() throws SQLException {
+            flightStmt.executeBatch();
+            bookingStmt.executeBatch();
+            passengerStmt.executeBatch();
+            paymentStmt.executeBatch();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flightStmt.close();
+            bookingStmt.close();
+            passengerStmt.close();
+            paymentStmt.close();
+        }
+    }
+}
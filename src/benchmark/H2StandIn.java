@@ -0,0 +1,106 @@
+package benchmark;
+
+import util.AppConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded H2 database in MySQL mode that stands in for the MySQL server, so
+ * the benchmarks run on a machine without one. The database lives in memory
+ * for the length of the run and gets the tables and indexes of
+ * database/schema.sql, without its sample rows (the benchmarks seed their
+ * own); the application then reaches it through the usual JDBC adapters and
+ * pool.
+ *
+ * H2 itself is not bundled: put the H2 jar (com.h2database:h2, 2.x) on the
+ * classpath next to the MySQL connector.
+ */
+final class H2StandIn {
+    private static final String URL =
+            "jdbc:h2:mem:flight_reservation_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String USERNAME = "sa";
+    private static final Pattern TABLE_NAME = Pattern.compile("(?i)^CREATE TABLE\\s+(\\w+)");
+    private static final Pattern AUTO_INCREMENT = Pattern.compile("(?i)\\bAUTO_INCREMENT\\b");
+
+    private H2StandIn() {
+    }
+
+    /**
+     * Creates the schema and points the database settings at it. Call before
+     * any adapter is created.
+     */
+    static void start(Path schema) throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, USERNAME, "");
+             Statement stmt = connection.createStatement()) {
+            for (String sql : statements(Files.readString(schema))) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().startsWith("No suitable driver")) {
+                throw new SQLException("H2 is not on the classpath; add the com.h2database:h2 jar to lib/", e);
+            }
+            throw e;
+        }
+
+        AppConfig.set("storage.backend", "mysql");
+        AppConfig.set("db.url", URL);
+        AppConfig.set("db.username", USERNAME);
+        AppConfig.set("db.password", "");
+        // H2 has no row-by-row streaming hint; fetch in chunks instead
+        AppConfig.set("db.stream.fetchSize", "1000");
+        System.out.println("✓ Using an in-memory H2 database in MySQL mode instead of MySQL");
+    }
+
+    /**
+     * Splits the schema script into statements and keeps the CREATE TABLE and
+     * CREATE INDEX ones. Comments, the statements that create and select the
+     * MySQL database and the sample data are left out.
+     *
+     * AUTO_INCREMENT keys are switched to a sequence per table: in MySQL mode
+     * H2 can hand the same AUTO_INCREMENT value to two concurrent inserts,
+     * which fails the booking benchmark with primary key violations.
+     */
+    static List<String> statements(String script) {
+        StringBuilder text = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.strip().startsWith("--")) {
+                text.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String statement : text.toString().split(";")) {
+            String sql = statement.strip();
+            String start = sql.toUpperCase(Locale.ROOT);
+            if (start.startsWith("CREATE TABLE")) {
+                addTable(statements, sql);
+            } else if (start.startsWith("CREATE INDEX")) {
+                statements.add(sql);
+            }
+        }
+        return statements;
+    }
+
+    private static void addTable(List<String> statements, String sql) {
+        Matcher table = TABLE_NAME.matcher(sql);
+        if (!table.find() || !AUTO_INCREMENT.matcher(sql).find()) {
+            statements.add(sql);
+            return;
+        }
+
+        String sequence = table.group(1) + "_id_seq";
+        statements.add("CREATE SEQUENCE " + sequence);
+        statements.add(AUTO_INCREMENT.matcher(sql).replaceFirst("DEFAULT (NEXT VALUE FOR " + sequence + ")"));
+    }
+}
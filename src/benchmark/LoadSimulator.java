@@ -0,0 +1,310 @@
+package benchmark;
+
+import adapter.DataAdapterFactory;
+import adapter.interfaces.BookingDataAdapter;
+import adapter.interfaces.FlightDataAdapter;
+import adapter.interfaces.UserDataAdapter;
+import controller.BookingController;
+import controller.FlightController;
+import controller.PaymentController;
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.Passenger;
+import model.entity.User;
+import model.enums.BookingStatus;
+import service.LiveCounters;
+import service.NotificationManager;
+import util.AppConfig;
+import util.LatencyHistogram;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Headless load driver for the booking path. Each simulated customer runs
+ * on its own virtual thread and repeats a session of search, createBooking,
+ * processPayment and then confirmBooking, cancelBooking or
+ * modifyBookingFlight against the real controllers.
+ *
+ * Sessions book a small set of flights with few seats, so customers compete
+ * for the last seats and flights sell out. Throughput, latency percentiles
+ * and failure rates are reported per operation. Afterwards every flight the
+ * sessions touched is checked against the integrity invariants:
+ * available_seats equals total_seats minus the passengers of active
+ * bookings, seats are never negative, every booking has exactly its number
+ * of passengers, and the live seat counters match. Exits with status 1 if
+ * any invariant is violated.
+ *
+ * Runs without MySQL with --backend=memory, on the in-memory engine, or with
+ * --database=h2, on an embedded H2 database created from database/schema.sql
+ * (the H2 jar must be on the classpath). Otherwise it uses the configured
+ * backend.
+ *
+ * Usage: LoadSimulator [--users=200] [--durationSeconds=60] [--flights=12] [--seats=60] [--seed=42]
+ *                      [--backend=memory] [--database=h2]
+ */
+public class LoadSimulator {
+    private static final String CUSTOMER_EMAIL = "simulator.customer@example.com";
+    private static final String[][] ROUTES = {
+            {"Calgary", "Vancouver"}, {"Toronto", "Montreal"}, {"New York", "Chicago"}
+    };
+    private static final String[] PAYMENT_METHODS = {"Credit Card", "Debit Card", "PayPal"};
+
+    private final FlightController flightController = new FlightController();
+    private final BookingController bookingController = new BookingController();
+    private final PaymentController paymentController = new PaymentController();
+    private final FlightDataAdapter flightDataAdapter = DataAdapterFactory.createFlightDataAdapter();
+    private final BookingDataAdapter bookingDataAdapter = DataAdapterFactory.createBookingDataAdapter();
+    private final UserDataAdapter userDataAdapter = DataAdapterFactory.createUserDataAdapter();
+
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final Set<Integer> touchedFlights = ConcurrentHashMap.newKeySet();
+    private final LongAdder sessions = new LongAdder();
+    private final List<String> violations = new ArrayList<>();
+
+    private int customerId;
+
+    /**
+     * Calls and latencies of one operation. A failure is any call the
+     * controller rejected, including sold-out flights.
+     */
+    private static class OperationStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    public LoadSimulator() {
+        for (String operation : new String[]{"search", "createBooking", "processPayment", "confirmBooking",
+                "cancelBooking", "modifyBookingFlight"}) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = BenchmarkSuite.parseOptions(args);
+        // Both must be decided before the first adapter is created
+        if ("memory".equalsIgnoreCase(options.get("backend"))) {
+            AppConfig.set("storage.backend", "memory");
+            System.out.println("✓ Using the in-memory storage engine instead of MySQL");
+        } else if ("h2".equalsIgnoreCase(options.get("database"))) {
+            H2StandIn.start(Path.of("database", "schema.sql"));
+        }
+        LoadSimulator simulator = new LoadSimulator();
+
+        int users = Integer.parseInt(options.getOrDefault("users", "200"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("durationSeconds", "60"));
+        int flights = Integer.parseInt(options.getOrDefault("flights", "12"));
+        int seats = Integer.parseInt(options.getOrDefault("seats", "60"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        simulator.setUp(flights, seats);
+        simulator.run(users, durationSeconds, seed);
+        boolean valid = simulator.verify();
+
+        NotificationManager.getInstance().shutdown();
+        System.exit(valid ? 0 : 1);
+    }
+
+    private void setUp(int flights, int seats) throws Exception {
+        User existing = userDataAdapter.findByEmail(CUSTOMER_EMAIL);
+        if (existing != null) {
+            customerId = existing.getUserId();
+        } else {
+            customerId = userDataAdapter.createCustomer(
+                    new Customer(CUSTOMER_EMAIL, "simulator", "Load", "Simulator", "555-0199")).getUserId();
+        }
+
+        String run = Long.toString(System.currentTimeMillis() % 10_000_000_000L, 36).toUpperCase();
+        LocalDateTime departure = LocalDateTime.now().plusDays(30).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < flights; i++) {
+            String[] route = ROUTES[i % ROUTES.length];
+            flightDataAdapter.create(new Flight("SIM" + run + i, "Simulator Air", route[0], route[1],
+                    departure.plusHours(i), departure.plusHours(i + 2), 150.0 + 10 * i, seats, "Airbus A320"));
+        }
+        System.out.println("✓ Created " + flights + " flights with " + seats + " seats each (run " + run + ").");
+    }
+
+    private void run(int users, int durationSeconds, long seed) throws InterruptedException {
+        System.out.println("Running " + users + " customers for " + durationSeconds + " s...");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long begin = System.nanoTime();
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream())); // Controllers log every step
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                Random random = new Random(seed + i);
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        session(random);
+                        sessions.increment();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(durationSeconds + 120L, TimeUnit.SECONDS);
+        } finally {
+            System.setOut(console);
+        }
+
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("%n%,d sessions in %.1f s (%,.1f sessions/s)%n", sessions.sum(), seconds,
+                sessions.sum() / seconds);
+        System.out.printf("%-20s %10s %10s %9s %9s %9s %9s %9s%n", "operation", "calls", "ops/s", "failed",
+                "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            OperationStats op = entry.getValue();
+            long calls = op.calls.sum();
+            System.out.printf("%-20s %,10d %,10.1f %8.1f%% %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), calls,
+                    calls / seconds, calls == 0 ? 0 : 100.0 * op.failures.sum() / calls,
+                    op.latency.getPercentile(50) / 1e6, op.latency.getPercentile(95) / 1e6,
+                    op.latency.getPercentile(99) / 1e6, op.latency.getMax() / 1e6);
+        }
+    }
+
+    /**
+     * One customer visit. Some customers abandon after booking and leave a
+     * pending booking behind, as real ones do.
+     */
+    private void session(Random random) {
+        String[] route = ROUTES[random.nextInt(ROUTES.length)];
+        List<Flight> results = call("search", () -> flightController.searchFlights(route[0], route[1], null, null));
+        List<Flight> candidates = new ArrayList<>();
+        if (results != null) {
+            for (Flight flight : results) {
+                if (flight.getFlightNumber().startsWith("SIM") && flight.getAvailableSeats() > 0) {
+                    candidates.add(flight);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Flight flight = candidates.get(random.nextInt(candidates.size()));
+        List<Passenger> passengers = new ArrayList<>();
+        int partySize = 1 + random.nextInt(4);
+        for (int i = 0; i < partySize; i++) {
+            passengers.add(new Passenger("Sim" + i, "Customer", "S" + random.nextInt(100_000_000)));
+        }
+        touchedFlights.add(flight.getFlightId());
+        Booking booking = call("createBooking",
+                () -> bookingController.createBooking(customerId, flight.getFlightId(), passengers));
+        if (booking == null) {
+            return;
+        }
+
+        String method = PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)];
+        if (call("processPayment", () -> paymentController.processPayment(booking.getBookingId(),
+                booking.getTotalAmount(), method, "4111111111111111", "12/30", "123")) == null) {
+            call("cancelBooking", () -> bookingController.cancelBooking(booking.getBookingId()));
+            return;
+        }
+
+        int roll = random.nextInt(100);
+        if (roll < 65) {
+            call("confirmBooking", () -> bookingController.confirmBooking(booking.getBookingId()));
+        } else if (roll < 80) {
+            call("cancelBooking", () -> bookingController.cancelBooking(booking.getBookingId()));
+        } else if (roll < 95) {
+            Flight other = candidates.get(random.nextInt(candidates.size()));
+            touchedFlights.add(other.getFlightId());
+            if (Boolean.TRUE.equals(call("modifyBookingFlight",
+                    () -> bookingController.modifyBookingFlight(booking.getBookingId(), other.getFlightId())))) {
+                call("confirmBooking", () -> bookingController.confirmBooking(booking.getBookingId()));
+            }
+        }
+    }
+
+    /**
+     * Times a controller call. A null or false result counts as a failure.
+     */
+    private <T> T call(String operation, Supplier<T> action) {
+        OperationStats op = stats.get(operation);
+        long start = System.nanoTime();
+        T result = null;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            System.err.println("✗ " + operation + " threw " + e);
+        }
+        op.latency.record(System.nanoTime() - start);
+        op.calls.increment();
+        if (result == null || Boolean.FALSE.equals(result)) {
+            op.failures.increment();
+        }
+        return result;
+    }
+
+    // ===== Verification =====
+
+    /**
+     * Checks every touched flight against the seat and passenger invariants.
+     *
+     * @return true if no invariant is violated
+     */
+    private boolean verify() throws Exception {
+        LiveCounters liveCounters = LiveCounters.getInstance();
+        int bookingsChecked = 0;
+
+        for (int flightId : touchedFlights) {
+            Flight flight = flightDataAdapter.findByIdAuthoritative(flightId);
+            int activePassengers = 0;
+
+            for (Booking booking : bookingDataAdapter.findByFlightId(flightId)) {
+                bookingsChecked++;
+                int passengers = bookingDataAdapter.getPassengersByBookingId(booking.getBookingId()).size();
+                if (passengers == 0) {
+                    violations.add("Booking " + booking.getBookingId() + " has no passengers");
+                } else if (passengers != booking.getNumPassengers()) {
+                    violations.add("Booking " + booking.getBookingId() + " has " + passengers
+                            + " passengers but records " + booking.getNumPassengers());
+                }
+                if (booking.getStatus() != BookingStatus.CANCELLED) {
+                    activePassengers += passengers;
+                }
+            }
+
+            if (flight.getAvailableSeats() < 0) {
+                violations.add("Flight " + flight.getFlightNumber() + " has " + flight.getAvailableSeats() + " seats");
+            }
+            int expected = flight.getTotalSeats() - activePassengers;
+            if (flight.getAvailableSeats() != expected) {
+                violations.add("Flight " + flight.getFlightNumber() + " has " + flight.getAvailableSeats()
+                        + " available seats, expected " + expected + " (" + activePassengers + " booked of "
+                        + flight.getTotalSeats() + ")");
+            }
+            if (liveCounters.getSeatsSold(flightId) != activePassengers) {
+                violations.add("Flight " + flight.getFlightNumber() + " live seat counter is "
+                        + liveCounters.getSeatsSold(flightId) + ", expected " + activePassengers);
+            }
+        }
+
+        System.out.println("\nVerified " + touchedFlights.size() + " flights and " + bookingsChecked + " bookings.");
+        if (violations.isEmpty()) {
+            System.out.println("✓ All invariants hold.");
+            return true;
+        }
+        System.out.println("✗ " + violations.size() + " invariant violation(s):");
+        for (String violation : violations) {
+            System.out.println("   " + violation);
+        }
+        return false;
+    }
+}
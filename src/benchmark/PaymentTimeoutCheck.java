@@ -0,0 +1,191 @@
+package benchmark;
+
+import adapter.DataAdapterFactory;
+import adapter.interfaces.BookingDataAdapter;
+import adapter.interfaces.FlightDataAdapter;
+import adapter.interfaces.PaymentDataAdapter;
+import adapter.interfaces.UserDataAdapter;
+import controller.PaymentController;
+import model.entity.Booking;
+import model.entity.Customer;
+import model.entity.Flight;
+import model.entity.Payment;
+import model.enums.BookingStatus;
+import model.enums.PaymentStatus;
+import util.AppConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Verifies that an asynchronous payment timeout never interrupts a database
+ * write, and that the payment still ends up COMPLETED or FAILED. Each case
+ * slows one of the payment writes so the timeout fires at a different point:
+ * during the gateway call, during the PENDING insert and during the final
+ * status write. Exits with status 1 if any case fails.
+ *
+ * Runs on the in-memory engine, so no database is needed.
+ *
+ * Usage: PaymentTimeoutCheck
+ */
+public class PaymentTimeoutCheck {
+    private static final long WORKER_WAIT_MILLIS = 10000;
+
+    private final BookingDataAdapter bookingDataAdapter;
+    private final int customerId;
+    private final int flightId;
+
+    private PaymentTimeoutCheck() throws SQLException {
+        this.bookingDataAdapter = DataAdapterFactory.createBookingDataAdapter();
+        UserDataAdapter users = DataAdapterFactory.createUserDataAdapter();
+        FlightDataAdapter flights = DataAdapterFactory.createFlightDataAdapter();
+
+        Customer customer = users.createCustomer(
+                new Customer("timeout.check@example.com", "password", "Timeout", "Check", "555-0100"));
+        LocalDateTime departure = LocalDateTime.now().plusDays(7);
+        Flight flight = flights.create(new Flight("TC100", "SkyHigh", "Calgary", "Vancouver", departure,
+                departure.plusHours(2), 250, 100, "A320"));
+        this.customerId = customer.getUserId();
+        this.flightId = flight.getFlightId();
+    }
+
+    public static void main(String[] args) throws Exception {
+        AppConfig.set("storage.backend", "memory");
+        AppConfig.set("storage.memory.durable", "false");
+        AppConfig.set("storage.memory.demoData", "false");
+        AppConfig.set("flight.snapshot.enabled", "false");
+
+        PaymentTimeoutCheck check = new PaymentTimeoutCheck();
+        boolean passed = true;
+
+        // The gateway takes about 1.4 s; the FAILED write after the interrupt must run uninterrupted
+        passed &= check.run("timeout in gateway", 500, 0, 500, PaymentStatus.FAILED, false);
+        // The timeout fires while the PENDING row is written; the gateway is then skipped
+        passed &= check.run("timeout in insert", 300, 1000, 0, PaymentStatus.FAILED, false);
+        // The gateway answered in time; the timeout fires during the COMPLETED write
+        passed &= check.run("timeout in status write", 2000, 0, 1500, PaymentStatus.COMPLETED, true);
+
+        System.out.println(passed ? "\n✓ Payment timeouts never interrupt a database write."
+                : "\n✗ At least one payment timeout case failed.");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(String name, long timeoutMillis, long createDelayMillis, long statusDelayMillis,
+                        PaymentStatus expectedStatus, boolean expectPayment) throws Exception {
+        Booking booking = new Booking();
+        booking.setCustomerId(customerId);
+        booking.setFlightId(flightId);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setNumPassengers(1);
+        booking.setTotalAmount(250);
+        booking = bookingDataAdapter.create(booking);
+
+        AppConfig.set("payments.timeoutMillis", Long.toString(timeoutMillis));
+        SlowPaymentDataAdapter adapter = new SlowPaymentDataAdapter(
+                DataAdapterFactory.createPaymentDataAdapter(), createDelayMillis, statusDelayMillis);
+        PaymentController controller = new PaymentController(adapter);
+
+        Payment payment = controller.processPaymentAsync(booking.getBookingId(), 250, "Credit Card",
+                "4111111111111111", "12/30", "123").get(WORKER_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        Payment stored = awaitSettled(adapter, booking.getBookingId());
+
+        PaymentStatus status = stored != null ? stored.getStatus() : null;
+        boolean ok = status == expectedStatus && (payment != null) == expectPayment && !adapter.interrupted.get();
+        System.out.printf("%s %-24s status=%s returned=%s interruptedWrite=%s%n", ok ? "✓" : "✗", name, status,
+                payment != null, adapter.interrupted.get());
+        return ok;
+    }
+
+    /**
+     * Waits for the payment thread, which may still be writing after the
+     * timeout completed the future, to leave PENDING.
+     */
+    private static Payment awaitSettled(PaymentDataAdapter adapter, int bookingId) throws Exception {
+        long deadline = System.currentTimeMillis() + WORKER_WAIT_MILLIS;
+        while (true) {
+            Payment payment = adapter.findByBookingId(bookingId);
+            if ((payment != null && payment.getStatus() != PaymentStatus.PENDING)
+                    || System.currentTimeMillis() > deadline) {
+                return payment;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * Delays the payment writes like a slow database, and records whether a
+     * write was interrupted, which on MySQL would close the connection.
+     */
+    private static class SlowPaymentDataAdapter implements PaymentDataAdapter {
+        private final PaymentDataAdapter delegate;
+        private final long createDelayMillis;
+        private final long statusDelayMillis;
+        private final AtomicBoolean interrupted = new AtomicBoolean();
+
+        SlowPaymentDataAdapter(PaymentDataAdapter delegate, long createDelayMillis, long statusDelayMillis) {
+            this.delegate = delegate;
+            this.createDelayMillis = createDelayMillis;
+            this.statusDelayMillis = statusDelayMillis;
+        }
+
+        private void write(long delayMillis) throws SQLException {
+            if (Thread.currentThread().isInterrupted()) {
+                interrupted.set(true);
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw new SQLException("Write interrupted", e);
+            }
+        }
+
+        @Override
+        public Payment create(Payment payment) throws SQLException {
+            write(createDelayMillis);
+            return delegate.create(payment);
+        }
+
+        @Override
+        public Payment findById(int paymentId) throws SQLException {
+            return delegate.findById(paymentId);
+        }
+
+        @Override
+        public Payment findByBookingId(int bookingId) throws SQLException {
+            return delegate.findByBookingId(bookingId);
+        }
+
+        @Override
+        public List<Payment> findAll() throws SQLException {
+            return delegate.findAll();
+        }
+
+        @Override
+        public List<Payment> findAllAfter(int lastPaymentId, int limit) throws SQLException {
+            return delegate.findAllAfter(lastPaymentId, limit);
+        }
+
+        @Override
+        public void forEach(Consumer<? super Payment> action) throws SQLException {
+            delegate.forEach(action);
+        }
+
+        @Override
+        public boolean updateStatus(int paymentId, PaymentStatus status) throws SQLException {
+            write(statusDelayMillis);
+            return delegate.updateStatus(paymentId, status);
+        }
+
+        @Override
+        public boolean transitionStatus(int paymentId, PaymentStatus expected, PaymentStatus status)
+                throws SQLException {
+            write(statusDelayMillis);
+            return delegate.transitionStatus(paymentId, expected, status);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package benchmark;
+
+import adapter.database.FlightDatabaseAdapter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies with EXPLAIN that representative flight searches are served by the
+ * flight search indexes instead of a full scan of the flights table.
+ * Exits with status 1 if any search falls back to a table scan.
+ *
+ * Run it against a realistically sized flights table: on a handful of rows
+ * MySQL may legitimately prefer a scan.
+ *
+ * Usage: SearchPlanCheck [origin] [destination] [yyyy-MM-dd] [airline]
+ */
+public class SearchPlanCheck {
+    private static final Set<String> SEARCH_INDEXES = Set.of(
+            "idx_flights_status_route_departure",
+            "idx_flights_status_departure",
+            "idx_flights_airline_departure");
+
+    public static void main(String[] args) throws Exception {
+        String origin = args.length > 0 ? args[0] : "New York";
+        String destination = args.length > 1 ? args[1] : "London";
+        LocalDate date = args.length > 2 ? LocalDate.parse(args[2]) : LocalDate.now().plusDays(1);
+        String airline = args.length > 3 ? args[3] : "SkyHigh";
+
+        FlightDatabaseAdapter adapter = new FlightDatabaseAdapter();
+        boolean allIndexed = true;
+
+        allIndexed &= check(adapter, "route + date", origin, destination, date, null);
+        allIndexed &= check(adapter, "route", origin, destination, null, null);
+        allIndexed &= check(adapter, "origin prefix", origin.substring(0, Math.min(3, origin.length())), null,
+                null, null);
+        allIndexed &= check(adapter, "date only", null, null, date, null);
+        allIndexed &= check(adapter, "airline + date", null, null, date, airline);
+
+        System.out.println(allIndexed ? "\n✓ All searches use the flight search indexes."
+                : "\n✗ At least one search scans the flights table.");
+        System.exit(allIndexed ? 0 : 1);
+    }
+
+    private static boolean check(FlightDatabaseAdapter adapter, String name, String origin, String destination,
+                                 LocalDate date, String airline) throws Exception {
+        List<Map<String, String>> plan = adapter.explainSearch(origin, destination, date, airline);
+        boolean indexed = false;
+
+        for (Map<String, String> row : plan) {
+            if ("flights".equals(row.get("table"))) {
+                indexed = !"ALL".equals(row.get("type")) && SEARCH_INDEXES.contains(row.get("key"));
+            }
+        }
+
+        System.out.printf("%s %-15s %s%n", indexed ? "✓" : "✗", name, plan);
+        return indexed;
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import adapter.database.FlightDatabaseAdapter;
+import adapter.interfaces.FlightDataAdapter;
+import model.entity.Flight;
+import model.enums.SeatReservationResult;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the legacy read-modify-write seat update against the atomic
+ * conditional UPDATE with many concurrent bookers on one hot flight.
+ * Reports throughput, seats sold and how many seats were oversold or lost.
+ *
+ * Usage: SeatReservationBenchmark [bookers] [seats]
+ */
+public class SeatReservationBenchmark {
+    private interface ReservePath {
+        boolean reserve(int flightId) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bookers = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 150;
+        FlightDataAdapter adapter = new FlightDatabaseAdapter();
+
+        System.out.println("Seat reservation benchmark: " + bookers + " bookers, " + seats + " seats, 1 seat each");
+
+        run("legacy read-modify-write", adapter, bookers, seats, flightId -> {
+            Flight flight = adapter.findById(flightId);
+            if (flight == null || !flight.hasAvailableSeats(1)) {
+                return false;
+            }
+            flight.reserveSeats(1);
+            return adapter.updateAvailableSeats(flightId, flight.getAvailableSeats());
+        });
+
+        run("atomic conditional update", adapter, bookers, seats,
+                flightId -> adapter.reserveSeats(flightId, 1) == SeatReservationResult.RESERVED);
+
+        System.exit(0);
+    }
+
+    private static void run(String name, FlightDataAdapter adapter, int bookers, int seats, ReservePath path)
+            throws Exception {
+        Flight flight = adapter.create(new Flight("BENCH" + System.nanoTime() % 1_000_000_000L, "Benchmark Air",
+                "Bench Origin", "Bench Destination", LocalDateTime.now().plusDays(30),
+                LocalDateTime.now().plusDays(30).plusHours(2), 100.0, seats, "Benchmark"));
+        int flightId = flight.getFlightId();
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsed;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < bookers; i++) {
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        if (path.reserve(flightId)) {
+                            sold.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.MINUTES);
+            elapsed = System.nanoTime() - begin;
+        }
+
+        int remaining = adapter.findById(flightId).getAvailableSeats();
+        int actuallyTaken = seats - remaining;
+        double seconds = elapsed / 1_000_000_000.0;
+
+        System.out.printf("%n%s%n", name);
+        System.out.printf("   Elapsed:        %.1f ms%n", elapsed / 1_000_000.0);
+        System.out.printf("   Throughput:     %.0f attempts/s%n", bookers / seconds);
+        System.out.printf("   Reported sold:  %d%n", sold.get());
+        System.out.printf("   Seats taken:    %d (remaining %d)%n", actuallyTaken, remaining);
+        System.out.printf("   Oversold/lost:  %d%n", sold.get() - actuallyTaken);
+        System.out.printf("   Errors:         %d%n", errors.get());
+
+        adapter.delete(flightId);
+    }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import util.TransactionIdGenerator;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures TransactionIdGenerator throughput under contention and verifies
+ * that no duplicate IDs are produced and each thread sees increasing IDs.
+ *
+ * Usage: TransactionIdBenchmark [threads] [idsPerThread]
+ */
+public class TransactionIdBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int idsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        TransactionIdGenerator generator = new TransactionIdGenerator(1);
+
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 1_000_000; i++) {
+            generator.nextId();
+        }
+
+        long[][] ids = new long[threads][idsPerThread];
+        boolean[] monotonic = new boolean[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                long[] out = ids[index];
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < idsPerThread; i++) {
+                    out[i] = generator.nextId();
+                }
+                boolean increasing = true;
+                for (int i = 1; i < idsPerThread; i++) {
+                    increasing &= out[i] > out[i - 1];
+                }
+                monotonic[index] = increasing;
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+
+        long total = (long) threads * idsPerThread;
+        long[] all = new long[(int) total];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(ids[t], 0, all, t * idsPerThread, idsPerThread);
+        }
+        Arrays.sort(all);
+        long duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                duplicates++;
+            }
+        }
+        boolean allMonotonic = true;
+        for (boolean m : monotonic) {
+            allMonotonic &= m;
+        }
+
+        System.out.println("Transaction ID benchmark: " + threads + " threads x " + idsPerThread + " IDs");
+        System.out.printf("   Elapsed:     %.1f ms%n", elapsed / 1_000_000.0);
+        System.out.printf("   Throughput:  %.2f million IDs/s%n", total / (elapsed / 1_000_000_000.0) / 1_000_000);
+        System.out.println("   Duplicates:  " + duplicates);
+        System.out.println("   Monotonic:   " + (allMonotonic ? "yes" : "NO"));
+
+        System.exit(duplicates == 0 && allMonotonic ? 0 : 1);
+    }
+}
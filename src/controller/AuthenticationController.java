@@ -1,7 +1,7 @@
 package controller;
 
+import adapter.DataAdapterFactory;
 import adapter.interfaces.UserDataAdapter;
-import adapter.database.UserDatabaseAdapter;
 import model.entity.*;
 import model.enums.UserRole;
 import util.InputValidator;
@@ -18,7 +18,7 @@ public class AuthenticationController {
     private User currentUser;
 
     public AuthenticationController() {
-        this.userDataAdapter = new UserDatabaseAdapter();
+        this.userDataAdapter = DataAdapterFactory.createUserDataAdapter();
     }
 
     /**
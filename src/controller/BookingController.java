@@ -1,17 +1,21 @@
 package controller;
 
+import adapter.DataAdapterFactory;
 import adapter.interfaces.BookingDataAdapter;
 import adapter.interfaces.FlightDataAdapter;
 import adapter.interfaces.UserDataAdapter;
-import adapter.database.BookingDatabaseAdapter;
-import adapter.database.FlightDatabaseAdapter;
-import adapter.database.UserDatabaseAdapter;
 import model.entity.Booking;
 import model.entity.Customer;
 import model.entity.Flight;
 import model.entity.Passenger;
 import model.enums.BookingStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
+import service.LiveCounters;
 import service.NotificationManager;
+import util.jfr.BookingConfirmEvent;
+import util.jfr.BookingCreateEvent;
+import util.jfr.ReservationEvent;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -21,77 +25,120 @@ import java.util.List;
  * and passenger management.
  * Handles multi-passenger bookings, seat reservations, and sends notifications
  * for booking events.
+ * Booking writes are version-checked; a write that lost a race with another
+ * change is retried against the reloaded booking.
  */
 public class BookingController {
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
     private BookingDataAdapter bookingDataAdapter;
     private FlightDataAdapter flightDataAdapter;
     private UserDataAdapter userDataAdapter;
     private FlightController flightController;
     private NotificationManager notificationManager;
+    private LiveCounters liveCounters;
 
     public BookingController() {
-        this.bookingDataAdapter = new BookingDatabaseAdapter();
-        this.flightDataAdapter = new FlightDatabaseAdapter();
-        this.userDataAdapter = new UserDatabaseAdapter();
+        this.bookingDataAdapter = DataAdapterFactory.createBookingDataAdapter();
+        this.flightDataAdapter = DataAdapterFactory.createFlightDataAdapter();
+        this.userDataAdapter = DataAdapterFactory.createUserDataAdapter();
         this.flightController = new FlightController();
         this.notificationManager = NotificationManager.getInstance();
+        this.liveCounters = LiveCounters.getInstance();
     }
 
     public Booking createBooking(int customerId, int flightId, List<Passenger> passengers) {
+        BookingCreateEvent event = new BookingCreateEvent(flightId, passengers.size());
+        event.begin();
         try {
-            // Verify flight exists and has available seats
+            // Verify flight exists
             Flight flight = flightDataAdapter.findById(flightId);
             if (flight == null) {
+                event.setOutcome(SeatReservationResult.FLIGHT_NOT_FOUND.name());
                 System.out.println("✗ Flight not found.");
                 return null;
             }
 
             int numPassengers = passengers.size();
-            if (!flight.hasAvailableSeats(numPassengers)) {
-                System.out.println("✗ Not enough available seats on this flight.");
-                return null;
-            }
 
             // Calculate total amount
             double totalAmount = flight.getPrice() * numPassengers;
 
-            // Create booking
+            // Reserve seats, create the booking and add passengers in one transaction
             Booking booking = new Booking(customerId, flightId, totalAmount, numPassengers);
             booking.setStatus(BookingStatus.PENDING);
-            booking = bookingDataAdapter.create(booking);
-
-            // Add passengers
-            for (Passenger passenger : passengers) {
-                passenger.setBookingId(booking.getBookingId());
-                bookingDataAdapter.addPassenger(passenger);
+            SeatReservationResult result = bookingDataAdapter.createWithPassengers(booking, passengers);
+            event.setOutcome(result.name());
+
+            switch (result) {
+                case RESERVED:
+                    liveCounters.bookingCreated(booking);
+                    System.out.println("✓ Booking created successfully! Booking ID: " + booking.getBookingReference());
+                    return booking;
+                case INSUFFICIENT_SEATS:
+                    System.out.println("✗ Not enough available seats on this flight.");
+                    return null;
+                case FLIGHT_CLOSED:
+                    System.out.println("✗ Flight is no longer open for booking.");
+                    return null;
+                case FLIGHT_NOT_FOUND:
+                    System.out.println("✗ Flight not found.");
+                    return null;
+                default:
+                    System.out.println("✗ Failed to reserve seats.");
+                    return null;
             }
-
-            // Reserve seats on the flight
-            if (!flightController.reserveSeats(flightId, numPassengers)) {
-                System.out.println("✗ Failed to reserve seats.");
-                return null;
-            }
-
-            System.out.println("✓ Booking created successfully! Booking ID: " + booking.getBookingReference());
-            return booking;
         } catch (SQLException e) {
+            event.setOutcome(ReservationEvent.ERROR);
             System.err.println("✗ Error creating booking: " + e.getMessage());
             return null;
+        } finally {
+            event.commit();
         }
     }
 
     public boolean confirmBooking(int bookingId) {
+        BookingConfirmEvent event = new BookingConfirmEvent(bookingId);
+        event.begin();
         try {
             Booking booking = bookingDataAdapter.findById(bookingId);
             if (booking == null) {
+                event.setOutcome(ReservationEvent.FAILED);
                 System.out.println("✗ Booking not found.");
                 return false;
             }
 
-            booking.setStatus(BookingStatus.CONFIRMED);
-            boolean success = bookingDataAdapter.update(booking);
+            BookingStatus previousStatus;
+            UpdateResult result;
+            for (int attempt = 1; ; attempt++) {
+                if (booking.getStatus() == BookingStatus.CANCELLED) {
+                    event.setOutcome(ReservationEvent.FAILED);
+                    System.out.println("✗ Cannot confirm a cancelled booking.");
+                    return false;
+                }
+                previousStatus = booking.getStatus();
+                booking.setStatus(BookingStatus.CONFIRMED);
+                result = bookingDataAdapter.update(booking);
+                if (result != UpdateResult.CONFLICT || attempt == MAX_UPDATE_ATTEMPTS) {
+                    break;
+                }
+                // Changed since it was read; confirm the current version instead
+                booking = bookingDataAdapter.findById(bookingId);
+                if (booking == null) {
+                    result = UpdateResult.NOT_FOUND;
+                    break;
+                }
+            }
+            boolean success = result == UpdateResult.UPDATED;
+            if (!success) {
+                System.out.println(result == UpdateResult.CONFLICT
+                        ? "✗ Booking kept changing while it was being confirmed; try again."
+                        : "✗ Failed to confirm booking.");
+            }
+            event.setOutcome(success ? ReservationEvent.SUCCESS : ReservationEvent.FAILED);
 
             if (success) {
+                liveCounters.bookingStatusChanged(booking, previousStatus, BookingStatus.CONFIRMED);
                 System.out.println("✓ Booking confirmed!");
 
                 // Send notifications to customer
@@ -110,8 +157,11 @@ public class BookingController {
             }
             return success;
         } catch (SQLException e) {
+            event.setOutcome(ReservationEvent.ERROR);
             System.err.println("✗ Error confirming booking: " + e.getMessage());
             return false;
+        } finally {
+            event.commit();
         }
     }
 
@@ -123,18 +173,36 @@ public class BookingController {
                 return false;
             }
 
-            if (booking.getStatus() == BookingStatus.CANCELLED) {
-                System.out.println("✗ Booking is already cancelled.");
-                return false;
+            // Cancel the version read here, rereading it if it changed: the seats released are
+            // then exactly those of the cancelled version, even if a flight change or passenger
+            // removal raced with the cancel, and of two concurrent cancels only one releases them
+            BookingStatus previousStatus;
+            UpdateResult result;
+            for (int attempt = 1; ; attempt++) {
+                if (booking.getStatus() == BookingStatus.CANCELLED) {
+                    System.out.println("✗ Booking is already cancelled.");
+                    return false;
+                }
+                previousStatus = booking.getStatus();
+                result = bookingDataAdapter.cancel(booking);
+                if (result != UpdateResult.CONFLICT || attempt == MAX_UPDATE_ATTEMPTS) {
+                    break;
+                }
+                booking = bookingDataAdapter.findById(bookingId);
+                if (booking == null) {
+                    result = UpdateResult.NOT_FOUND;
+                    break;
+                }
             }
-
-            // Release seats back to the flight
-            flightController.releaseSeats(booking.getFlightId(), booking.getNumPassengers());
-
-            // Cancel the booking
-            boolean success = bookingDataAdapter.cancel(bookingId);
-
-            if (success) {
+            boolean success = result == UpdateResult.UPDATED;
+
+            if (!success) {
+                System.out.println(result == UpdateResult.CONFLICT
+                        ? "✗ Booking kept changing while it was being cancelled; try again."
+                        : "✗ Booking not found.");
+            } else {
+                flightController.releaseSeats(booking.getFlightId(), booking.getNumPassengers());
+                liveCounters.bookingStatusChanged(booking, previousStatus, BookingStatus.CANCELLED);
                 System.out.println("✓ Booking cancelled successfully!");
 
                 // Send cancellation notifications to customer
@@ -158,16 +226,16 @@ public class BookingController {
     }
 
     public List<Booking> getCustomerBookings(int customerId) {
-        try {
-            List<Booking> bookings = bookingDataAdapter.findByCustomerId(customerId);
-
-            // Populate flight details for each booking
-            for (Booking booking : bookings) {
-                Flight flight = flightDataAdapter.findById(booking.getFlightId());
-                booking.setFlight(flight);
-            }
+        return getCustomerBookings(customerId, true);
+    }
 
-            return bookings;
+    /**
+     * Get a customer's bookings with flight details populated in bulk.
+     * Passenger hydration can be skipped when only the booking rows are shown.
+     */
+    public List<Booking> getCustomerBookings(int customerId, boolean includePassengers) {
+        try {
+            return bookingDataAdapter.findByCustomerIdWithDetails(customerId, includePassengers);
         } catch (SQLException e) {
             System.err.println("✗ Error retrieving bookings: " + e.getMessage());
             return List.of();
@@ -198,22 +266,53 @@ public class BookingController {
     }
 
     public List<Booking> getAllBookings() {
+        return getAllBookings(true);
+    }
+
+    /**
+     * Get all bookings with flight details populated in bulk.
+     * Passenger hydration can be skipped when only the booking rows are shown.
+     */
+    public List<Booking> getAllBookings(boolean includePassengers) {
         try {
-            List<Booking> bookings = bookingDataAdapter.findAll();
+            return bookingDataAdapter.findAllWithDetails(includePassengers);
+        } catch (SQLException e) {
+            System.err.println("✗ Error retrieving all bookings: " + e.getMessage());
+            return List.of();
+        }
+    }
 
-            // Populate flight details
-            for (Booking booking : bookings) {
-                Flight flight = flightDataAdapter.findById(booking.getFlightId());
-                booking.setFlight(flight);
-            }
+    /**
+     * Get one keyset page of bookings in ID order, with flights but without
+     * passengers, starting after the given ID.
+     */
+    public List<Booking> getBookingsAfter(int lastBookingId, int limit) {
+        try {
+            return bookingDataAdapter.findAllAfter(lastBookingId, limit);
+        } catch (SQLException e) {
+            System.err.println("✗ Error retrieving booking page: " + e.getMessage());
+            return List.of();
+        }
+    }
 
-            return bookings;
+    public List<Integer> getBookingPageBoundaries(int pageSize) {
+        try {
+            return bookingDataAdapter.findPageBoundaries(pageSize);
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving all bookings: " + e.getMessage());
+            System.err.println("✗ Error retrieving booking page boundaries: " + e.getMessage());
             return List.of();
         }
     }
 
+    public int getBookingCount() {
+        try {
+            return bookingDataAdapter.count();
+        } catch (SQLException e) {
+            System.err.println("✗ Error counting bookings: " + e.getMessage());
+            return 0;
+        }
+    }
+
     public String generateBookingConfirmation(int bookingId) {
         try {
             Booking booking = bookingDataAdapter.findById(bookingId);
@@ -286,7 +385,7 @@ public class BookingController {
             }
 
             Flight oldFlight = flightDataAdapter.findById(booking.getFlightId());
-            Flight newFlight = flightDataAdapter.findById(newFlightId);
+            Flight newFlight = flightDataAdapter.findByIdAuthoritative(newFlightId);
 
             if (newFlight == null) {
                 System.out.println("✗ New flight not found.");
@@ -299,13 +398,9 @@ public class BookingController {
                 return false;
             }
 
-            // Release seats from old flight
-            flightController.releaseSeats(booking.getFlightId(), booking.getNumPassengers());
-
-            // Reserve seats on new flight
+            // Reserve seats on the new flight before giving up the old ones; re-reserving
+            // the old seats could fail once that flight is sold out or closed
             if (!flightController.reserveSeats(newFlightId, booking.getNumPassengers())) {
-                // Rollback: re-reserve seats on old flight
-                flightController.reserveSeats(booking.getFlightId(), booking.getNumPassengers());
                 System.out.println("✗ Failed to reserve seats on new flight.");
                 return false;
             }
@@ -316,11 +411,25 @@ public class BookingController {
             double priceDifference = newPrice - oldPrice;
 
             // Update booking
+            int oldFlightId = booking.getFlightId();
             booking.setFlightId(newFlightId);
             booking.setTotalAmount(newPrice);
-            boolean success = bookingDataAdapter.update(booking);
+            UpdateResult result = bookingDataAdapter.update(booking);
+            boolean success = result == UpdateResult.UPDATED;
+
+            // The old seats are only given up once the booking has moved; otherwise
+            // the seats just taken on the new flight go back
+            if (success) {
+                flightController.releaseSeats(oldFlightId, booking.getNumPassengers());
+            } else {
+                flightController.releaseSeats(newFlightId, booking.getNumPassengers());
+                System.out.println(result == UpdateResult.CONFLICT
+                        ? "✗ Booking was changed by someone else; reload it and try again."
+                        : "✗ Failed to change flight.");
+            }
 
             if (success) {
+                liveCounters.bookingUpdated(booking, oldFlightId, booking.getNumPassengers(), oldPrice);
                 System.out.println("✓ Flight changed successfully!");
                 System.out.println("   Old Flight: " + oldFlight.getFlightNumber() + " (" + oldFlight.getOrigin()
                         + " → " + oldFlight.getDestination() + ")");
@@ -423,17 +532,32 @@ public class BookingController {
                 return false;
             }
 
-            // Update booking details
-            Flight flight = flightDataAdapter.findById(booking.getFlightId());
-            int newNumPassengers = booking.getNumPassengers() - 1;
-            double newTotalAmount = flight.getPrice() * newNumPassengers;
-
-            booking.setNumPassengers(newNumPassengers);
-            booking.setTotalAmount(newTotalAmount);
-            bookingDataAdapter.update(booking);
-
-            // Release seat
-            flightController.releaseSeats(booking.getFlightId(), 1);
+            // Update booking details, recomputed from the current version if it changed meanwhile.
+            // The seat goes back to the flight of the version that was updated; if the booking
+            // was cancelled in the meantime, the cancel already released it
+            for (int attempt = 1; ; attempt++) {
+                Flight flight = flightDataAdapter.findById(booking.getFlightId());
+                int oldNumPassengers = booking.getNumPassengers();
+                double oldTotalAmount = booking.getTotalAmount();
+                int newNumPassengers = oldNumPassengers - 1;
+                booking.setNumPassengers(newNumPassengers);
+                booking.setTotalAmount(flight.getPrice() * newNumPassengers);
+
+                UpdateResult result = bookingDataAdapter.update(booking);
+                if (result == UpdateResult.UPDATED) {
+                    liveCounters.bookingUpdated(booking, booking.getFlightId(), oldNumPassengers, oldTotalAmount);
+                    flightController.releaseSeats(booking.getFlightId(), 1);
+                    break;
+                }
+                if (result != UpdateResult.CONFLICT || attempt == MAX_UPDATE_ATTEMPTS) {
+                    System.out.println("⚠ Passenger removed but the booking totals could not be updated.");
+                    break;
+                }
+                booking = bookingDataAdapter.findById(bookingId);
+                if (booking == null || booking.getStatus() == BookingStatus.CANCELLED) {
+                    break;
+                }
+            }
 
             System.out.println("✓ Passenger removed successfully.");
             return true;
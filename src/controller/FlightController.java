@@ -1,9 +1,12 @@
 package controller;
 
+import adapter.DataAdapterFactory;
 import adapter.interfaces.FlightDataAdapter;
-import adapter.database.FlightDatabaseAdapter;
 import model.entity.Flight;
+import model.entity.FlightUpdate;
 import model.enums.FlightStatus;
+import model.enums.SeatReservationResult;
+import model.enums.UpdateResult;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -15,12 +18,18 @@ import java.util.List;
  * reservations.
  * Handles flight status management and automatically marks flights as completed
  * when fully booked.
+ * Edits are optimistic: they only apply to the flight version they were made
+ * from, and are merged onto a newer version when nobody else changed the
+ * same fields.
  */
 public class FlightController {
+    // Merging onto a newer version only fails again if the flight keeps changing
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
     private FlightDataAdapter flightDataAdapter;
 
     public FlightController() {
-        this.flightDataAdapter = new FlightDatabaseAdapter();
+        this.flightDataAdapter = DataAdapterFactory.createFlightDataAdapter();
     }
 
     public Flight createFlight(String flightNumber, String airline, String origin, String destination,
@@ -56,9 +65,40 @@ public class FlightController {
         }
     }
 
+    /**
+     * Get one keyset page of flights in ID order, starting after the given ID.
+     */
+    public List<Flight> getFlightsAfter(int lastFlightId, int limit) {
+        try {
+            return flightDataAdapter.findAllAfter(lastFlightId, limit);
+        } catch (SQLException e) {
+            System.err.println("✗ Error retrieving flight page: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public List<Integer> getFlightPageBoundaries(int pageSize) {
+        try {
+            return flightDataAdapter.findPageBoundaries(pageSize);
+        } catch (SQLException e) {
+            System.err.println("✗ Error retrieving flight page boundaries: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    public int getFlightCount() {
+        try {
+            return flightDataAdapter.count();
+        } catch (SQLException e) {
+            System.err.println("✗ Error counting flights: " + e.getMessage());
+            return 0;
+        }
+    }
+
     public Flight getFlightById(int flightId) {
         try {
-            return flightDataAdapter.findById(flightId);
+            // Read authoritatively: edits are version-checked against the flight read here
+            return flightDataAdapter.findByIdAuthoritative(flightId);
         } catch (SQLException e) {
             System.err.println("✗ Error retrieving flight: " + e.getMessage());
             return null;
@@ -74,21 +114,85 @@ public class FlightController {
         }
     }
 
+    /**
+     * Writes every field of the flight, provided nobody has changed it since
+     * it was read. Prefer {@link #updateFlight(Flight, FlightUpdate)} for
+     * edits, which also survives concurrent seat reservations.
+     */
     public boolean updateFlight(Flight flight) {
         try {
-            boolean success = flightDataAdapter.update(flight);
-            if (success) {
-                System.out.println("✓ Flight updated successfully!");
-            } else {
-                System.out.println("✗ Failed to update flight.");
+            UpdateResult result = flightDataAdapter.update(flight);
+            switch (result) {
+                case UPDATED:
+                    System.out.println("✓ Flight updated successfully!");
+                    break;
+                case CONFLICT:
+                    System.out.println("✗ Flight " + flight.getFlightNumber()
+                            + " was changed by someone else; reload it and try again.");
+                    break;
+                default:
+                    System.out.println("✗ Failed to update flight.");
+                    break;
             }
-            return success;
+            return result == UpdateResult.UPDATED;
         } catch (SQLException e) {
             System.err.println("✗ Error updating flight: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Writes only the changed fields of a flight with a version check.
+     * If the flight has moved to a newer version, for example because seats
+     * were booked in the meantime, the changes are reapplied to that version
+     * as long as nobody else changed the same fields. Available seats are
+     * never copied from the edited flight.
+     *
+     * @param original Flight as it was read before editing
+     * @param changes  Fields the user changed
+     * @return Typed outcome; CONFLICT means someone else changed a field this edit also changes
+     */
+    public UpdateResult updateFlight(Flight original, FlightUpdate changes) {
+        if (changes.isEmpty()) {
+            return UpdateResult.UPDATED;
+        }
+        try {
+            Flight base = original;
+            for (int attempt = 1; ; attempt++) {
+                UpdateResult result = flightDataAdapter.updateFields(base.getFlightId(), base.getVersion(), changes);
+                if (result != UpdateResult.CONFLICT) {
+                    if (result == UpdateResult.UPDATED) {
+                        System.out.println("✓ Flight " + original.getFlightNumber() + " updated successfully!");
+                    } else {
+                        System.out.println("✗ Flight not found.");
+                    }
+                    return result;
+                }
+
+                Flight current = flightDataAdapter.findByIdAuthoritative(original.getFlightId());
+                if (current == null) {
+                    System.out.println("✗ Flight not found.");
+                    return UpdateResult.NOT_FOUND;
+                }
+                List<String> conflicts = changes.conflictingFields(original, current);
+                if (!conflicts.isEmpty()) {
+                    System.out.println("✗ Flight " + original.getFlightNumber() + " was changed by someone else ("
+                            + String.join(", ", conflicts) + "); reload it and try again.");
+                    return UpdateResult.CONFLICT;
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    System.out.println("✗ Flight " + original.getFlightNumber()
+                            + " kept changing while it was being updated; try again.");
+                    return UpdateResult.CONFLICT;
+                }
+                base = current;
+            }
+        } catch (SQLException e) {
+            System.err.println("✗ Error updating flight: " + e.getMessage());
+            return UpdateResult.FAILED;
+        }
+    }
+
     public boolean deleteFlight(int flightId) {
         try {
             boolean success = flightDataAdapter.delete(flightId);
@@ -118,43 +222,44 @@ public class FlightController {
     }
 
     public boolean reserveSeats(int flightId, int numSeats) {
-        try {
-            Flight flight = flightDataAdapter.findById(flightId);
-            if (flight == null) {
-                System.out.println("✗ Flight not found.");
-                return false;
-            }
-
-            if (!flight.hasAvailableSeats(numSeats)) {
-                System.out.println("✗ Not enough available seats.");
-                return false;
-            }
-
-            flight.reserveSeats(numSeats);
-            boolean updated = flightDataAdapter.updateAvailableSeats(flightId, flight.getAvailableSeats());
+        return tryReserveSeats(flightId, numSeats) == SeatReservationResult.RESERVED;
+    }
 
-            // Auto-complete flight when all seats are booked
-            if (updated && flight.getAvailableSeats() == 0) {
-                updateFlightStatus(flightId, FlightStatus.COMPLETED);
-                System.out.println("✓ Flight is now fully booked and marked as COMPLETED.");
+    /**
+     * Reserves seats with a single atomic update instead of a read-modify-write,
+     * so concurrent bookings on the same flight cannot oversell it.
+     * The flight is marked COMPLETED by the same update when it becomes full.
+     *
+     * @param flightId Flight to reserve seats on
+     * @param numSeats Number of seats requested
+     * @return Typed outcome of the reservation
+     */
+    public SeatReservationResult tryReserveSeats(int flightId, int numSeats) {
+        try {
+            SeatReservationResult result = flightDataAdapter.reserveSeats(flightId, numSeats);
+            switch (result) {
+                case FLIGHT_NOT_FOUND:
+                    System.out.println("✗ Flight not found.");
+                    break;
+                case INSUFFICIENT_SEATS:
+                    System.out.println("✗ Not enough available seats.");
+                    break;
+                case FLIGHT_CLOSED:
+                    System.out.println("✗ Flight is no longer open for booking.");
+                    break;
+                default:
+                    break;
             }
-
-            return updated;
+            return result;
         } catch (SQLException e) {
             System.err.println("✗ Error reserving seats: " + e.getMessage());
-            return false;
+            return SeatReservationResult.FAILED;
         }
     }
 
     public boolean releaseSeats(int flightId, int numSeats) {
         try {
-            Flight flight = flightDataAdapter.findById(flightId);
-            if (flight == null) {
-                return false;
-            }
-
-            flight.releaseSeats(numSeats);
-            return flightDataAdapter.updateAvailableSeats(flightId, flight.getAvailableSeats());
+            return flightDataAdapter.releaseSeats(flightId, numSeats);
         } catch (SQLException e) {
             System.err.println("✗ Error releasing seats: " + e.getMessage());
             return false;
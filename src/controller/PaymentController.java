@@ -1,12 +1,23 @@
 package controller;
 
+import adapter.DataAdapterFactory;
 import adapter.interfaces.PaymentDataAdapter;
-import adapter.database.PaymentDatabaseAdapter;
 import model.entity.Payment;
 import model.enums.PaymentStatus;
 import model.strategy.*;
+import service.LiveCounters;
+import util.AppConfig;
+import util.jfr.PaymentEvent;
+import util.jfr.ReservationEvent;
 
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Handles payment processing using the Strategy pattern.
@@ -14,10 +25,77 @@ import java.sql.SQLException;
  * manages payment status.
  */
 public class PaymentController {
+    private static final ExecutorService PAYMENT_EXECUTOR = createPaymentExecutor();
+    private static final ScheduledExecutorService TIMEOUT_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("payment-timeout").daemon(true)
+                    .factory());
+
     private PaymentDataAdapter paymentDataAdapter;
+    private LiveCounters liveCounters;
+    private final long paymentTimeoutMillis;
 
     public PaymentController() {
-        this.paymentDataAdapter = new PaymentDatabaseAdapter();
+        this(DataAdapterFactory.createPaymentDataAdapter());
+    }
+
+    /**
+     * Processes payments through the given adapter instead of the factory's.
+     */
+    public PaymentController(PaymentDataAdapter paymentDataAdapter) {
+        this.paymentDataAdapter = paymentDataAdapter;
+        this.liveCounters = LiveCounters.getInstance();
+        this.paymentTimeoutMillis = AppConfig.getLong("payments.timeoutMillis", 30000);
+    }
+
+    /**
+     * Runs payments on virtual threads by default, so each in-flight gateway
+     * call parks cheaply instead of pinning a platform thread.
+     */
+    private static ExecutorService createPaymentExecutor() {
+        if (AppConfig.getBoolean("payments.virtualThreads", true)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(AppConfig.getInt("payments.platformThreads", 16),
+                Thread.ofPlatform().name("payment-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Process payment without blocking the caller.
+     * The payment goes through the same PENDING to COMPLETED/FAILED transitions
+     * as {@link #processPayment}. If the gateway does not answer within the
+     * configured timeout the strategy is interrupted and the payment is marked
+     * FAILED. Only the gateway call is ever interrupted: a timeout during a
+     * database write lets the write finish, and the payment is then marked
+     * FAILED without calling the gateway. A payment still queued at the
+     * timeout never starts, so no payment row is written for it.
+     *
+     * @return Future completed with the payment, or with null if it failed or timed out
+     */
+    public CompletableFuture<Payment> processPaymentAsync(int bookingId, double amount, String paymentMethod,
+                                                          String cardNumber, String expiryDate, String cvv) {
+        CompletableFuture<Payment> result = new CompletableFuture<>();
+        PaymentAttempt attempt = new PaymentAttempt();
+        Future<?> task = PAYMENT_EXECUTOR.submit(() -> {
+            try {
+                result.complete(processPayment(bookingId, amount, paymentMethod, cardNumber, expiryDate, cvv,
+                        attempt));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        Future<?> timeout = TIMEOUT_SCHEDULER.schedule(() -> {
+            if (attempt.settle()) {
+                System.err.println("✗ Payment for booking " + bookingId + " timed out after "
+                        + paymentTimeoutMillis + " ms.");
+                task.cancel(false);
+                attempt.timeOut();
+                result.complete(null);
+            }
+        }, paymentTimeoutMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((payment, error) -> timeout.cancel(false));
+
+        return result;
     }
 
     /**
@@ -26,39 +104,70 @@ public class PaymentController {
      */
     public Payment processPayment(int bookingId, double amount, String paymentMethod,
                                   String cardNumber, String expiryDate, String cvv) {
+        return processPayment(bookingId, amount, paymentMethod, cardNumber, expiryDate, cvv, new PaymentAttempt());
+    }
+
+    private Payment processPayment(int bookingId, double amount, String paymentMethod, String cardNumber,
+                                   String expiryDate, String cvv, PaymentAttempt attempt) {
+        PaymentEvent event = new PaymentEvent(bookingId, amount);
+        event.begin();
         try {
             Payment payment = new Payment(bookingId, amount, paymentMethod);
             payment.setStatus(PaymentStatus.PENDING);
             payment = paymentDataAdapter.create(payment);
+            liveCounters.paymentStatusChanged(null, PaymentStatus.PENDING);
 
             // Select payment strategy based on payment method
             PaymentStrategy strategy = getPaymentStrategy(paymentMethod);
+            event.setStrategy(strategy != null ? strategy.getPaymentMethodName() : paymentMethod);
 
             if (strategy == null) {
+                event.setOutcome(ReservationEvent.FAILED);
                 System.err.println("✗ Invalid payment method: " + paymentMethod);
                 payment.setStatus(PaymentStatus.FAILED);
-                paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.FAILED);
+                if (paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.FAILED)) {
+                    liveCounters.paymentStatusChanged(PaymentStatus.PENDING, PaymentStatus.FAILED);
+                }
                 return null;
             }
 
-            // Process payment using the selected strategy
-            boolean success = strategy.processPayment(amount, payment.getTransactionId(),
-                    cardNumber, expiryDate, cvv);
+            // Process payment using the selected strategy, unless the payment already timed out
+            boolean success = false;
+            if (attempt.enterGateway()) {
+                try {
+                    success = strategy.processPayment(amount, payment.getTransactionId(),
+                            cardNumber, expiryDate, cvv);
+                } finally {
+                    attempt.leaveGateway();
+                }
+            }
+            if (!attempt.settle()) {
+                // Timed out; the caller has already been told the payment failed
+                success = false;
+            }
 
+            event.setOutcome(success ? ReservationEvent.SUCCESS : ReservationEvent.FAILED);
             if (success) {
                 payment.setStatus(PaymentStatus.COMPLETED);
-                paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.COMPLETED);
+                if (paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.COMPLETED)) {
+                    liveCounters.paymentStatusChanged(PaymentStatus.PENDING, PaymentStatus.COMPLETED);
+                }
                 System.out.println("✓ Payment successful using " + strategy.getPaymentMethodName() + "!");
                 return payment;
             } else {
                 payment.setStatus(PaymentStatus.FAILED);
-                paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.FAILED);
+                if (paymentDataAdapter.updateStatus(payment.getPaymentId(), PaymentStatus.FAILED)) {
+                    liveCounters.paymentStatusChanged(PaymentStatus.PENDING, PaymentStatus.FAILED);
+                }
                 System.err.println("✗ Payment failed.");
                 return null;
             }
         } catch (SQLException e) {
+            event.setOutcome(ReservationEvent.ERROR);
             System.err.println("✗ Payment error: " + e.getMessage());
             return null;
+        } finally {
+            event.commit();
         }
     }
 
@@ -105,9 +214,14 @@ public class PaymentController {
                 return false;
             }
 
-            boolean success = paymentDataAdapter.updateStatus(paymentId, PaymentStatus.REFUNDED);
+            // Only one of two concurrent refunds finds the payment still COMPLETED
+            boolean success = paymentDataAdapter.transitionStatus(paymentId, PaymentStatus.COMPLETED,
+                    PaymentStatus.REFUNDED);
             if (success) {
+                liveCounters.paymentStatusChanged(PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
                 System.out.println("✓ Payment refunded successfully!");
+            } else {
+                System.out.println("✗ Payment was refunded or changed by someone else.");
             }
             return success;
         } catch (SQLException e) {
@@ -115,4 +229,49 @@ public class PaymentController {
             return false;
         }
     }
+
+    /**
+     * Decides between a payment and its timeout. Whichever settles first
+     * decides the outcome. The timeout interrupts the payment thread only while
+     * it waits on the gateway: an interrupt during a JDBC call closes the
+     * socket of the pooled connection, so database writes run uninterrupted.
+     */
+    private static final class PaymentAttempt {
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private Thread gatewayThread;
+        private boolean timedOut;
+
+        boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+
+        /**
+         * Called by the timeout once it has settled the attempt.
+         */
+        synchronized void timeOut() {
+            timedOut = true;
+            if (gatewayThread != null) {
+                gatewayThread.interrupt();
+            }
+        }
+
+        /**
+         * @return false if the payment already timed out and the gateway must not be called
+         */
+        synchronized boolean enterGateway() {
+            if (timedOut) {
+                return false;
+            }
+            gatewayThread = Thread.currentThread();
+            return true;
+        }
+
+        synchronized void leaveGateway() {
+            gatewayThread = null;
+            if (timedOut) {
+                // Clear an interrupt the gateway did not consume before the status write
+                Thread.interrupted();
+            }
+        }
+    }
 }
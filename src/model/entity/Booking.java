@@ -19,6 +19,7 @@ public class Booking {
     private BookingStatus status;
     private double totalAmount;
     private int numPassengers;
+    private int version;
     private List<Passenger> passengers;
 
     // For display purposes
@@ -95,6 +96,17 @@ public class Booking {
         this.numPassengers = numPassengers;
     }
 
+    /**
+     * Row version this booking was read at; every write increments it.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public List<Passenger> getPassengers() {
         return passengers;
     }
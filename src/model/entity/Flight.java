@@ -24,6 +24,7 @@ public class Flight {
     private String aircraftType;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private int version;
 
     public Flight() {
         this.status = FlightStatus.SCHEDULED;
@@ -157,6 +158,18 @@ public class Flight {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Row version this flight was read at. Every write to the flight row
+     * increments it, including seat reservations.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     /**
      * Checks if the flight has enough available seats for the requested number.
      *
@@ -0,0 +1,245 @@
+package model.entity;
+
+import model.enums.FlightStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Field-level change to a flight. Only the fields that were set are written,
+ * so an edit never carries stale copies of the other columns back to the
+ * store. Available seats are never set directly: changing the total seats
+ * moves them by the same amount, keeping every seat booked in the meantime.
+ */
+public class FlightUpdate {
+    private String flightNumber;
+    private String airline;
+    private String origin;
+    private String destination;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private Double price;
+    private Integer totalSeats;
+    private FlightStatus status;
+    private String aircraftType;
+
+    /**
+     * Collects the fields in which an edited copy differs from the flight it
+     * was made from. Available seats are left out; see the class comment.
+     *
+     * @param original Flight as it was read
+     * @param edited   The same flight with the user's edits applied
+     * @return Update holding only the changed fields
+     */
+    public static FlightUpdate between(Flight original, Flight edited) {
+        FlightUpdate changes = new FlightUpdate();
+        if (!Objects.equals(original.getFlightNumber(), edited.getFlightNumber())) {
+            changes.setFlightNumber(edited.getFlightNumber());
+        }
+        if (!Objects.equals(original.getAirline(), edited.getAirline())) {
+            changes.setAirline(edited.getAirline());
+        }
+        if (!Objects.equals(original.getOrigin(), edited.getOrigin())) {
+            changes.setOrigin(edited.getOrigin());
+        }
+        if (!Objects.equals(original.getDestination(), edited.getDestination())) {
+            changes.setDestination(edited.getDestination());
+        }
+        if (!Objects.equals(original.getDepartureTime(), edited.getDepartureTime())) {
+            changes.setDepartureTime(edited.getDepartureTime());
+        }
+        if (!Objects.equals(original.getArrivalTime(), edited.getArrivalTime())) {
+            changes.setArrivalTime(edited.getArrivalTime());
+        }
+        if (Double.compare(original.getPrice(), edited.getPrice()) != 0) {
+            changes.setPrice(edited.getPrice());
+        }
+        if (original.getTotalSeats() != edited.getTotalSeats()) {
+            changes.setTotalSeats(edited.getTotalSeats());
+        }
+        if (original.getStatus() != edited.getStatus()) {
+            changes.setStatus(edited.getStatus());
+        }
+        if (!Objects.equals(original.getAircraftType(), edited.getAircraftType())) {
+            changes.setAircraftType(edited.getAircraftType());
+        }
+        return changes;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public void setFlightNumber(String flightNumber) {
+        this.flightNumber = flightNumber;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public void setAirline(String airline) {
+        this.airline = airline;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(LocalDateTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public Integer getTotalSeats() {
+        return totalSeats;
+    }
+
+    public void setTotalSeats(Integer totalSeats) {
+        this.totalSeats = totalSeats;
+    }
+
+    public FlightStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(FlightStatus status) {
+        this.status = status;
+    }
+
+    public String getAircraftType() {
+        return aircraftType;
+    }
+
+    public void setAircraftType(String aircraftType) {
+        this.aircraftType = aircraftType;
+    }
+
+    public boolean isEmpty() {
+        return changedFields(null, null).isEmpty();
+    }
+
+    /**
+     * Lists the fields this update sets that someone else has also changed
+     * since the flight was read. An empty list means the update can be
+     * reapplied to the current flight without losing anyone's change.
+     *
+     * @param original Flight as it was read before editing
+     * @param current  Flight as it is now
+     */
+    public List<String> conflictingFields(Flight original, Flight current) {
+        return changedFields(original, current);
+    }
+
+    /**
+     * Applies the set fields to a flight, moving the available seats with the
+     * total seats (never below zero).
+     */
+    public void applyTo(Flight flight) {
+        if (flightNumber != null) {
+            flight.setFlightNumber(flightNumber);
+        }
+        if (airline != null) {
+            flight.setAirline(airline);
+        }
+        if (origin != null) {
+            flight.setOrigin(origin);
+        }
+        if (destination != null) {
+            flight.setDestination(destination);
+        }
+        if (departureTime != null) {
+            flight.setDepartureTime(departureTime);
+        }
+        if (arrivalTime != null) {
+            flight.setArrivalTime(arrivalTime);
+        }
+        if (price != null) {
+            flight.setPrice(price);
+        }
+        if (totalSeats != null) {
+            flight.setAvailableSeats(Math.max(0, flight.getAvailableSeats() + totalSeats - flight.getTotalSeats()));
+            flight.setTotalSeats(totalSeats);
+        }
+        if (status != null) {
+            flight.setStatus(status);
+        }
+        if (aircraftType != null) {
+            flight.setAircraftType(aircraftType);
+        }
+    }
+
+    // With no flights given, lists every field that is set
+    private List<String> changedFields(Flight original, Flight current) {
+        boolean compare = original != null;
+        List<String> fields = new ArrayList<>();
+        if (flightNumber != null && (!compare
+                || !Objects.equals(original.getFlightNumber(), current.getFlightNumber()))) {
+            fields.add("flight number");
+        }
+        if (airline != null && (!compare || !Objects.equals(original.getAirline(), current.getAirline()))) {
+            fields.add("airline");
+        }
+        if (origin != null && (!compare || !Objects.equals(original.getOrigin(), current.getOrigin()))) {
+            fields.add("origin");
+        }
+        if (destination != null && (!compare
+                || !Objects.equals(original.getDestination(), current.getDestination()))) {
+            fields.add("destination");
+        }
+        if (departureTime != null && (!compare
+                || !Objects.equals(original.getDepartureTime(), current.getDepartureTime()))) {
+            fields.add("departure time");
+        }
+        if (arrivalTime != null && (!compare
+                || !Objects.equals(original.getArrivalTime(), current.getArrivalTime()))) {
+            fields.add("arrival time");
+        }
+        if (price != null && (!compare || Double.compare(original.getPrice(), current.getPrice()) != 0)) {
+            fields.add("price");
+        }
+        if (totalSeats != null && (!compare || original.getTotalSeats() != current.getTotalSeats())) {
+            fields.add("total seats");
+        }
+        if (status != null && (!compare || original.getStatus() != current.getStatus())) {
+            fields.add("status");
+        }
+        if (aircraftType != null && (!compare
+                || !Objects.equals(original.getAircraftType(), current.getAircraftType()))) {
+            fields.add("aircraft type");
+        }
+        return fields;
+    }
+}
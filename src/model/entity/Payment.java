@@ -1,6 +1,7 @@
 package model.entity;
 
 import model.enums.PaymentStatus;
+import util.TransactionIdGenerator;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -88,12 +89,14 @@ public class Payment {
     }
 
     /**
-     * Generates a unique transaction ID based on current timestamp.
+     * Generates a unique transaction ID from the timestamp, node ID and a
+     * per-millisecond sequence, so payments created in the same millisecond
+     * never collide.
      *
-     * @return Transaction ID in format "TXN[timestamp]"
+     * @return Transaction ID in format "TXN[id]"
      */
     private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis();
+        return TransactionIdGenerator.getInstance().nextTransactionId();
     }
 
     /**
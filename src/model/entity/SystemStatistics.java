@@ -0,0 +1,70 @@
+package model.entity;
+
+import model.enums.BookingStatus;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of system-wide booking statistics.
+ * Revenue only counts confirmed bookings. The route and airline breakdowns
+ * hold the top entries by revenue, highest first.
+ */
+public class SystemStatistics {
+    private final int totalFlights;
+    private final Map<BookingStatus, Integer> bookingsByStatus;
+    private final double confirmedRevenue;
+    private final Map<String, Double> revenueByRoute;
+    private final Map<String, Double> revenueByAirline;
+    private final LocalDateTime computedAt;
+
+    public SystemStatistics(int totalFlights, Map<BookingStatus, Integer> bookingsByStatus, double confirmedRevenue,
+                            Map<String, Double> revenueByRoute, Map<String, Double> revenueByAirline,
+                            LocalDateTime computedAt) {
+        this.totalFlights = totalFlights;
+        Map<BookingStatus, Integer> byStatus = new EnumMap<>(BookingStatus.class);
+        byStatus.putAll(bookingsByStatus);
+        this.bookingsByStatus = Collections.unmodifiableMap(byStatus);
+        this.confirmedRevenue = confirmedRevenue;
+        this.revenueByRoute = Collections.unmodifiableMap(revenueByRoute);
+        this.revenueByAirline = Collections.unmodifiableMap(revenueByAirline);
+        this.computedAt = computedAt;
+    }
+
+    public int getTotalFlights() {
+        return totalFlights;
+    }
+
+    public int getTotalBookings() {
+        int total = 0;
+        for (int count : bookingsByStatus.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getBookingCount(BookingStatus status) {
+        return bookingsByStatus.getOrDefault(status, 0);
+    }
+
+    public Map<BookingStatus, Integer> getBookingsByStatus() {
+        return bookingsByStatus;
+    }
+
+    public double getConfirmedRevenue() {
+        return confirmedRevenue;
+    }
+
+    public Map<String, Double> getRevenueByRoute() {
+        return revenueByRoute;
+    }
+
+    public Map<String, Double> getRevenueByAirline() {
+        return revenueByAirline;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,15 @@
+package model.enums;
+
+/**
+ * Outcome of an atomic seat reservation attempt.
+ * RESERVED: Seats were taken, INSUFFICIENT_SEATS: Not enough seats left,
+ * FLIGHT_CLOSED: Flight is no longer SCHEDULED, FLIGHT_NOT_FOUND: No such flight,
+ * FAILED: The reservation could not be attempted because of a database error.
+ */
+public enum SeatReservationResult {
+    RESERVED,
+    INSUFFICIENT_SEATS,
+    FLIGHT_CLOSED,
+    FLIGHT_NOT_FOUND,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package model.enums;
+
+/**
+ * Outcome of an optimistic (version-checked) update.
+ * UPDATED: The row was written, CONFLICT: Someone else changed the row since
+ * it was read, NOT_FOUND: No such row, FAILED: The update could not be
+ * attempted because of a database error.
+ */
+public enum UpdateResult {
+    UPDATED,
+    CONFLICT,
+    NOT_FOUND,
+    FAILED
+}
@@ -0,0 +1,300 @@
+package service;
+
+import adapter.DataAdapterFactory;
+import adapter.interfaces.CounterDataAdapter;
+import model.entity.Booking;
+import model.enums.BookingStatus;
+import model.enums.PaymentStatus;
+import util.AppConfig;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for bookings, seats and payments, updated in place by the
+ * controllers whenever a booking or payment changes state.
+ * Implements Singleton pattern so every controller updates the same counters.
+ *
+ * Counters are striped LongAdders, so concurrent bookings never contend on
+ * a single value and reads are O(1). Changed counters are checkpointed to the
+ * live_counters table periodically and on shutdown. On startup the counters
+ * are recomputed from the base tables and compared with the last checkpoint,
+ * reporting any drift.
+ */
+public class LiveCounters {
+    private static volatile LiveCounters instance;
+
+    private final CounterDataAdapter counterDataAdapter;
+    private final Map<BookingStatus, LongAdder> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+    private final Map<PaymentStatus, LongAdder> paymentsByStatus = new EnumMap<>(PaymentStatus.class);
+    private final LongAdder confirmedRevenueCents = new LongAdder();
+    private final Map<Integer, LongAdder> seatsSoldByFlight = new ConcurrentHashMap<>();
+
+    // Keys changed since the last checkpoint
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService checkpointer;
+    private volatile boolean reconciled;
+
+    private LiveCounters() {
+        this.counterDataAdapter = DataAdapterFactory.createCounterDataAdapter();
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status, new LongAdder());
+        }
+        for (PaymentStatus status : PaymentStatus.values()) {
+            paymentsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Get the singleton instance of LiveCounters.
+     */
+    public static LiveCounters getInstance() {
+        if (instance == null) {
+            synchronized (LiveCounters.class) {
+                if (instance == null) {
+                    instance = new LiveCounters();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reconciles the counters against the base tables and starts periodic
+     * checkpointing. Call once at startup, before bookings are taken.
+     */
+    public synchronized void start() {
+        if (checkpointer != null) {
+            return;
+        }
+        reconcile();
+
+        long interval = AppConfig.getLong("counters.checkpointIntervalMillis", 60000);
+        checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "live-counters-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointer.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic checkpointing and writes a final checkpoint.
+     */
+    public synchronized void shutdown() {
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+            checkpointer = null;
+        }
+        if (reconciled) {
+            checkpoint();
+        }
+    }
+
+    private void reconcile() {
+        try {
+            Map<String, Long> base = counterDataAdapter.computeFromBaseTables();
+            Map<String, Long> saved = counterDataAdapter.loadCheckpoint();
+
+            int drifted = 0;
+            Map<String, Long> all = new HashMap<>(base);
+            for (Map.Entry<String, Long> entry : saved.entrySet()) {
+                all.putIfAbsent(entry.getKey(), 0L); // Counters that dropped to zero
+                if (!entry.getValue().equals(base.getOrDefault(entry.getKey(), 0L))) {
+                    drifted++;
+                }
+            }
+
+            for (LongAdder adder : bookingsByStatus.values()) {
+                adder.reset();
+            }
+            for (LongAdder adder : paymentsByStatus.values()) {
+                adder.reset();
+            }
+            confirmedRevenueCents.reset();
+            seatsSoldByFlight.clear();
+            all.forEach(this::restore);
+
+            counterDataAdapter.saveCheckpoint(all);
+            dirty.clear();
+            reconciled = true;
+            System.out.println("✓ Live counters reconciled: " + all.size() + " counters, " + drifted
+                    + " differed from the last checkpoint.");
+        } catch (SQLException e) {
+            System.err.println("✗ Live counter reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    private void restore(String key, long value) {
+        LongAdder adder = adderFor(key);
+        if (adder != null) {
+            adder.add(value);
+        }
+    }
+
+    /**
+     * Writes every counter changed since the last checkpoint.
+     */
+    public void checkpoint() {
+        Map<String, Long> changed = new HashMap<>();
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String key = it.next();
+            it.remove(); // A concurrent update re-marks the key for the next checkpoint
+            LongAdder adder = adderFor(key);
+            if (adder != null) {
+                changed.put(key, adder.sum());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        try {
+            counterDataAdapter.saveCheckpoint(changed);
+        } catch (SQLException e) {
+            dirty.addAll(changed.keySet());
+            System.err.println("✗ Live counter checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    // ===== Updates =====
+
+    public void bookingCreated(Booking booking) {
+        add(CounterDataAdapter.bookingsKey(booking.getStatus()), 1);
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            add(CounterDataAdapter.REVENUE_KEY, toCents(booking.getTotalAmount()));
+        }
+        if (booking.getStatus() != BookingStatus.CANCELLED) {
+            add(CounterDataAdapter.seatsKey(booking.getFlightId()), booking.getNumPassengers());
+        }
+    }
+
+    public void bookingStatusChanged(Booking booking, BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        add(CounterDataAdapter.bookingsKey(from), -1);
+        add(CounterDataAdapter.bookingsKey(to), 1);
+
+        if (to == BookingStatus.CONFIRMED) {
+            add(CounterDataAdapter.REVENUE_KEY, toCents(booking.getTotalAmount()));
+        } else if (from == BookingStatus.CONFIRMED) {
+            add(CounterDataAdapter.REVENUE_KEY, -toCents(booking.getTotalAmount()));
+        }
+        if (to == BookingStatus.CANCELLED) {
+            add(CounterDataAdapter.seatsKey(booking.getFlightId()), -booking.getNumPassengers());
+        } else if (from == BookingStatus.CANCELLED) {
+            add(CounterDataAdapter.seatsKey(booking.getFlightId()), booking.getNumPassengers());
+        }
+    }
+
+    /**
+     * Records a change to a booking's flight, passenger count or amount. The
+     * booking must already carry its new values.
+     */
+    public void bookingUpdated(Booking booking, int oldFlightId, int oldNumPassengers, double oldAmount) {
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            return;
+        }
+        add(CounterDataAdapter.seatsKey(oldFlightId), -oldNumPassengers);
+        add(CounterDataAdapter.seatsKey(booking.getFlightId()), booking.getNumPassengers());
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            add(CounterDataAdapter.REVENUE_KEY, toCents(booking.getTotalAmount()) - toCents(oldAmount));
+        }
+    }
+
+    /**
+     * Records a payment status change. Pass null as from for a new payment.
+     */
+    public void paymentStatusChanged(PaymentStatus from, PaymentStatus to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            add(CounterDataAdapter.paymentsKey(from), -1);
+        }
+        add(CounterDataAdapter.paymentsKey(to), 1);
+    }
+
+    private void add(String key, long delta) {
+        LongAdder adder = adderFor(key);
+        if (adder != null && delta != 0) {
+            adder.add(delta);
+            dirty.add(key);
+        }
+    }
+
+    private LongAdder adderFor(String key) {
+        if (key.equals(CounterDataAdapter.REVENUE_KEY)) {
+            return confirmedRevenueCents;
+        }
+        try {
+            if (key.startsWith(CounterDataAdapter.SEATS_PREFIX)) {
+                int flightId = Integer.parseInt(suffix(key, CounterDataAdapter.SEATS_PREFIX));
+                return seatsSoldByFlight.computeIfAbsent(flightId, id -> new LongAdder());
+            }
+            if (key.startsWith(CounterDataAdapter.BOOKINGS_PREFIX)) {
+                return bookingsByStatus.get(BookingStatus.valueOf(suffix(key, CounterDataAdapter.BOOKINGS_PREFIX)));
+            }
+            if (key.startsWith(CounterDataAdapter.PAYMENTS_PREFIX)) {
+                return paymentsByStatus.get(PaymentStatus.valueOf(suffix(key, CounterDataAdapter.PAYMENTS_PREFIX)));
+            }
+        } catch (IllegalArgumentException e) {
+            // Unknown status or malformed flight ID; falls through
+        }
+        System.err.println("✗ Unknown live counter: " + key);
+        return null;
+    }
+
+    private static String suffix(String key, String prefix) {
+        return key.substring(prefix.length());
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ===== Reads =====
+
+    /**
+     * Whether the counters were reconciled against the base tables, so they
+     * reflect all history and not just changes made by this process.
+     */
+    public boolean isReconciled() {
+        return reconciled;
+    }
+
+    public long getBookingCount(BookingStatus status) {
+        return bookingsByStatus.get(status).sum();
+    }
+
+    public long getTotalBookings() {
+        long total = 0;
+        for (LongAdder adder : bookingsByStatus.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public double getConfirmedRevenue() {
+        return confirmedRevenueCents.sum() / 100.0;
+    }
+
+    public long getSeatsSold(int flightId) {
+        LongAdder adder = seatsSoldByFlight.get(flightId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    public long getPaymentCount(PaymentStatus status) {
+        return paymentsByStatus.get(status).sum();
+    }
+}
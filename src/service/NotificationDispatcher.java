@@ -0,0 +1,211 @@
+package service;
+
+import model.entity.Customer;
+import model.observer.NotificationObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers notifications for a single channel on background workers.
+ * Each channel has its own bounded queue, so a slow channel never delays the
+ * others or the thread that triggered the notification. When the queue is
+ * full the configured overflow policy applies backpressure or drops work.
+ */
+public class NotificationDispatcher {
+
+    /**
+     * What to do with a notification when the channel queue is full.
+     * BLOCK: Wait up to the block timeout, then drop. DROP_NEWEST: Drop the new
+     * notification. DROP_OLDEST: Drop the oldest queued notification.
+     * CALLER_RUNS: Deliver on the calling thread.
+     */
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_NEWEST,
+        DROP_OLDEST,
+        CALLER_RUNS
+    }
+
+    private final NotificationObserver observer;
+    private final BlockingQueue<Task> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean accepting = true;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public NotificationDispatcher(NotificationObserver observer, int queueCapacity, int workerCount,
+                                  boolean virtualThreads, OverflowPolicy overflowPolicy, long blockTimeoutMillis,
+                                  int maxRetries, long retryBackoffMillis) {
+        this.observer = observer;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = retryBackoffMillis;
+
+        String prefix = "notify-" + observer.getChannelName().toLowerCase() + "-";
+        ThreadFactory factory = virtualThreads
+                ? Thread.ofVirtual().name(prefix, 0).factory()
+                : Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            Thread worker = factory.newThread(this::runWorker);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues a notification for delivery on this channel.
+     *
+     * @return true if the notification was queued or delivered, false if dropped
+     */
+    public boolean dispatch(String message, Customer customer) {
+        Task task = new Task(message, customer);
+        if (!accepting) {
+            dropped.increment();
+            return false;
+        }
+        if (queue.offer(task)) {
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    if (queue.offer(task, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DROP_OLDEST:
+                if (queue.poll() != null) {
+                    dropped.increment();
+                }
+                if (queue.offer(task)) {
+                    return true;
+                }
+                break;
+            case CALLER_RUNS:
+                deliver(task);
+                return true;
+            default:
+                break;
+        }
+
+        dropped.increment();
+        System.err.println("✗ " + observer.getChannelName() + " queue full, notification dropped.");
+        return false;
+    }
+
+    private void runWorker() {
+        while (true) {
+            Task task;
+            try {
+                task = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task != null) {
+                deliver(task);
+            } else if (!accepting) {
+                return; // Drained
+            }
+        }
+    }
+
+    private void deliver(Task task) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                observer.update(task.message, task.customer);
+                delivered.increment();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    failed.increment();
+                    System.err.println("✗ " + observer.getChannelName() + " notification failed after "
+                            + (attempt + 1) + " attempts: " + e.getMessage());
+                    return;
+                }
+                retried.increment();
+                try {
+                    Thread.sleep(retryBackoffMillis * (attempt + 1));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    failed.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting notifications and waits for queued ones to be delivered.
+     *
+     * @return true if the queue drained within the timeout
+     */
+    public boolean shutdown(long timeoutMillis) {
+        accepting = false;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            try {
+                if (remaining > 0) {
+                    worker.join(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        boolean drained = queue.isEmpty();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        if (!drained) {
+            dropped.add(queue.size());
+            queue.clear();
+        }
+        return drained;
+    }
+
+    public NotificationObserver getObserver() {
+        return observer;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{queued=%d, delivered=%d, retried=%d, failed=%d, dropped=%d}",
+                observer.getChannelName(), queue.size(), delivered.sum(), retried.sum(), failed.sum(),
+                dropped.sum());
+    }
+
+    private static class Task {
+        private final String message;
+        private final Customer customer;
+
+        private Task(String message, Customer customer) {
+            this.message = message;
+            this.customer = customer;
+        }
+    }
+}
@@ -2,22 +2,32 @@ package service;
 
 import model.entity.Customer;
 import model.observer.*;
+import util.AppConfig;
+import util.jfr.NotificationFanoutEvent;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Notification Manager - Subject in the Observer pattern.
  * Manages notification observers and sends notifications to customers.
  * Implements Singleton pattern for global access.
+ * In async mode (notifications.async) each channel is delivered by its own
+ * NotificationDispatcher, so callers only pay for queueing the message.
  */
 public class NotificationManager {
     private static NotificationManager instance;
     private List<NotificationObserver> observers;
+    private Map<NotificationObserver, NotificationDispatcher> dispatchers;
     private boolean initialized = false;
+    private final boolean async;
 
     private NotificationManager() {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.dispatchers = new ConcurrentHashMap<>();
+        this.async = AppConfig.getBoolean("notifications.async", true);
     }
 
     /**
@@ -60,6 +70,9 @@ public class NotificationManager {
         }
 
         observers.add(observer);
+        if (async) {
+            dispatchers.put(observer, createDispatcher(observer));
+        }
         if (initialized) {
             System.out.println("✓ " + observer.getChannelName() + " notification channel registered.");
         }
@@ -70,6 +83,10 @@ public class NotificationManager {
      */
     public void detach(NotificationObserver observer) {
         observers.remove(observer);
+        NotificationDispatcher dispatcher = dispatchers.remove(observer);
+        if (dispatcher != null) {
+            dispatcher.shutdown(AppConfig.getLong("notifications.shutdownTimeoutMillis", 5000));
+        }
         System.out.println("✓ " + observer.getChannelName() + " notification channel unregistered.");
     }
 
@@ -82,6 +99,17 @@ public class NotificationManager {
             return;
         }
 
+        NotificationFanoutEvent event = new NotificationFanoutEvent(1, observers.size(), async);
+        event.begin();
+        if (async) {
+            for (NotificationObserver observer : observers) {
+                dispatch(observer, message, customer);
+            }
+            event.commit();
+            System.out.println("📢 Notifications queued for " + customer.getFullName() + ".");
+            return;
+        }
+
         System.out.println("\n━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
         System.out.println("📢 Sending notifications to " + customer.getFullName() + "...");
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
@@ -89,6 +117,7 @@ public class NotificationManager {
         for (NotificationObserver observer : observers) {
             observer.update(message, customer);
         }
+        event.commit();
 
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
     }
@@ -107,14 +136,22 @@ public class NotificationManager {
         System.out.println("📢 Broadcasting to " + customers.size() + " customers...");
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
+        NotificationFanoutEvent event = new NotificationFanoutEvent(customers.size(), observers.size(), async);
+        event.begin();
+
         for (Customer customer : customers) {
             for (NotificationObserver observer : observers) {
-                observer.update(message, customer);
+                if (async) {
+                    dispatch(observer, message, customer);
+                } else {
+                    observer.update(message, customer);
+                }
             }
         }
+        event.commit();
 
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        System.out.println("✓ Broadcast complete!");
+        System.out.println(async ? "✓ Broadcast queued!" : "✓ Broadcast complete!");
         System.out.println("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
     }
 
@@ -124,4 +161,64 @@ public class NotificationManager {
     public int getObserverCount() {
         return observers.size();
     }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Get delivery statistics for each channel (async mode only).
+     */
+    public String getDispatchStats() {
+        StringBuilder stats = new StringBuilder();
+        for (NotificationObserver observer : observers) {
+            NotificationDispatcher dispatcher = dispatchers.get(observer);
+            if (dispatcher != null) {
+                stats.append(dispatcher).append('\n');
+            }
+        }
+        return stats.toString();
+    }
+
+    /**
+     * Stop accepting notifications and wait for queued ones to be delivered.
+     * Called once on application shutdown.
+     */
+    public void shutdown() {
+        long timeoutMillis = AppConfig.getLong("notifications.shutdownTimeoutMillis", 5000);
+        for (NotificationDispatcher dispatcher : dispatchers.values()) {
+            if (!dispatcher.shutdown(timeoutMillis)) {
+                System.err.println("✗ " + dispatcher.getObserver().getChannelName()
+                        + " notifications not fully delivered before shutdown.");
+            }
+        }
+    }
+
+    private void dispatch(NotificationObserver observer, String message, Customer customer) {
+        NotificationDispatcher dispatcher = dispatchers.get(observer);
+        if (dispatcher != null) {
+            dispatcher.dispatch(message, customer);
+        } else {
+            observer.update(message, customer);
+        }
+    }
+
+    private NotificationDispatcher createDispatcher(NotificationObserver observer) {
+        NotificationDispatcher.OverflowPolicy policy;
+        try {
+            policy = NotificationDispatcher.OverflowPolicy.valueOf(
+                    AppConfig.get("notifications.overflowPolicy", "BLOCK").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            policy = NotificationDispatcher.OverflowPolicy.BLOCK;
+        }
+
+        return new NotificationDispatcher(observer,
+                AppConfig.getInt("notifications.queueCapacity", 1000),
+                AppConfig.getInt("notifications.workersPerChannel", 2),
+                AppConfig.getBoolean("notifications.virtualThreads", true),
+                policy,
+                AppConfig.getLong("notifications.blockTimeoutMillis", 100),
+                AppConfig.getInt("notifications.maxRetries", 2),
+                AppConfig.getLong("notifications.retryBackoffMillis", 200));
+    }
 }
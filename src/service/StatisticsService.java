@@ -0,0 +1,98 @@
+package service;
+
+import adapter.DataAdapterFactory;
+import adapter.interfaces.StatisticsDataAdapter;
+import model.entity.SystemStatistics;
+import util.AppConfig;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves system statistics from a short-lived cached snapshot.
+ * Implements Singleton pattern so every dashboard shares one snapshot.
+ * Only the very first read waits for the aggregate queries. After that a read
+ * always returns the cached snapshot immediately. Once the snapshot is older
+ * than statistics.ttlMillis, that read also starts a single background
+ * refresh, so concurrent readers never pile up identical queries.
+ */
+public class StatisticsService {
+    private static volatile StatisticsService instance;
+
+    private final StatisticsDataAdapter statisticsDataAdapter;
+    private final long ttlMillis;
+    private final int topN;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile SystemStatistics snapshot;
+    private volatile long snapshotTime;
+
+    private StatisticsService() {
+        this.statisticsDataAdapter = DataAdapterFactory.createStatisticsDataAdapter();
+        this.ttlMillis = AppConfig.getLong("statistics.ttlMillis", 10000);
+        this.topN = AppConfig.getInt("statistics.topN", 10);
+    }
+
+    /**
+     * Get the singleton instance of StatisticsService.
+     */
+    public static StatisticsService getInstance() {
+        if (instance == null) {
+            synchronized (StatisticsService.class) {
+                if (instance == null) {
+                    instance = new StatisticsService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cached statistics, loading them on first use and refreshing
+     * them in the background once they are stale.
+     *
+     * @return Statistics snapshot, or null if they could never be loaded
+     */
+    public SystemStatistics getStatistics() {
+        SystemStatistics current = snapshot;
+        if (current == null) {
+            return refresh();
+        }
+        if (System.currentTimeMillis() - snapshotTime > ttlMillis && refreshing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("statistics-refresh").start(() -> {
+                try {
+                    load();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    /**
+     * Recomputes the statistics now, bypassing the cache.
+     *
+     * @return Fresh statistics, or the previous snapshot if the queries failed
+     */
+    public SystemStatistics refresh() {
+        load();
+        return snapshot;
+    }
+
+    /**
+     * Marks the snapshot stale so the next read triggers a refresh.
+     */
+    public void invalidate() {
+        snapshotTime = 0;
+    }
+
+    private synchronized void load() {
+        try {
+            SystemStatistics loaded = statisticsDataAdapter.loadStatistics(topN);
+            snapshot = loaded;
+            snapshotTime = System.currentTimeMillis();
+        } catch (SQLException e) {
+            System.err.println("✗ Error computing statistics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Utility class for reading application settings from config/config.properties.
+ * The file is loaded once; missing keys fall back to the supplied defaults.
+ */
+public class AppConfig {
+    private static final String CONFIG_FILE = "config/config.properties";
+    private static Properties properties;
+
+    private static synchronized Properties getProperties() {
+        if (properties == null) {
+            Properties props = new Properties();
+            try (FileInputStream fis = new FileInputStream(CONFIG_FILE)) {
+                props.load(fis);
+            } catch (IOException e) {
+                System.out.println("Config file not found, using default configuration...");
+            }
+            properties = props;
+        }
+        return properties;
+    }
+
+    /**
+     * Checks whether the configuration file was found and loaded.
+     *
+     * @return true if at least one property was loaded
+     */
+    public static boolean isLoaded() {
+        return !getProperties().isEmpty();
+    }
+
+    /**
+     * Overrides a setting for the rest of this run, as if it were in the
+     * file. Call it before the components that read the setting start.
+     */
+    public static synchronized void set(String key, String value) {
+        getProperties().setProperty(key, value);
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = getProperties().getProperty(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.err.println("✗ Invalid value for " + key + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.err.println("✗ Invalid value for " + key + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,94 @@
+package util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free, Snowflake-style generator for unique payment transaction IDs.
+ * Each 64-bit ID packs milliseconds since a custom epoch (41 bits), the node
+ * ID from config.properties (10 bits) and a per-millisecond sequence
+ * (12 bits). IDs from one node are strictly increasing: if the clock moves
+ * backwards the generator keeps counting from the last timestamp it issued
+ * instead of repeating one. When a millisecond's sequence runs out it waits
+ * for the clock to reach the next one; it never issues a timestamp ahead of
+ * the clock, which a restart within that time could issue again.
+ * Implements Singleton pattern for global access.
+ */
+public class TransactionIdGenerator {
+    private static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile TransactionIdGenerator instance;
+
+    private final long nodeId;
+    // (timestamp << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TransactionIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Get the singleton instance, using payments.nodeId from config.properties.
+     */
+    public static TransactionIdGenerator getInstance() {
+        if (instance == null) {
+            synchronized (TransactionIdGenerator.class) {
+                if (instance == null) {
+                    instance = new TransactionIdGenerator(AppConfig.getLong("payments.nodeId", 0));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the next unique, monotonically increasing ID for this node.
+     */
+    public long nextId() {
+        while (true) {
+            long previous = lastState.get();
+            long previousTimestamp = previous >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+
+            long next;
+            if (now > previousTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = previous + 1;
+            } else {
+                // Sequence exhausted for this millisecond: wait for the clock to pass it
+                long behindMillis = previousTimestamp - now;
+                if (behindMillis > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(behindMillis));
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Returns the next transaction ID in format "TXN[id]".
+     */
+    public String nextTransactionId() {
+        return "TXN" + nextId();
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,17 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flightreservation.BookingConfirm")
+@Label("Confirm Booking")
+@Description("BookingController.confirmBooking, including the confirmation notification")
+public class BookingConfirmEvent extends ReservationEvent {
+    @Label("Booking ID")
+    private final int bookingId;
+
+    public BookingConfirmEvent(int bookingId) {
+        this.bookingId = bookingId;
+    }
+}
@@ -0,0 +1,21 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flightreservation.BookingCreate")
+@Label("Create Booking")
+@Description("BookingController.createBooking, from the flight lookup to the committed booking")
+public class BookingCreateEvent extends ReservationEvent {
+    @Label("Flight ID")
+    private final int flightId;
+
+    @Label("Passengers")
+    private final int passengerCount;
+
+    public BookingCreateEvent(int flightId, int passengerCount) {
+        this.flightId = flightId;
+        this.passengerCount = passengerCount;
+    }
+}
@@ -0,0 +1,25 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flightreservation.NotificationFanout")
+@Label("Notification Fan-out")
+@Description("Delivery (or queueing, when asynchronous) of one message to every channel for each recipient")
+public class NotificationFanoutEvent extends ReservationEvent {
+    @Label("Recipients")
+    private final int recipients;
+
+    @Label("Channels")
+    private final int channels;
+
+    @Label("Asynchronous")
+    private final boolean async;
+
+    public NotificationFanoutEvent(int recipients, int channels, boolean async) {
+        this.recipients = recipients;
+        this.channels = channels;
+        this.async = async;
+    }
+}
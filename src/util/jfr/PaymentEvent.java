@@ -0,0 +1,28 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flightreservation.Payment")
+@Label("Process Payment")
+@Description("PaymentController.processPayment, including the payment strategy call")
+public class PaymentEvent extends ReservationEvent {
+    @Label("Booking ID")
+    private final int bookingId;
+
+    @Label("Strategy")
+    private String strategy;
+
+    @Label("Amount")
+    private final double amount;
+
+    public PaymentEvent(int bookingId, double amount) {
+        this.bookingId = bookingId;
+        this.amount = amount;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+}
@@ -0,0 +1,25 @@
+package util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the reservation system's Flight Recorder events.
+ * Every event is timed from begin() to commit() and carries an outcome, so a
+ * recording shows how long each booking phase took and whether it succeeded.
+ * When no recording is running, begin() and commit() are no-ops.
+ */
+@Category("Flight Reservation")
+public abstract class ReservationEvent extends Event {
+    public static final String SUCCESS = "SUCCESS";
+    public static final String FAILED = "FAILED";
+    public static final String ERROR = "ERROR";
+
+    @Label("Outcome")
+    protected String outcome = SUCCESS;
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
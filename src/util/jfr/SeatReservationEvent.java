@@ -0,0 +1,21 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("flightreservation.SeatReservation")
+@Label("Seat Reservation")
+@Description("Conditional seat decrement on a flight; the outcome is the SeatReservationResult")
+public class SeatReservationEvent extends ReservationEvent {
+    @Label("Flight ID")
+    private final int flightId;
+
+    @Label("Seats")
+    private final int seats;
+
+    public SeatReservationEvent(int flightId, int seats) {
+        this.flightId = flightId;
+        this.seats = seats;
+    }
+}
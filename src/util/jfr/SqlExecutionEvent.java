@@ -0,0 +1,39 @@
+package util.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One JDBC statement execution. Stack traces are off by default to keep the
+ * per-statement cost low; enable them in the recording settings to see
+ * which adapter issued a statement.
+ */
+@Name("flightreservation.SqlExecution")
+@Label("SQL Execution")
+@Description("Execution of one statement on a pooled connection")
+@StackTrace(false)
+public class SqlExecutionEvent extends ReservationEvent {
+    @Label("SQL")
+    private String sql;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Rows Affected")
+    @Description("Update count, or -1 for queries")
+    private long rows = -1;
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+}
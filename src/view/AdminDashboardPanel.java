@@ -5,9 +5,15 @@ import controller.*;
 import model.entity.Admin;
 import model.entity.Customer;
 import model.entity.Flight;
+import model.entity.FlightUpdate;
+import model.entity.SystemStatistics;
 import model.entity.User;
+import model.enums.BookingStatus;
 import model.enums.FlightStatus;
+import model.enums.UpdateResult;
+import service.LiveCounters;
 import service.NotificationManager;
+import service.StatisticsService;
 import util.DateTimeUtil;
 
 import javax.swing.*;
@@ -15,6 +21,7 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class AdminDashboardPanel extends JPanel {
@@ -25,7 +32,9 @@ public class AdminDashboardPanel extends JPanel {
     private AuthenticationController authController;
 
     private JTable flightsTable;
-    private DefaultTableModel flightsTableModel;
+    private PagedTableModel<Flight> flightsTableModel;
+    private BackgroundLoader<PagedTableModel.PageIndex> flightsLoader;
+    private BackgroundLoader<List<Flight>> newsletterLoader;
 
     public AdminDashboardPanel(MainFrame mainFrame, User user, FlightController flightController,
                                BookingController bookingController, AuthenticationController authController) {
@@ -80,17 +89,44 @@ public class AdminDashboardPanel extends JPanel {
         toolBar.add(newsletterButton);
         toolBar.add(refreshButton);
 
+        JLabel statusLabel = new JLabel(" ");
+        toolBar.addSeparator();
+        toolBar.add(statusLabel);
+        flightsLoader = new BackgroundLoader<>(panel, statusLabel);
+        newsletterLoader = new BackgroundLoader<>(panel, statusLabel);
+
         panel.add(toolBar, BorderLayout.NORTH);
 
         // Table
         String[] columns = { "ID", "Flight #", "Airline", "Origin", "Destination", "Departure", "Arrival", "Price",
                 "Seats", "Status" };
-        flightsTableModel = new DefaultTableModel(columns, 0) {
+        flightsTableModel = new PagedTableModel<>(columns, new PagedTableModel.PageSource<>() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public int count() {
+                return flightController.getFlightCount();
             }
-        };
+
+            @Override
+            public List<Integer> pageBoundaries(int pageSize) {
+                return flightController.getFlightPageBoundaries(pageSize);
+            }
+
+            @Override
+            public List<Flight> pageAfter(int lastKey, int limit) {
+                return flightController.getFlightsAfter(lastKey, limit);
+            }
+        }, (f, column) -> switch (column) {
+            case 0 -> f.getFlightId();
+            case 1 -> f.getFlightNumber();
+            case 2 -> f.getAirline();
+            case 3 -> f.getOrigin();
+            case 4 -> f.getDestination();
+            case 5 -> f.getDepartureTime();
+            case 6 -> f.getArrivalTime();
+            case 7 -> f.getPrice();
+            case 8 -> f.getTotalSeats();
+            default -> f.getStatus();
+        });
         flightsTable = new JTable(flightsTableModel);
         panel.add(new JScrollPane(flightsTable), BorderLayout.CENTER);
 
@@ -108,23 +144,7 @@ public class AdminDashboardPanel extends JPanel {
     }
 
     private void refreshFlightsTable() {
-        flightsTableModel.setRowCount(0);
-        List<Flight> flights = flightController.getAllFlights();
-        for (Flight f : flights) {
-            Object[] row = {
-                    f.getFlightId(),
-                    f.getFlightNumber(),
-                    f.getAirline(),
-                    f.getOrigin(),
-                    f.getDestination(),
-                    f.getDepartureTime(),
-                    f.getArrivalTime(),
-                    f.getPrice(),
-                    f.getTotalSeats(),
-                    f.getStatus()
-            };
-            flightsTableModel.addRow(row);
-        }
+        flightsLoader.load(flightsTableModel::loadIndex, flightsTableModel::setIndex);
     }
 
     private void showAddFlightDialog() {
@@ -196,8 +216,8 @@ public class AdminDashboardPanel extends JPanel {
             return;
         }
 
-        int flightId = (Integer) flightsTableModel.getValueAt(selectedRow, 0);
-        Flight flight = flightController.getFlightById(flightId);
+        Flight selected = flightsTableModel.getRow(selectedRow);
+        Flight flight = selected != null ? flightController.getFlightById(selected.getFlightId()) : null;
 
         if (flight == null) {
             JOptionPane.showMessageDialog(this, "Flight not found.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -250,28 +270,35 @@ public class AdminDashboardPanel extends JPanel {
                 if (dep == null || arr == null)
                     throw new Exception("Invalid Date Format");
 
-                // Calculate reserved seats and adjust available seats proportionally
-                int oldTotalSeats = flight.getTotalSeats();
-                int oldAvailableSeats = flight.getAvailableSeats();
-                int reservedSeats = oldTotalSeats - oldAvailableSeats;
-                int newAvailableSeats = Math.max(0, newTotalSeats - reservedSeats);
-
-                flight.setFlightNumber(numField.getText());
-                flight.setAirline(airlineField.getText());
-                flight.setOrigin(originField.getText());
-                flight.setDestination(destField.getText());
-                flight.setDepartureTime(dep);
-                flight.setArrivalTime(arr);
-                flight.setPrice(price);
-                flight.setTotalSeats(newTotalSeats);
-                flight.setAvailableSeats(newAvailableSeats); // Update available seats proportionally
-                flight.setAircraftType(typeField.getText());
-
-                if (flightController.updateFlight(flight)) {
+                Flight edited = new Flight(numField.getText(), airlineField.getText(), originField.getText(),
+                        destField.getText(), dep, arr, price, newTotalSeats, typeField.getText());
+                edited.setStatus(flight.getStatus());
+
+                // Only the edited fields are written; available seats move with the
+                // total seats, so seats booked while the dialog was open are kept
+                FlightUpdate changes = FlightUpdate.between(flight, edited);
+                UpdateResult result = flightController.updateFlight(flight, changes);
+
+                if (result == UpdateResult.UPDATED) {
                     JOptionPane.showMessageDialog(dialog, "Flight updated successfully!", "Success",
                             JOptionPane.INFORMATION_MESSAGE);
                     refreshFlightsTable();
                     dialog.dispose();
+                } else if (result == UpdateResult.CONFLICT) {
+                    Flight current = flightController.getFlightById(flight.getFlightId());
+                    List<String> fields = current != null ? changes.conflictingFields(flight, current) : List.of();
+                    JOptionPane.showMessageDialog(dialog,
+                            (fields.isEmpty() ? "This flight was changed by someone else."
+                                    : "Someone else changed the " + String.join(", ", fields) + " of this flight.")
+                                    + "\nReopen it to see the latest values and try again.",
+                            "Update Conflict", JOptionPane.WARNING_MESSAGE);
+                    refreshFlightsTable();
+                    dialog.dispose();
+                } else if (result == UpdateResult.NOT_FOUND) {
+                    JOptionPane.showMessageDialog(dialog, "This flight no longer exists.", "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    refreshFlightsTable();
+                    dialog.dispose();
                 } else {
                     JOptionPane.showMessageDialog(dialog, "Failed to update flight.", "Error",
                             JOptionPane.ERROR_MESSAGE);
@@ -294,8 +321,12 @@ public class AdminDashboardPanel extends JPanel {
             return;
         }
 
-        int flightId = (Integer) flightsTableModel.getValueAt(selectedRow, 0);
-        String flightNumber = (String) flightsTableModel.getValueAt(selectedRow, 1);
+        Flight selected = flightsTableModel.getRow(selectedRow);
+        if (selected == null) {
+            return; // Row not loaded yet
+        }
+        int flightId = selected.getFlightId();
+        String flightNumber = selected.getFlightNumber();
 
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete flight " + flightNumber + "?",
@@ -314,24 +345,25 @@ public class AdminDashboardPanel extends JPanel {
     }
 
     private void sendNewsletter() {
-        List<Flight> flights = flightController.getAllFlights();
-        StringBuilder content = new StringBuilder("Check out our available flights:\n\n");
+        newsletterLoader.load(flightController::getAllFlights, flights -> {
+            StringBuilder content = new StringBuilder("Check out our available flights:\n\n");
 
-        for (Flight f : flights) {
-            if (f.getStatus() == FlightStatus.SCHEDULED) {
-                content.append(String.format("✈ %s: %s to %s at $%.2f\n",
-                        f.getAirline(), f.getOrigin(), f.getDestination(), f.getPrice()));
+            for (Flight f : flights) {
+                if (f.getStatus() == FlightStatus.SCHEDULED) {
+                    content.append(String.format("✈ %s: %s to %s at $%.2f\n",
+                            f.getAirline(), f.getOrigin(), f.getDestination(), f.getPrice()));
+                }
             }
-        }
 
-        int confirm = JOptionPane.showConfirmDialog(this,
-                "Send newsletter with the following content?\n\n" + content.toString(),
-                "Confirm Newsletter", JOptionPane.YES_NO_OPTION);
+            int confirm = JOptionPane.showConfirmDialog(this,
+                    "Send newsletter with the following content?\n\n" + content.toString(),
+                    "Confirm Newsletter", JOptionPane.YES_NO_OPTION);
 
-        if (confirm == JOptionPane.YES_OPTION) {
-            JOptionPane.showMessageDialog(this, "Newsletter sent to all subscribed customers!");
-            System.out.println("Newsletter Content:\n" + content);
-        }
+            if (confirm == JOptionPane.YES_OPTION) {
+                JOptionPane.showMessageDialog(this, "Newsletter sent to all subscribed customers!");
+                System.out.println("Newsletter Content:\n" + content);
+            }
+        });
     }
 
     private JPanel createStatusPanel() {
@@ -370,11 +402,17 @@ public class AdminDashboardPanel extends JPanel {
             Flight flight = flightController.getFlightByNumber(flightNum);
             if (flight != null) {
 
-                flight.setStatus(status);
-                if (flightController.updateFlight(flight)) {
+                FlightUpdate changes = new FlightUpdate();
+                changes.setStatus(status);
+                UpdateResult result = flightController.updateFlight(flight, changes);
+                if (result == UpdateResult.UPDATED) {
                     logArea.append(String.format("Updated %s to %s at %s\n", flightNum, status, LocalDateTime.now()));
                     JOptionPane.showMessageDialog(this, "Status updated successfully.", "Success",
                             JOptionPane.INFORMATION_MESSAGE);
+                } else if (result == UpdateResult.CONFLICT) {
+                    JOptionPane.showMessageDialog(this, "The status of " + flightNum
+                            + " was just changed by someone else. Check it and try again.", "Update Conflict",
+                            JOptionPane.WARNING_MESSAGE);
                 } else {
                     JOptionPane.showMessageDialog(this, "Failed to update status.", "Error", JOptionPane.ERROR_MESSAGE);
                 }
@@ -387,46 +425,104 @@ public class AdminDashboardPanel extends JPanel {
     }
 
     private JPanel createStatsPanel() {
-        JPanel panel = new JPanel(new GridLayout(4, 1, 10, 10));
-        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-
-        // Metrics
-        List<model.entity.Booking> allBookings = bookingController.getAllBookings();
-        int totalFlights = flightController.getAllFlights().size();
-        int totalBookings = allBookings.size();
-
-        // Filter confirmed bookings for accurate revenue calculation
-        int confirmedBookings = (int) allBookings.stream()
-                .filter(b -> b.getStatus() == model.enums.BookingStatus.CONFIRMED)
-                .count();
-
-        double totalRevenue = allBookings.stream()
-                .filter(b -> b.getStatus() == model.enums.BookingStatus.CONFIRMED)
-                .mapToDouble(model.entity.Booking::getTotalAmount)
-                .sum();
+        JPanel panel = new JPanel(new BorderLayout());
+        JPanel metricsPanel = new JPanel(new GridLayout(4, 1, 10, 10));
+        metricsPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
-        JLabel flightsLabel = new JLabel("Total Flights: " + totalFlights, SwingConstants.CENTER);
+        JLabel flightsLabel = new JLabel("Total Flights: ...", SwingConstants.CENTER);
         flightsLabel.setFont(new Font("Arial", Font.BOLD, 24));
         flightsLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
 
-        JLabel bookingsLabel = new JLabel("Total Bookings: " + totalBookings, SwingConstants.CENTER);
+        JLabel bookingsLabel = new JLabel("Total Bookings: ...", SwingConstants.CENTER);
         bookingsLabel.setFont(new Font("Arial", Font.BOLD, 24));
         bookingsLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
 
-        JLabel confirmedLabel = new JLabel("Confirmed Bookings: " + confirmedBookings, SwingConstants.CENTER);
+        JLabel confirmedLabel = new JLabel("Confirmed Bookings: ...", SwingConstants.CENTER);
         confirmedLabel.setFont(new Font("Arial", Font.BOLD, 24));
         confirmedLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
         confirmedLabel.setForeground(new Color(0, 100, 0));
 
-        JLabel revenueLabel = new JLabel(String.format("Total Revenue: $%.2f", totalRevenue), SwingConstants.CENTER);
+        JLabel revenueLabel = new JLabel("Total Revenue: ...", SwingConstants.CENTER);
         revenueLabel.setFont(new Font("Arial", Font.BOLD, 24));
         revenueLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
         revenueLabel.setForeground(new Color(0, 100, 0));
 
-        panel.add(flightsLabel);
-        panel.add(bookingsLabel);
-        panel.add(confirmedLabel);
-        panel.add(revenueLabel);
+        metricsPanel.add(flightsLabel);
+        metricsPanel.add(bookingsLabel);
+        metricsPanel.add(confirmedLabel);
+        metricsPanel.add(revenueLabel);
+
+        // Revenue breakdowns
+        DefaultTableModel routesModel = new DefaultTableModel(new String[] { "Route", "Revenue" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        DefaultTableModel airlinesModel = new DefaultTableModel(new String[] { "Airline", "Revenue" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JPanel breakdownPanel = new JPanel(new GridLayout(1, 2, 10, 10));
+        breakdownPanel.setBorder(BorderFactory.createEmptyBorder(0, 20, 0, 20));
+        JScrollPane routesPane = new JScrollPane(new JTable(routesModel));
+        routesPane.setBorder(BorderFactory.createTitledBorder("Top Routes by Revenue"));
+        JScrollPane airlinesPane = new JScrollPane(new JTable(airlinesModel));
+        airlinesPane.setBorder(BorderFactory.createTitledBorder("Top Airlines by Revenue"));
+        breakdownPanel.add(routesPane);
+        breakdownPanel.add(airlinesPane);
+
+        JPanel centerPanel = new JPanel(new GridLayout(2, 1));
+        centerPanel.add(metricsPanel);
+        centerPanel.add(breakdownPanel);
+        panel.add(centerPanel, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JLabel statusLabel = new JLabel(" ");
+        JLabel asOfLabel = new JLabel(" ");
+        JButton refreshButton = new JButton("Refresh Stats");
+        bottomPanel.add(statusLabel);
+        bottomPanel.add(asOfLabel);
+        bottomPanel.add(refreshButton);
+        panel.add(bottomPanel, BorderLayout.SOUTH);
+
+        StatisticsService statisticsService = StatisticsService.getInstance();
+        BackgroundLoader<SystemStatistics> statsLoader = new BackgroundLoader<>(panel, statusLabel);
+        Consumer<SystemStatistics> showStats = stats -> {
+            if (stats == null) {
+                asOfLabel.setText("Statistics unavailable.");
+                return;
+            }
+            flightsLabel.setText("Total Flights: " + stats.getTotalFlights());
+
+            // Live counters are exact and current; the snapshot may be a few seconds old
+            LiveCounters counters = LiveCounters.getInstance();
+            if (counters.isReconciled()) {
+                bookingsLabel.setText("Total Bookings: " + counters.getTotalBookings());
+                confirmedLabel.setText("Confirmed Bookings: " + counters.getBookingCount(BookingStatus.CONFIRMED));
+                revenueLabel.setText(String.format("Total Revenue: $%.2f", counters.getConfirmedRevenue()));
+            } else {
+                bookingsLabel.setText("Total Bookings: " + stats.getTotalBookings());
+                confirmedLabel.setText("Confirmed Bookings: " + stats.getBookingCount(BookingStatus.CONFIRMED));
+                revenueLabel.setText(String.format("Total Revenue: $%.2f", stats.getConfirmedRevenue()));
+            }
+
+            routesModel.setRowCount(0);
+            stats.getRevenueByRoute().forEach((route, revenue) ->
+                    routesModel.addRow(new Object[] { route, String.format("$%.2f", revenue) }));
+            airlinesModel.setRowCount(0);
+            stats.getRevenueByAirline().forEach((airline, revenue) ->
+                    airlinesModel.addRow(new Object[] { airline, String.format("$%.2f", revenue) }));
+
+            asOfLabel.setText("As of " + DateTimeUtil.formatDateTime(stats.getComputedAt()));
+        };
+
+        refreshButton.addActionListener(e -> statsLoader.load(statisticsService::refresh, showStats));
+
+        // Initial Load (served from the shared snapshot when one is cached)
+        statsLoader.load(statisticsService::getStatistics, showStats);
 
         return panel;
     }
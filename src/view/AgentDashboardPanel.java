@@ -7,7 +7,6 @@ import model.entity.User;
 import model.enums.FlightStatus;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 
 public class AgentDashboardPanel extends JPanel {
@@ -66,32 +65,41 @@ public class AgentDashboardPanel extends JPanel {
 
         // Table
         String[] columns = { "Booking ID", "Customer ID", "Flight #", "Date", "Passengers", "Amount", "Status" };
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        PagedTableModel<model.entity.Booking> model = new PagedTableModel<>(columns,
+                new PagedTableModel.PageSource<>() {
+                    @Override
+                    public int count() {
+                        return bookingController.getBookingCount();
+                    }
+
+                    @Override
+                    public java.util.List<Integer> pageBoundaries(int pageSize) {
+                        return bookingController.getBookingPageBoundaries(pageSize);
+                    }
+
+                    @Override
+                    public java.util.List<model.entity.Booking> pageAfter(int lastKey, int limit) {
+                        return bookingController.getBookingsAfter(lastKey, limit);
+                    }
+                }, (b, column) -> switch (column) {
+                    case 0 -> b.getBookingId();
+                    case 1 -> b.getCustomerId();
+                    case 2 -> b.getFlight() != null ? b.getFlight().getFlightNumber() : "N/A";
+                    case 3 -> b.getBookingDate();
+                    case 4 -> b.getNumPassengers();
+                    case 5 -> String.format("$%.2f", b.getTotalAmount());
+                    default -> b.getStatus();
+                });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
         // Actions
-        refreshButton.addActionListener(e -> {
-            model.setRowCount(0);
-            java.util.List<model.entity.Booking> bookings = bookingController.getAllBookings();
-            for (model.entity.Booking b : bookings) {
-                Object[] row = {
-                        b.getBookingId(),
-                        b.getCustomerId(),
-                        b.getFlight() != null ? b.getFlight().getFlightNumber() : "N/A",
-                        b.getBookingDate(),
-                        b.getPassengers().size(),
-                        String.format("$%.2f", b.getTotalAmount()),
-                        b.getStatus()
-                };
-                model.addRow(row);
-            }
-        });
+        JLabel statusLabel = new JLabel(" ");
+        toolBar.add(Box.createHorizontalGlue());
+        toolBar.add(statusLabel);
+        BackgroundLoader<PagedTableModel.PageIndex> bookingsLoader = new BackgroundLoader<>(panel, statusLabel);
+
+        refreshButton.addActionListener(e -> bookingsLoader.load(model::loadIndex, model::setIndex));
 
         cancelButton.addActionListener(e -> {
             int selectedRow = table.getSelectedRow();
@@ -101,8 +109,12 @@ public class AgentDashboardPanel extends JPanel {
                 return;
             }
 
-            int bookingId = (Integer) model.getValueAt(selectedRow, 0);
-            String status = (String) model.getValueAt(selectedRow, 6).toString();
+            model.entity.Booking selected = model.getRow(selectedRow);
+            if (selected == null) {
+                return; // Row not loaded yet
+            }
+            int bookingId = selected.getBookingId();
+            String status = selected.getStatus().toString();
 
             if ("CANCELLED".equals(status)) {
                 JOptionPane.showMessageDialog(this, "Booking is already cancelled.", "Warning",
@@ -146,32 +158,43 @@ public class AgentDashboardPanel extends JPanel {
 
         // Table
         String[] columns = { "ID", "Flight #", "Airline", "Origin", "Destination", "Departure", "Status" };
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        PagedTableModel<model.entity.Flight> model = new PagedTableModel<>(columns,
+                new PagedTableModel.PageSource<>() {
+                    @Override
+                    public int count() {
+                        return flightController.getFlightCount();
+                    }
+
+                    @Override
+                    public java.util.List<Integer> pageBoundaries(int pageSize) {
+                        return flightController.getFlightPageBoundaries(pageSize);
+                    }
+
+                    @Override
+                    public java.util.List<model.entity.Flight> pageAfter(int lastKey, int limit) {
+                        return flightController.getFlightsAfter(lastKey, limit);
+                    }
+                }, (f, column) -> switch (column) {
+                    case 0 -> f.getFlightId();
+                    case 1 -> f.getFlightNumber();
+                    case 2 -> f.getAirline();
+                    case 3 -> f.getOrigin();
+                    case 4 -> f.getDestination();
+                    case 5 -> f.getDepartureTime();
+                    default -> f.getStatus();
+                });
         JTable table = new JTable(model);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
         // Actions
-        refreshButton.addActionListener(e -> {
-            model.setRowCount(0);
-            java.util.List<model.entity.Flight> flights = flightController.getAllFlights();
-            for (model.entity.Flight f : flights) {
-                Object[] row = {
-                        f.getFlightId(),
-                        f.getFlightNumber(),
-                        f.getAirline(),
-                        f.getOrigin(),
-                        f.getDestination(),
-                        f.getDepartureTime(),
-                        f.getStatus()
-                };
-                model.addRow(row);
-            }
-        });
+        JLabel statusLabel = new JLabel(" ");
+        toolBar.add(Box.createHorizontalGlue());
+        toolBar.add(statusLabel);
+        BackgroundLoader<PagedTableModel.PageIndex> flightsLoader = new BackgroundLoader<>(panel, statusLabel);
+        BackgroundLoader<java.util.List<model.entity.Booking>> flightBookingsLoader = new BackgroundLoader<>(panel,
+                statusLabel);
+
+        refreshButton.addActionListener(e -> flightsLoader.load(model::loadIndex, model::setIndex));
 
         viewBookingsButton.addActionListener(e -> {
             int selectedRow = table.getSelectedRow();
@@ -180,26 +203,29 @@ public class AgentDashboardPanel extends JPanel {
                 return;
             }
 
-            int flightId = (Integer) model.getValueAt(selectedRow, 0);
-            String flightNum = (String) model.getValueAt(selectedRow, 1);
-
-            java.util.List<model.entity.Booking> bookings = bookingController
-                    .getFlightBookings(flightId);
+            model.entity.Flight selected = model.getRow(selectedRow);
+            if (selected == null) {
+                return; // Row not loaded yet
+            }
+            int flightId = selected.getFlightId();
+            String flightNum = selected.getFlightNumber();
 
-            StringBuilder sb = new StringBuilder("Bookings for Flight " + flightNum + ":\n\n");
-            if (bookings.isEmpty()) {
-                sb.append("No bookings found.");
-            } else {
-                for (model.entity.Booking b : bookings) {
-                    sb.append(String.format("ID: %d | Cust ID: %d | Pass: %d | Status: %s\n",
-                            b.getBookingId(), b.getCustomerId(), b.getPassengers().size(), b.getStatus()));
+            flightBookingsLoader.load(() -> bookingController.getFlightBookings(flightId), bookings -> {
+                StringBuilder sb = new StringBuilder("Bookings for Flight " + flightNum + ":\n\n");
+                if (bookings.isEmpty()) {
+                    sb.append("No bookings found.");
+                } else {
+                    for (model.entity.Booking b : bookings) {
+                        sb.append(String.format("ID: %d | Cust ID: %d | Pass: %d | Status: %s\n",
+                                b.getBookingId(), b.getCustomerId(), b.getPassengers().size(), b.getStatus()));
+                    }
                 }
-            }
 
-            JTextArea area = new JTextArea(sb.toString());
-            area.setEditable(false);
-            JOptionPane.showMessageDialog(this, new JScrollPane(area), "Flight Bookings",
-                    JOptionPane.INFORMATION_MESSAGE);
+                JTextArea area = new JTextArea(sb.toString());
+                area.setEditable(false);
+                JOptionPane.showMessageDialog(this, new JScrollPane(area), "Flight Bookings",
+                        JOptionPane.INFORMATION_MESSAGE);
+            });
         });
 
         reviveButton.addActionListener(e -> {
@@ -210,9 +236,13 @@ public class AgentDashboardPanel extends JPanel {
                 return;
             }
 
-            int flightId = (Integer) model.getValueAt(selectedRow, 0);
-            String flightNum = (String) model.getValueAt(selectedRow, 1);
-            String currentStatus = (String) model.getValueAt(selectedRow, 6).toString();
+            model.entity.Flight selected = model.getRow(selectedRow);
+            if (selected == null) {
+                return; // Row not loaded yet
+            }
+            int flightId = selected.getFlightId();
+            String flightNum = selected.getFlightNumber();
+            String currentStatus = selected.getStatus().toString();
 
             if (!"CANCELLED".equals(currentStatus)) {
                 JOptionPane.showMessageDialog(this, "Only CANCELLED flights can be revived.", "Warning",
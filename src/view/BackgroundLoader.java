@@ -0,0 +1,99 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs dashboard data loads off the event dispatch thread and publishes the
+ * result back on it. Each loader owns one slot: starting a new load supersedes
+ * the one still running, whose result is then discarded instead of shown.
+ * While a load runs the owner shows a wait cursor and the status label, if
+ * any, reads "Loading...".
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+public class BackgroundLoader<T> {
+    private static final ExecutorService LOAD_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ui-loader-", 0).factory());
+
+    private final JComponent owner;
+    private final JLabel statusLabel;
+    private SwingWorker<T, Void> current;
+
+    public BackgroundLoader(JComponent owner, JLabel statusLabel) {
+        this.owner = owner;
+        this.statusLabel = statusLabel;
+    }
+
+    /**
+     * Starts a load, superseding any load still in progress.
+     *
+     * @param task     Runs on a background thread; must not touch Swing components
+     * @param onLoaded Receives the result on the event dispatch thread
+     */
+    public void load(Callable<T> task, Consumer<T> onLoaded) {
+        cancel();
+
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                if (current != this) {
+                    return; // Superseded or cancelled
+                }
+                current = null;
+                setLoading(false);
+                try {
+                    onLoaded.accept(get());
+                    if (statusLabel != null) {
+                        statusLabel.setText(" ");
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("✗ Background load failed: " + cause.getMessage());
+                    if (statusLabel != null) {
+                        statusLabel.setText("Failed to load data.");
+                    }
+                }
+            }
+        };
+
+        current = worker;
+        setLoading(true);
+        LOAD_EXECUTOR.execute(worker);
+    }
+
+    /**
+     * Cancels the load in progress, if any. Its result will not be published.
+     * The background thread is not interrupted: interrupting a virtual thread
+     * in a socket read closes the socket, which would break a pooled connection.
+     */
+    public void cancel() {
+        if (current != null) {
+            SwingWorker<T, Void> superseded = current;
+            current = null;
+            superseded.cancel(false);
+            setLoading(false);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    private void setLoading(boolean loading) {
+        owner.setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        if (statusLabel != null) {
+            statusLabel.setText(loading ? "Loading..." : " ");
+        }
+    }
+}
@@ -7,7 +7,6 @@ import model.entity.Booking;
 import model.entity.Customer;
 import model.entity.Flight;
 import model.entity.Passenger;
-import model.entity.Payment;
 
 import javax.swing.*;
 import java.awt.*;
@@ -27,6 +26,7 @@ public class BookingDialog extends JDialog {
     private JTextField expiryField;
     private JTextField cvvField;
     private JPanel cardDetailsPanel;
+    private JButton bookButton;
 
     public BookingDialog(Frame owner, Customer customer, Flight flight, BookingController bookingController,
                          PaymentController paymentController) {
@@ -114,7 +114,7 @@ public class BookingDialog extends JDialog {
 
         // Buttons
         JPanel buttonPanel = new JPanel();
-        JButton bookButton = new JButton("Confirm Booking");
+        bookButton = new JButton("Confirm Booking");
         bookButton.addActionListener(e -> processBooking());
         JButton cancelButton = new JButton("Cancel");
         cancelButton.addActionListener(e -> dispose());
@@ -187,24 +187,37 @@ public class BookingDialog extends JDialog {
             }
         }
 
-        Payment payment = paymentController.processPayment(booking.getBookingId(), booking.getTotalAmount(), method,
-                cardNum, expiry, cvv);
-
-        if (payment != null) {
-            bookingController.confirmBooking(booking.getBookingId());
-
-            JTextArea confirmationArea = new JTextArea(
-                    bookingController.generateBookingConfirmation(booking.getBookingId()));
-            confirmationArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
-            confirmationArea.setEditable(false);
-
-            JScrollPane scrollPane = new JScrollPane(confirmationArea);
-            scrollPane.setPreferredSize(new Dimension(500, 400));
-
-            JOptionPane.showMessageDialog(this, scrollPane, "Booking Successful!", JOptionPane.INFORMATION_MESSAGE);
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(this, "Payment Failed.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        // Payment runs in the background so the dialog stays responsive
+        bookButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        paymentController.processPaymentAsync(booking.getBookingId(), booking.getTotalAmount(), method,
+                        cardNum, expiry, cvv)
+                .thenApply(payment -> {
+                    if (payment == null) {
+                        return null;
+                    }
+                    bookingController.confirmBooking(booking.getBookingId());
+                    return bookingController.generateBookingConfirmation(booking.getBookingId());
+                })
+                .whenComplete((confirmation, error) -> SwingUtilities.invokeLater(() -> {
+                    setCursor(Cursor.getDefaultCursor());
+                    bookButton.setEnabled(true);
+
+                    if (confirmation != null) {
+                        JTextArea confirmationArea = new JTextArea(confirmation);
+                        confirmationArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                        confirmationArea.setEditable(false);
+
+                        JScrollPane scrollPane = new JScrollPane(confirmationArea);
+                        scrollPane.setPreferredSize(new Dimension(500, 400));
+
+                        JOptionPane.showMessageDialog(this, scrollPane, "Booking Successful!",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Payment Failed.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }));
     }
 }
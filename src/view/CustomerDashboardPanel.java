@@ -28,6 +28,7 @@ public class CustomerDashboardPanel extends JPanel {
     private JTextField originField;
     private JTextField destinationField;
     private JTextField dateField;
+    private BackgroundLoader<List<Flight>> searchLoader;
 
     public CustomerDashboardPanel(MainFrame mainFrame, User user, FlightController flightController,
                                   BookingController bookingController, PaymentController paymentController,
@@ -87,6 +88,10 @@ public class CustomerDashboardPanel extends JPanel {
         searchButton.addActionListener(e -> searchFlights());
         inputPanel.add(searchButton);
 
+        JLabel searchStatusLabel = new JLabel(" ");
+        inputPanel.add(searchStatusLabel);
+        searchLoader = new BackgroundLoader<>(panel, searchStatusLabel);
+
         panel.add(inputPanel, BorderLayout.NORTH);
 
         // Results Table
@@ -126,36 +131,35 @@ public class CustomerDashboardPanel extends JPanel {
             }
         }
 
-        List<Flight> flights = flightController.searchFlights(
-                origin.isEmpty() ? null : origin,
-                destination.isEmpty() ? null : destination,
-                date,
-                null);
+        String originFilter = origin.isEmpty() ? null : origin;
+        String destinationFilter = destination.isEmpty() ? null : destination;
+        LocalDate dateFilter = date;
 
-        // Filter out flights with 0 available seats or COMPLETED status
-        flights = flights.stream()
+        searchLoader.load(() -> flightController.searchFlights(originFilter, destinationFilter, dateFilter, null)
+                // Filter out flights with 0 available seats or COMPLETED status
+                .stream()
                 .filter(f -> f.getAvailableSeats() > 0 &&
                         f.getStatus() != model.enums.FlightStatus.COMPLETED)
-                .collect(java.util.stream.Collectors.toList());
-
-        flightsTableModel.setRowCount(0); // Clear table
-        for (Flight f : flights) {
-            Object[] row = {
-                    f.getFlightNumber(),
-                    f.getAirline(),
-                    f.getOrigin(),
-                    f.getDestination(),
-                    f.getDepartureTime(),
-                    f.getArrivalTime(),
-                    String.format("$%.2f", f.getPrice()),
-                    f.getAvailableSeats()
-            };
-            flightsTableModel.addRow(row);
-        }
+                .collect(java.util.stream.Collectors.toList()), flights -> {
+            flightsTableModel.setRowCount(0); // Clear table
+            for (Flight f : flights) {
+                Object[] row = {
+                        f.getFlightNumber(),
+                        f.getAirline(),
+                        f.getOrigin(),
+                        f.getDestination(),
+                        f.getDepartureTime(),
+                        f.getArrivalTime(),
+                        String.format("$%.2f", f.getPrice()),
+                        f.getAvailableSeats()
+                };
+                flightsTableModel.addRow(row);
+            }
 
-        if (flights.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "No flights found.", "Info", JOptionPane.INFORMATION_MESSAGE);
-        }
+            if (flights.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "No flights found.", "Info", JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
     }
 
     private void showBookingDialog() {
@@ -202,25 +206,30 @@ public class CustomerDashboardPanel extends JPanel {
         panel.add(new JScrollPane(bookingsTable), BorderLayout.CENTER);
 
         // Actions
-        ActionListener refreshAction = e -> {
-            bookingsModel.setRowCount(0);
-            List<model.entity.Booking> bookings = bookingController
-                    .getCustomerBookings(customer.getUserId());
-            for (model.entity.Booking b : bookings) {
-                Flight f = b.getFlight();
-                Object[] row = {
-                        b.getBookingId(),
-                        f != null ? f.getFlightNumber() : "N/A",
-                        f != null ? f.getOrigin() : "N/A",
-                        f != null ? f.getDestination() : "N/A",
-                        b.getBookingDate(),
-                        b.getPassengers().size(),
-                        String.format("$%.2f", b.getTotalAmount()),
-                        b.getStatus()
-                };
-                bookingsModel.addRow(row);
-            }
-        };
+        JLabel bookingsStatusLabel = new JLabel(" ");
+        toolBar.add(Box.createHorizontalGlue());
+        toolBar.add(bookingsStatusLabel);
+        BackgroundLoader<List<model.entity.Booking>> bookingsLoader = new BackgroundLoader<>(panel,
+                bookingsStatusLabel);
+
+        ActionListener refreshAction = e -> bookingsLoader.load(
+                () -> bookingController.getCustomerBookings(customer.getUserId(), false), bookings -> {
+                    bookingsModel.setRowCount(0);
+                    for (model.entity.Booking b : bookings) {
+                        Flight f = b.getFlight();
+                        Object[] row = {
+                                b.getBookingId(),
+                                f != null ? f.getFlightNumber() : "N/A",
+                                f != null ? f.getOrigin() : "N/A",
+                                f != null ? f.getDestination() : "N/A",
+                                b.getBookingDate(),
+                                b.getNumPassengers(),
+                                String.format("$%.2f", b.getTotalAmount()),
+                                b.getStatus()
+                        };
+                        bookingsModel.addRow(row);
+                    }
+                });
 
         refreshButton.addActionListener(refreshAction);
 
@@ -0,0 +1,213 @@
+package view;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtualized table model that only holds the pages the user is looking at.
+ * Rows are fetched in keyset pages on background threads when the table first
+ * asks for them. The neighbouring page is prefetched as the user scrolls
+ * toward it, and the least recently viewed pages are evicted once more than
+ * maxCachedPages are held. Rows whose page has not arrived yet render blank.
+ *
+ * A page index (row count plus the key that ends each page) is loaded up
+ * front, so jumping anywhere with the scroll bar costs one indexed query.
+ *
+ * All methods except {@link #loadIndex()} must be called on the event dispatch thread.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 16;
+    private static final int MAX_CONCURRENT_LOADS = 2;
+    private static final ExecutorService PAGE_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ui-page-", 0).factory());
+
+    /**
+     * Keyset-paged data source. Methods are called off the event dispatch thread.
+     */
+    public interface PageSource<T> {
+        int count();
+
+        List<Integer> pageBoundaries(int pageSize);
+
+        List<T> pageAfter(int lastKey, int limit);
+    }
+
+    public interface ColumnMapper<T> {
+        Object valueAt(T item, int column);
+    }
+
+    /**
+     * Row count and page boundary keys captured by {@link #loadIndex()}.
+     */
+    public static class PageIndex {
+        private final int rowCount;
+        private final List<Integer> boundaries;
+
+        private PageIndex(int rowCount, List<Integer> boundaries) {
+            this.rowCount = rowCount;
+            this.boundaries = boundaries;
+        }
+    }
+
+    private final String[] columns;
+    private final int pageSize;
+    private final PageSource<T> source;
+    private final ColumnMapper<T> mapper;
+
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> inFlight = new HashSet<>();
+    private final Deque<Integer> pending = new ArrayDeque<>();
+    private final int maxCachedPages;
+    private PageIndex index = new PageIndex(0, List.of());
+    private int generation;
+
+    public PagedTableModel(String[] columns, PageSource<T> source, ColumnMapper<T> mapper) {
+        this(columns, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES, source, mapper);
+    }
+
+    public PagedTableModel(String[] columns, int pageSize, int maxCachedPages, PageSource<T> source,
+                           ColumnMapper<T> mapper) {
+        this.columns = columns;
+        this.pageSize = Math.max(1, pageSize);
+        this.maxCachedPages = Math.max(2, maxCachedPages);
+        this.source = source;
+        this.mapper = mapper;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedTableModel.this.maxCachedPages;
+            }
+        };
+    }
+
+    /**
+     * Loads the row count and page boundaries. Call off the event dispatch
+     * thread and pass the result to {@link #setIndex(PageIndex)}. Both queries
+     * visit every row of the table, so a refresh costs O(n) in the table size
+     * even though each page load afterwards is one indexed query.
+     */
+    public PageIndex loadIndex() {
+        List<Integer> boundaries = source.pageBoundaries(pageSize);
+        return new PageIndex(source.count(), boundaries);
+    }
+
+    /**
+     * Installs a freshly loaded index and drops every cached page.
+     */
+    public void setIndex(PageIndex newIndex) {
+        generation++; // Results of loads still running are discarded
+        index = newIndex;
+        pages.clear();
+        inFlight.clear();
+        pending.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Returns the item shown in the given row, or null if its page is not loaded.
+     */
+    public T getRow(int row) {
+        List<T> items = pages.get(row / pageSize);
+        int offset = row % pageSize;
+        return items != null && offset < items.size() ? items.get(offset) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return index.rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / pageSize;
+        List<T> items = pages.get(page);
+        if (items == null) {
+            request(page);
+            return null;
+        }
+
+        // Prefetch the neighbouring page before it scrolls into view
+        int offset = row % pageSize;
+        if (offset >= pageSize * 3 / 4) {
+            request(page + 1);
+        } else if (offset < pageSize / 4 && page > 0) {
+            request(page - 1);
+        }
+        return offset < items.size() ? mapper.valueAt(items.get(offset), column) : null;
+    }
+
+    private void request(int page) {
+        int pageCount = (index.rowCount + pageSize - 1) / pageSize;
+        if (page >= pageCount || page > index.boundaries.size() || pages.containsKey(page)
+                || inFlight.contains(page)) {
+            return;
+        }
+
+        // Newest requests first; requests for pages scrolled past long ago are dropped
+        pending.remove(page);
+        pending.addFirst(page);
+        while (pending.size() > maxCachedPages) {
+            pending.removeLast();
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (inFlight.size() < MAX_CONCURRENT_LOADS && !pending.isEmpty()) {
+            int page = pending.pollFirst();
+            int lastKey = page == 0 ? 0 : index.boundaries.get(page - 1);
+            int loadGeneration = generation;
+
+            inFlight.add(page);
+            PAGE_EXECUTOR.execute(() -> {
+                List<T> items;
+                try {
+                    items = source.pageAfter(lastKey, pageSize);
+                } catch (RuntimeException e) {
+                    System.err.println("✗ Failed to load table page " + page + ": " + e.getMessage());
+                    items = List.of();
+                }
+                List<T> loaded = items;
+                SwingUtilities.invokeLater(() -> pageLoaded(loadGeneration, page, loaded));
+            });
+        }
+    }
+
+    private void pageLoaded(int loadGeneration, int page, List<T> items) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        inFlight.remove(page);
+
+        // An empty page is not cached so it is retried the next time it is painted
+        if (!items.isEmpty()) {
+            pages.put(page, items);
+            int firstRow = page * pageSize;
+            int lastRow = Math.min(firstRow + pageSize, index.rowCount) - 1;
+            if (firstRow <= lastRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        }
+        drain();
+    }
+}